@@ -103,6 +103,24 @@ CREATE TABLE reviews (
     UNIQUE(product_id, user_id)
 );
 
+-- ============================================
+-- PRODUCT RATING STATS TABLE
+-- ============================================
+-- Review count, rating sum and star histogram per product, maintained by a trigger on
+-- reviews in the same transaction as every review write, including the reviews removed
+-- by cascade when a user or product is deleted.
+CREATE TABLE product_rating_stats (
+    product_id INTEGER PRIMARY KEY REFERENCES products(product_id) ON DELETE CASCADE,
+    review_count INTEGER NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    stars_1 INTEGER NOT NULL DEFAULT 0,
+    stars_2 INTEGER NOT NULL DEFAULT 0,
+    stars_3 INTEGER NOT NULL DEFAULT 0,
+    stars_4 INTEGER NOT NULL DEFAULT 0,
+    stars_5 INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
 -- ============================================
 -- ADDRESSES TABLE (for multiple shipping addresses)
 -- ============================================
@@ -204,3 +222,107 @@ CREATE INDEX idx_addresses_type ON addresses(address_type);
 -- For finding default addresses quickly
 CREATE INDEX idx_addresses_user_default ON addresses(user_id, is_default) 
     WHERE is_default = TRUE;
+
+-- ============================================
+-- CHANGE TRACKING (validators for conditional GETs)
+-- ============================================
+-- Every statement that writes one of the tracked tables bumps a version row in the same
+-- transaction, so list endpoints derive their ETags from committed data whichever
+-- instance, job or console made the write. Each table has 16 rows and a statement bumps
+-- the row picked by its backend, so concurrent transactions on different connections
+-- rarely wait on the same row lock; the table's version is the sum of its rows.
+CREATE TABLE table_versions (
+    table_name VARCHAR(50) NOT NULL,
+    shard SMALLINT NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (table_name, shard)
+);
+
+INSERT INTO table_versions (table_name, shard)
+SELECT t.table_name, s.shard
+FROM unnest(ARRAY['products', 'inventory', 'categories', 'reviews', 'users']) AS t(table_name)
+CROSS JOIN generate_series(0, 15) AS s(shard);
+
+CREATE OR REPLACE FUNCTION bump_table_version() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE table_versions
+    SET version = version + 1
+    WHERE table_name = TG_TABLE_NAME AND shard = pg_backend_pid() % 16;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_products_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON products
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version();
+CREATE TRIGGER trg_inventory_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON inventory
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version();
+CREATE TRIGGER trg_categories_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON categories
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version();
+CREATE TRIGGER trg_reviews_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON reviews
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version();
+CREATE TRIGGER trg_users_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON users
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version();
+
+-- A single product's ETag is built from its own rows: updated_at is moved on every update,
+-- whatever statement makes it, so a stock change only invalidates the product it touched.
+CREATE OR REPLACE FUNCTION touch_updated_at() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.updated_at := clock_timestamp();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_products_touch BEFORE UPDATE ON products
+    FOR EACH ROW EXECUTE FUNCTION touch_updated_at();
+CREATE TRIGGER trg_inventory_touch BEFORE UPDATE ON inventory
+    FOR EACH ROW EXECUTE FUNCTION touch_updated_at();
+
+-- Applies each review write to product_rating_stats as a delta. A removed review only
+-- updates an existing row: when its product is being deleted, the stats row goes with it.
+CREATE OR REPLACE FUNCTION apply_review_rating() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        UPDATE product_rating_stats
+        SET review_count = review_count - 1,
+            rating_sum = rating_sum - OLD.rating,
+            stars_1 = stars_1 - (OLD.rating = 1)::INTEGER,
+            stars_2 = stars_2 - (OLD.rating = 2)::INTEGER,
+            stars_3 = stars_3 - (OLD.rating = 3)::INTEGER,
+            stars_4 = stars_4 - (OLD.rating = 4)::INTEGER,
+            stars_5 = stars_5 - (OLD.rating = 5)::INTEGER,
+            updated_at = clock_timestamp()
+        WHERE product_id = OLD.product_id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO product_rating_stats
+            (product_id, review_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5, updated_at)
+        VALUES (NEW.product_id, 1, NEW.rating,
+                (NEW.rating = 1)::INTEGER, (NEW.rating = 2)::INTEGER, (NEW.rating = 3)::INTEGER,
+                (NEW.rating = 4)::INTEGER, (NEW.rating = 5)::INTEGER, clock_timestamp())
+        ON CONFLICT (product_id) DO UPDATE
+        SET review_count = product_rating_stats.review_count + 1,
+            rating_sum = product_rating_stats.rating_sum + EXCLUDED.rating_sum,
+            stars_1 = product_rating_stats.stars_1 + EXCLUDED.stars_1,
+            stars_2 = product_rating_stats.stars_2 + EXCLUDED.stars_2,
+            stars_3 = product_rating_stats.stars_3 + EXCLUDED.stars_3,
+            stars_4 = product_rating_stats.stars_4 + EXCLUDED.stars_4,
+            stars_5 = product_rating_stats.stars_5 + EXCLUDED.stars_5,
+            updated_at = EXCLUDED.updated_at;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_reviews_rating_stats AFTER INSERT OR DELETE OR UPDATE OF product_id, rating ON reviews
+    FOR EACH ROW EXECUTE FUNCTION apply_review_rating();
+
+-- Fills the aggregates of a database that already holds reviews.
+INSERT INTO product_rating_stats
+    (product_id, review_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5)
+SELECT product_id, COUNT(*), SUM(rating),
+       COUNT(*) FILTER (WHERE rating = 1), COUNT(*) FILTER (WHERE rating = 2),
+       COUNT(*) FILTER (WHERE rating = 3), COUNT(*) FILTER (WHERE rating = 4),
+       COUNT(*) FILTER (WHERE rating = 5)
+FROM reviews
+GROUP BY product_id
+ON CONFLICT (product_id) DO NOTHING;
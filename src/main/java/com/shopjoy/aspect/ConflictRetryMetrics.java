@@ -0,0 +1,101 @@
+package com.shopjoy.aspect;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-method counters for {@link RetryOnConflict}: how often a method ran into a
+ * conflict, how often it was retried, and whether the retries eventually succeeded.
+ */
+@Component
+public class ConflictRetryMetrics {
+
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Records a call to an annotated method, counted once however many attempts it takes.
+     *
+     * @param methodKey the class and method name
+     */
+    public void recordCall(String methodKey) {
+        counters(methodKey).calls.increment();
+    }
+
+    /**
+     * Records an attempt that the database aborted with a serialization failure or deadlock.
+     *
+     * @param methodKey the class and method name
+     */
+    public void recordConflict(String methodKey) {
+        counters(methodKey).conflicts.increment();
+    }
+
+    /**
+     * Records a retry scheduled after a conflict.
+     *
+     * @param methodKey     the class and method name
+     * @param backoffMillis the time waited before the retry
+     */
+    public void recordRetry(String methodKey, long backoffMillis) {
+        Counters c = counters(methodKey);
+        c.retries.increment();
+        c.backoffMillis.add(backoffMillis);
+    }
+
+    /**
+     * Records a call that succeeded after at least one conflict.
+     *
+     * @param methodKey the class and method name
+     */
+    public void recordRecovered(String methodKey) {
+        counters(methodKey).recovered.increment();
+    }
+
+    /**
+     * Records a call that still conflicted on its last attempt and was given up.
+     *
+     * @param methodKey the class and method name
+     */
+    public void recordExhausted(String methodKey) {
+        counters(methodKey).exhausted.increment();
+    }
+
+    /**
+     * Gets the counters of every method that has been called, keyed by method.
+     *
+     * @return calls, conflicts, retries, recovered and exhausted counts and the total
+     *         backoff in milliseconds, by method
+     */
+    public Map<String, Map<String, Object>> getAllMetrics() {
+        Map<String, Map<String, Object>> all = new TreeMap<>();
+        counters.forEach((methodKey, c) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("calls", c.calls.sum());
+            stats.put("conflicts", c.conflicts.sum());
+            stats.put("retries", c.retries.sum());
+            stats.put("recovered", c.recovered.sum());
+            stats.put("exhausted", c.exhausted.sum());
+            stats.put("totalBackoffMillis", c.backoffMillis.sum());
+            all.put(methodKey, stats);
+        });
+        return all;
+    }
+
+    private Counters counters(String methodKey) {
+        return counters.computeIfAbsent(methodKey, _ -> new Counters());
+    }
+
+    private static final class Counters {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder recovered = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+        private final LongAdder backoffMillis = new LongAdder();
+    }
+}
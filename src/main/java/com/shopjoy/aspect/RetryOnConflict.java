@@ -0,0 +1,48 @@
+package com.shopjoy.aspect;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a transactional method when the database aborts it because of a concurrent
+ * transaction: a serialization failure (SQLState 40001) or a deadlock (40P01).
+ * <p>
+ * Each attempt runs in a fresh transaction, so the annotated method must start its own
+ * transaction. Calls made inside a transaction that is already open are not retried,
+ * since that transaction is aborted as a whole.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+
+    /**
+     * Total number of attempts, including the first; values below 1 count as 1.
+     *
+     * @return the maximum number of attempts
+     */
+    int maxAttempts() default 5;
+
+    /**
+     * Backoff before the first retry. The actual wait is a random time between half and
+     * all of the current backoff.
+     *
+     * @return the initial backoff in milliseconds
+     */
+    long initialBackoffMillis() default 20;
+
+    /**
+     * Upper bound the backoff grows to.
+     *
+     * @return the maximum backoff in milliseconds
+     */
+    long maxBackoffMillis() default 500;
+
+    /**
+     * Factor the backoff is multiplied by after each retry.
+     *
+     * @return the backoff multiplier
+     */
+    double multiplier() default 2.0;
+}
@@ -0,0 +1,103 @@
+package com.shopjoy.aspect;
+
+import com.shopjoy.util.AspectUtils;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Handles {@link RetryOnConflict}.
+ * <p>
+ * Runs ahead of the transaction interceptor so that every attempt gets a new transaction.
+ * Between attempts it waits an exponentially growing, capped backoff with jitter: a random
+ * time between half and all of the current backoff, which spreads out transactions that
+ * conflicted with each other so they do not collide again on the retry.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RetryOnConflictAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetryOnConflictAspect.class);
+
+    /**
+     * serialization_failure and deadlock_detected; both abort a transaction that may
+     * succeed when run again.
+     */
+    private static final Set<String> RETRYABLE_SQL_STATES = Set.of("40001", "40P01");
+
+    private final ConflictRetryMetrics retryMetrics;
+
+    public RetryOnConflictAspect(ConflictRetryMetrics retryMetrics) {
+        this.retryMetrics = retryMetrics;
+    }
+
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String methodKey = AspectUtils.extractClassName(joinPoint) + "." + AspectUtils.extractMethodName(joinPoint);
+        int maxAttempts = Math.max(1, retryOnConflict.maxAttempts());
+        long backoff = Math.max(1, retryOnConflict.initialBackoffMillis());
+        retryMetrics.recordCall(methodKey);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = joinPoint.proceed();
+                if (attempt > 1) {
+                    retryMetrics.recordRecovered(methodKey);
+                }
+                return result;
+            } catch (Throwable t) {
+                if (!isConflict(t)) {
+                    throw t;
+                }
+                retryMetrics.recordConflict(methodKey);
+                if (attempt >= maxAttempts) {
+                    retryMetrics.recordExhausted(methodKey);
+                    logger.warn("{} still conflicting after {} attempts, giving up", methodKey, attempt);
+                    throw t;
+                }
+
+                long sleep = ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1);
+                retryMetrics.recordRetry(methodKey, sleep);
+                logger.debug("{} conflicted on attempt {}, retrying in {}ms", methodKey, attempt, sleep);
+                try {
+                    Thread.sleep(sleep);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw t;
+                }
+                backoff = Math.min(retryOnConflict.maxBackoffMillis(),
+                        (long) Math.ceil(backoff * retryOnConflict.multiplier()));
+            }
+        }
+    }
+
+    /**
+     * Whether the failure, or anything in its cause chain, is an SQL error with a retryable
+     * state. Spring translates these to different exception types depending on where they
+     * surface (a statement, or the commit), so the SQL state is the reliable signal.
+     */
+    private static boolean isConflict(Throwable t) {
+        for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && RETRYABLE_SQL_STATES.contains(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
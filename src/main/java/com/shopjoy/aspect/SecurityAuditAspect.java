@@ -1,5 +1,7 @@
 package com.shopjoy.aspect;
 
+import com.shopjoy.dto.response.BulkOrderStatusResponse;
+import com.shopjoy.dto.response.BulkProductUpdateResponse;
 import com.shopjoy.util.AspectUtils;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -91,6 +93,21 @@ public class SecurityAuditAspect {
             timestamp, joinPoint.getSignature().getName(), args);
     }
 
+    /**
+     * Audit bulk order status update, as one entry carrying the totals.
+     *
+     * @param joinPoint the join point
+     * @param result    the result
+     */
+    @AfterReturning(pointcut = "execution(* com.shopjoy.service.OrderService.bulkUpdate*(..))", returning = "result")
+    public void auditBulkOrderStatusUpdate(JoinPoint joinPoint, BulkOrderStatusResponse result) {
+        String timestamp = LocalDateTime.now().format(timeFormatter);
+
+        auditLogger.info("[{}] AUDIT: ORDERS BULK UPDATED - Method: {}, Status: {}, Requested: {}, Updated: {}",
+            timestamp, joinPoint.getSignature().getName(), result.getStatus(), result.getRequested(),
+            result.getUpdated());
+    }
+
     /**
      * Audit product creation.
      *
@@ -133,6 +150,22 @@ public class SecurityAuditAspect {
             timestamp, joinPoint.getSignature().getName(), args);
     }
 
+    /**
+     * Audit bulk product update. A bulk price or activation change is recorded as one
+     * entry carrying the totals, rather than one entry per product.
+     *
+     * @param joinPoint the join point
+     * @param result    the result
+     */
+    @AfterReturning(pointcut = "execution(* com.shopjoy.service.ProductService.bulkUpdate*(..))", returning = "result")
+    public void auditBulkProductUpdate(JoinPoint joinPoint, BulkProductUpdateResponse result) {
+        String timestamp = LocalDateTime.now().format(timeFormatter);
+
+        auditLogger.info("[{}] AUDIT: PRODUCTS BULK UPDATED - Method: {}, Requested: {}, Updated: {}, Not found: {}",
+            timestamp, joinPoint.getSignature().getName(), result.getRequested(), result.getUpdated(),
+            result.getNotFoundIds().size());
+    }
+
     /**
      * Audit inventory update.
      *
@@ -0,0 +1,52 @@
+package com.shopjoy.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * The type Async config.
+ */
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer, DisposableBean {
+
+    private final ThreadPoolTaskExecutor streamExecutor = new ThreadPoolTaskExecutor();
+
+    /**
+     * Sizes the executor for asynchronous MVC responses, which here are the NDJSON streams.
+     * Each running stream holds a database connection while it reads its cursor, so the
+     * pool is kept below the connection pool size and has no queue: a stream request
+     * beyond the limit is rejected with 503 instead of waiting for a thread.
+     * <p>
+     * The executor is not a bean, so it does not replace the application task executor
+     * used elsewhere.
+     *
+     * @param maxConcurrentStreams the maximum number of streams running at once
+     * @param connectionPoolSize   the JDBC connection pool size
+     */
+    public AsyncConfig(@Value("${shopjoy.stream.max-concurrent:4}") int maxConcurrentStreams,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        if (maxConcurrentStreams < 1 || maxConcurrentStreams >= connectionPoolSize) {
+            throw new IllegalStateException("shopjoy.stream.max-concurrent must be between 1 and "
+                    + (connectionPoolSize - 1) + " so streams leave connections for other requests");
+        }
+        streamExecutor.setCorePoolSize(maxConcurrentStreams);
+        streamExecutor.setMaxPoolSize(maxConcurrentStreams);
+        streamExecutor.setQueueCapacity(0);
+        streamExecutor.setThreadNamePrefix("mvc-stream-");
+        streamExecutor.initialize();
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamExecutor);
+    }
+
+    @Override
+    public void destroy() {
+        streamExecutor.shutdown();
+    }
+}
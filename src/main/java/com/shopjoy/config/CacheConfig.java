@@ -0,0 +1,87 @@
+package com.shopjoy.config;
+
+import com.shopjoy.entity.Product;
+import com.shopjoy.repository.ResourceVersionRepository;
+import com.shopjoy.util.BoundedCache;
+import com.shopjoy.util.CategoryTree;
+import com.shopjoy.util.OffHeapProductCatalog;
+import com.shopjoy.util.ProductColumnStore;
+import com.shopjoy.util.ProductSearchIndex;
+import com.shopjoy.util.ResourceVersions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The type Cache config.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Value("${shopjoy.cache.product.max-size:10000}")
+    private int productCacheMaxSize;
+
+    @Value("${shopjoy.cache.product.ttl-seconds:300}")
+    private long productCacheTtlSeconds;
+
+    /**
+     * Read-through cache in front of ProductRepository.findById.
+     *
+     * @return the product cache
+     */
+    @Bean
+    public BoundedCache<Integer, Product> productCache() {
+        return new BoundedCache<>("products", productCacheMaxSize, productCacheTtlSeconds);
+    }
+
+    /**
+     * In-process inverted index used by product name search.
+     *
+     * @return the product search index
+     */
+    @Bean
+    public ProductSearchIndex productSearchIndex() {
+        return new ProductSearchIndex();
+    }
+
+    /**
+     * Columnar snapshot of the product catalog used to answer filter queries in memory.
+     *
+     * @return the product column store
+     */
+    @Bean
+    public ProductColumnStore productColumnStore() {
+        return new ProductColumnStore();
+    }
+
+    /**
+     * Off-heap store of the hot product fields, kept in step with product writes.
+     *
+     * @return the off-heap product catalog
+     */
+    @Bean
+    public OffHeapProductCatalog offHeapProductCatalog() {
+        return new OffHeapProductCatalog();
+    }
+
+    /**
+     * Immutable in-memory category hierarchy, rebuilt after every category write.
+     *
+     * @return the category tree
+     */
+    @Bean
+    public CategoryTree categoryTree() {
+        return new CategoryTree();
+    }
+
+    /**
+     * Database change markers from which read endpoints derive their ETags.
+     *
+     * @param resourceVersionRepository reads the change markers
+     * @return the resource versions
+     */
+    @Bean
+    public ResourceVersions resourceVersions(ResourceVersionRepository resourceVersionRepository) {
+        return new ResourceVersions(resourceVersionRepository);
+    }
+}
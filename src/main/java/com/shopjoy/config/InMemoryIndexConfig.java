@@ -0,0 +1,61 @@
+package com.shopjoy.config;
+
+import com.shopjoy.entity.Category;
+import com.shopjoy.entity.Product;
+import com.shopjoy.repository.CategoryRepository;
+import com.shopjoy.repository.ProductRepository;
+import com.shopjoy.util.Rebuildable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Loads the in-memory product and category structures once the application has started.
+ * Until a structure is ready, the reads it serves go to the database.
+ */
+@Configuration
+public class InMemoryIndexConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryIndexConfig.class);
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final List<Rebuildable<Product>> productStructures;
+    private final List<Rebuildable<Category>> categoryStructures;
+
+    public InMemoryIndexConfig(ProductRepository productRepository,
+            CategoryRepository categoryRepository,
+            List<Rebuildable<Product>> productStructures,
+            List<Rebuildable<Category>> categoryStructures) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.productStructures = productStructures;
+        this.categoryStructures = categoryStructures;
+    }
+
+    /**
+     * Builds every product structure from a single read of the products table, then the
+     * category structures from the categories table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildInMemoryIndexes() {
+        build(productStructures, productRepository::findAll);
+        build(categoryStructures, categoryRepository::findAll);
+    }
+
+    private <T> void build(List<Rebuildable<T>> structures, Supplier<List<T>> loader) {
+        try {
+            Rebuildable.rebuildAll(structures, loader);
+            for (Rebuildable<T> structure : structures) {
+                logger.info("In-memory index built: {}", structure.getStatistics());
+            }
+        } catch (RuntimeException e) {
+            logger.error("In-memory index build failed, reads will use the database", e);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.shopjoy.dto.request.UpdateCategoryRequest;
 import com.shopjoy.dto.response.ApiResponse;
 import com.shopjoy.dto.response.CategoryResponse;
 import com.shopjoy.service.CategoryService;
+import com.shopjoy.util.ResourceVersions;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,6 +15,7 @@ import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -26,14 +28,17 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final ResourceVersions resourceVersions;
 
     /**
      * Instantiates a new Category controller.
      *
-     * @param categoryService the category service
+     * @param categoryService  the category service
+     * @param resourceVersions the table versions used for conditional GETs
      */
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, ResourceVersions resourceVersions) {
         this.categoryService = categoryService;
+        this.resourceVersions = resourceVersions;
     }
 
     /**
@@ -78,6 +83,7 @@ public class CategoryController {
      * Gets category by id.
      *
      * @param id the id
+     * @param webRequest the web request
      * @return the category by id
      */
     @Operation(
@@ -97,19 +103,26 @@ public class CategoryController {
                     responseCode = "404",
                     description = "Category not found",
                     content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified; the ETag in If-None-Match is still current"
             )
     })
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<CategoryResponse>> getCategoryById(
             @Parameter(description = "Category unique identifier", required = true, example = "1")
-            @PathVariable Integer id) {
-        CategoryResponse response = categoryService.getCategoryById(id);
-        return ResponseEntity.ok(ApiResponse.success(response, "Category retrieved successfully"));
+            @PathVariable Integer id,
+            WebRequest webRequest) {
+        return resourceVersions.conditional(webRequest,
+                () -> ApiResponse.success(categoryService.getCategoryById(id), "Category retrieved successfully"),
+                ResourceVersions.Table.CATEGORIES);
     }
 
     /**
      * Gets all categories.
      *
+     * @param webRequest the web request
      * @return the all categories
      */
     @Operation(
@@ -121,17 +134,23 @@ public class CategoryController {
                     responseCode = "200",
                     description = "Categories retrieved successfully",
                     content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified; the ETag in If-None-Match is still current"
             )
     })
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getAllCategories() {
-        List<CategoryResponse> response = categoryService.getAllCategories();
-        return ResponseEntity.ok(ApiResponse.success(response, "Categories retrieved successfully"));
+    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getAllCategories(WebRequest webRequest) {
+        return resourceVersions.conditional(webRequest,
+                () -> ApiResponse.success(categoryService.getAllCategories(), "Categories retrieved successfully"),
+                ResourceVersions.Table.CATEGORIES);
     }
 
     /**
      * Gets top level categories.
      *
+     * @param webRequest the web request
      * @return the top level categories
      */
     @Operation(
@@ -143,18 +162,24 @@ public class CategoryController {
                     responseCode = "200",
                     description = "Top level categories retrieved successfully",
                     content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified; the ETag in If-None-Match is still current"
             )
     })
     @GetMapping("/top-level")
-    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getTopLevelCategories() {
-        List<CategoryResponse> response = categoryService.getTopLevelCategories();
-        return ResponseEntity.ok(ApiResponse.success(response, "Top level categories retrieved successfully"));
+    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getTopLevelCategories(WebRequest webRequest) {
+        return resourceVersions.conditional(webRequest,
+                () -> ApiResponse.success(categoryService.getTopLevelCategories(), "Top level categories retrieved successfully"),
+                ResourceVersions.Table.CATEGORIES);
     }
 
     /**
      * Gets subcategories.
      *
      * @param parentId the parent id
+     * @param webRequest the web request
      * @return the subcategories
      */
     @Operation(
@@ -171,20 +196,27 @@ public class CategoryController {
                     responseCode = "404",
                     description = "Parent category not found",
                     content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified; the ETag in If-None-Match is still current"
             )
     })
     @GetMapping("/{parentId}/subcategories")
     public ResponseEntity<ApiResponse<List<CategoryResponse>>> getSubcategories(
             @Parameter(description = "Parent category unique identifier", required = true, example = "1")
-            @PathVariable Integer parentId) {
-        List<CategoryResponse> response = categoryService.getSubcategories(parentId);
-        return ResponseEntity.ok(ApiResponse.success(response, "Subcategories retrieved successfully"));
+            @PathVariable Integer parentId,
+            WebRequest webRequest) {
+        return resourceVersions.conditional(webRequest,
+                () -> ApiResponse.success(categoryService.getSubcategories(parentId), "Subcategories retrieved successfully"),
+                ResourceVersions.Table.CATEGORIES);
     }
 
     /**
      * Has subcategories response entity.
      *
      * @param id the id
+     * @param webRequest the web request
      * @return the response entity
      */
     @Operation(
@@ -201,14 +233,57 @@ public class CategoryController {
                     responseCode = "404",
                     description = "Category not found",
                     content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified; the ETag in If-None-Match is still current"
             )
     })
     @GetMapping("/{id}/has-subcategories")
     public ResponseEntity<ApiResponse<Boolean>> hasSubcategories(
             @Parameter(description = "Category unique identifier", required = true, example = "1")
-            @PathVariable Integer id) {
-        boolean hasSubcategories = categoryService.hasSubcategories(id);
-        return ResponseEntity.ok(ApiResponse.success(hasSubcategories, "Subcategories check completed"));
+            @PathVariable Integer id,
+            WebRequest webRequest) {
+        return resourceVersions.conditional(webRequest,
+                () -> ApiResponse.success(categoryService.hasSubcategories(id), "Subcategories check completed"),
+                ResourceVersions.Table.CATEGORIES);
+    }
+
+    /**
+     * Gets category path.
+     *
+     * @param id the id
+     * @param webRequest the web request
+     * @return the category path from the top-level category down to the category
+     */
+    @Operation(
+            summary = "Get category path",
+            description = "Retrieves the chain of categories from the top-level category down to the given category, for breadcrumbs"
+    )
+    @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Category path retrieved successfully",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Category not found",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified; the ETag in If-None-Match is still current"
+            )
+    })
+    @GetMapping("/{id}/path")
+    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getCategoryPath(
+            @Parameter(description = "Category unique identifier", required = true, example = "3")
+            @PathVariable Integer id,
+            WebRequest webRequest) {
+        return resourceVersions.conditional(webRequest,
+                () -> ApiResponse.success(categoryService.getCategoryPath(id), "Category path retrieved successfully"),
+                ResourceVersions.Table.CATEGORIES);
     }
 
     /**
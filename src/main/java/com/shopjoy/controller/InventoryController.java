@@ -3,13 +3,17 @@ package com.shopjoy.controller;
 import com.shopjoy.dto.response.ApiResponse;
 import com.shopjoy.dto.response.InventoryResponse;
 import com.shopjoy.service.InventoryService;
+import com.shopjoy.util.NdjsonWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
 import java.util.List;
 
@@ -22,14 +26,17 @@ import java.util.List;
 public class InventoryController {
 
     private final InventoryService inventoryService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Instantiates a new Inventory controller.
      *
      * @param inventoryService the inventory service
+     * @param objectMapper     the object mapper used for streamed responses
      */
-    public InventoryController(InventoryService inventoryService) {
+    public InventoryController(InventoryService inventoryService, ObjectMapper objectMapper) {
         this.inventoryService = inventoryService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -356,6 +363,32 @@ public class InventoryController {
         return ResponseEntity.ok(ApiResponse.success(response, "Out of stock products retrieved successfully"));
     }
 
+    /**
+     * Streams all inventory records.
+     *
+     * @return the streamed inventory records
+     */
+    @Operation(
+            summary = "Stream all inventory",
+            description = "Streams every inventory record as newline-delimited JSON (one InventoryResponse per line), read through a database cursor so server memory stays flat regardless of table size"
+    )
+    @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Inventory streamed successfully",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = InventoryResponse.class)
+                    )
+            )
+    })
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllInventory() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(NdjsonWriter.<InventoryResponse>body(objectMapper, inventoryService::streamAllInventory));
+    }
+
     /**
      * Update reorder level response entity.
      *
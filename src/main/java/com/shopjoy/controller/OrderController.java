@@ -1,21 +1,34 @@
 package com.shopjoy.controller;
 
+import com.shopjoy.dto.filter.OrderFilter;
+import com.shopjoy.dto.request.BulkOrderStatusRequest;
 import com.shopjoy.dto.request.CreateOrderRequest;
 import com.shopjoy.dto.request.UpdateOrderRequest;
 import com.shopjoy.dto.response.ApiResponse;
+import com.shopjoy.dto.response.BulkOrderStatusResponse;
 import com.shopjoy.dto.response.OrderResponse;
 import com.shopjoy.entity.OrderStatus;
 import com.shopjoy.service.OrderService;
+import com.shopjoy.util.CursorPage;
+import com.shopjoy.util.NdjsonWriter;
+import com.shopjoy.util.Page;
+import com.shopjoy.util.Pageable;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,17 +39,21 @@ import java.util.List;
 @Tag(name = "Order Management", description = "APIs for managing orders including creation, status transitions, and order queries")
 @RestController
 @RequestMapping("/api/v1/orders")
+@Validated
 public class OrderController {
 
         private final OrderService orderService;
+        private final ObjectMapper objectMapper;
 
         /**
          * Instantiates a new Order controller.
          *
          * @param orderService the order service
+         * @param objectMapper the object mapper used for streamed responses
          */
-        public OrderController(OrderService orderService) {
+        public OrderController(OrderService orderService, ObjectMapper objectMapper) {
                 this.orderService = orderService;
+                this.objectMapper = objectMapper;
         }
 
         /**
@@ -152,6 +169,24 @@ public class OrderController {
                 return ResponseEntity.ok(ApiResponse.success(response, "Order status updated successfully"));
         }
 
+        /**
+         * Bulk update order status response entity.
+         *
+         * @param request the request
+         * @return the response entity
+         */
+        @Operation(summary = "Bulk update order status", description = "Moves up to 10000 orders to the same status in one transaction with a single UPDATE statement, applying the same transition rules as the single-order endpoints. Orders that do not exist or may not make the transition are reported per order and left unchanged; the others are still moved. Cancelled orders release their stock.")
+        @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Order statuses updated", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkOrderStatusResponse.class))),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid request", content = @Content(mediaType = "application/json"))
+        })
+        @PatchMapping("/bulk/status")
+        public ResponseEntity<ApiResponse<BulkOrderStatusResponse>> bulkUpdateOrderStatus(
+                        @Valid @RequestBody BulkOrderStatusRequest request) {
+                BulkOrderStatusResponse response = orderService.bulkUpdateOrderStatus(request);
+                return ResponseEntity.ok(ApiResponse.success(response, "Order statuses updated"));
+        }
+
         /**
          * Confirm order response entity.
          *
@@ -243,6 +278,68 @@ public class OrderController {
                 return ResponseEntity.ok(ApiResponse.success(response, "All orders retrieved successfully"));
         }
 
+        /**
+         * Gets orders paginated.
+         *
+         * @param page         the page
+         * @param size         the size
+         * @param pagination   the pagination mode
+         * @param cursor       the cursor
+         * @param includeTotal whether to count all matching orders in CURSOR mode
+         * @param userId       the user id filter
+         * @param status       the status filter
+         * @param startDate    the start of the order date range
+         * @param endDate      the end of the order date range
+         * @return the orders paginated
+         */
+        @Operation(summary = "Get orders with pagination", description = "Retrieves orders newest first, optionally filtered by user, status and order date range. OFFSET mode (default) returns numbered pages; CURSOR mode seeks on (order_date, order_id) and returns opaque next/previous cursors, so deep pages cost the same as the first")
+        @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Orders retrieved with pagination", content = @Content(mediaType = "application/json")),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid pagination parameters, date range or cursor", content = @Content(mediaType = "application/json"))
+        })
+        @GetMapping("/paginated")
+        public ResponseEntity<ApiResponse<?>> getOrdersPaginated(
+                        @Parameter(description = "Page number (0-indexed)", example = "0") @RequestParam(defaultValue = "0") @Min(value = 0, message = "Page number cannot be negative") int page,
+                        @Parameter(description = "Page size (number of items per page)", example = "10") @RequestParam(defaultValue = "10") @Min(value = 1, message = "Page size must be at least 1") @Max(value = 100, message = "Page size cannot exceed 100") int size,
+                        @Parameter(description = "Pagination mode (OFFSET or CURSOR)", example = "OFFSET") @RequestParam(defaultValue = "OFFSET") String pagination,
+                        @Parameter(description = "Opaque cursor returned with a previous page") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Whether to compute the total count in CURSOR mode", example = "false") @RequestParam(defaultValue = "false") boolean includeTotal,
+                        @Parameter(description = "Only orders placed by this user", example = "1") @RequestParam(required = false) Integer userId,
+                        @Parameter(description = "Only orders with this status", example = "PENDING") @RequestParam(required = false) OrderStatus status,
+                        @Parameter(description = "Start date (ISO format)", example = "2024-01-01T00:00:00") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+                        @Parameter(description = "End date (ISO format)", example = "2024-12-31T23:59:59") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+                OrderFilter filter = OrderFilter.builder()
+                                .userId(userId)
+                                .status(status)
+                                .startDate(startDate)
+                                .endDate(endDate)
+                                .build();
+
+                if ((cursor != null && !cursor.isBlank()) || "CURSOR".equalsIgnoreCase(pagination)) {
+                        CursorPage<OrderResponse> response = orderService.getOrdersByCursor(filter, cursor, size,
+                                        includeTotal);
+                        return ResponseEntity.ok(ApiResponse.success(response, "Orders retrieved with cursor pagination"));
+                }
+                Page<OrderResponse> response = orderService.getOrders(filter, Pageable.of(page, size));
+                return ResponseEntity.ok(ApiResponse.success(response, "Orders retrieved with pagination"));
+        }
+
+        /**
+         * Streams all orders.
+         *
+         * @return the streamed orders
+         */
+        @Operation(summary = "Stream all orders", description = "Streams every order as newline-delimited JSON (one OrderResponse per line), newest first, read through a database cursor so server memory stays flat regardless of table size")
+        @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Orders streamed successfully", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = OrderResponse.class)))
+        })
+        @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+        public ResponseEntity<StreamingResponseBody> streamAllOrders() {
+                return ResponseEntity.ok()
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .body(NdjsonWriter.<OrderResponse>body(objectMapper, orderService::streamAllOrders));
+        }
+
         /**
          * Gets pending orders.
          *
@@ -1,15 +1,25 @@
 package com.shopjoy.controller;
 
 import com.shopjoy.dto.filter.ProductFilter;
+import com.shopjoy.dto.filter.SearchMode;
+import com.shopjoy.dto.request.BulkActivationRequest;
+import com.shopjoy.dto.request.BulkPriceUpdateRequest;
 import com.shopjoy.dto.request.CreateProductRequest;
+import com.shopjoy.dto.request.ProductImportFormat;
 import com.shopjoy.dto.request.UpdateProductRequest;
 import com.shopjoy.dto.response.ApiResponse;
+import com.shopjoy.dto.response.BulkProductUpdateResponse;
+import com.shopjoy.dto.response.ProductImportResponse;
 import com.shopjoy.dto.response.ProductResponse;
 import com.shopjoy.service.PerformanceComparisonService;
+import com.shopjoy.service.ProductImportService;
 import com.shopjoy.service.ProductService;
 import com.shopjoy.util.BenchmarkResult;
+import com.shopjoy.util.CursorPage;
+import com.shopjoy.util.NdjsonWriter;
 import com.shopjoy.util.Page;
 import com.shopjoy.util.Pageable;
+import com.shopjoy.util.ResourceVersions;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -20,11 +30,17 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Positive;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -36,19 +52,40 @@ import java.util.List;
 @RequestMapping("/api/v1/products")
 public class ProductController {
 
+        /**
+         * Product responses embed the stock level, the category name and the rating aggregates,
+         * so a list is stale once any of these tables changes. A single product is validated
+         * against its own rows instead.
+         */
+        private static final ResourceVersions.Table[] PRODUCT_TABLES = {
+                        ResourceVersions.Table.PRODUCTS, ResourceVersions.Table.INVENTORY,
+                        ResourceVersions.Table.CATEGORIES, ResourceVersions.Table.REVIEWS };
+
         private final ProductService productService;
         private final PerformanceComparisonService performanceComparisonService;
+        private final ProductImportService productImportService;
+        private final ObjectMapper objectMapper;
+        private final ResourceVersions resourceVersions;
 
         /**
          * Instantiates a new Product controller.
          *
          * @param productService               the product service
          * @param performanceComparisonService the performance comparison service
+         * @param productImportService         the product import service
+         * @param objectMapper                 the object mapper used for streamed responses
+         * @param resourceVersions             the table versions used for conditional GETs
          */
         public ProductController(ProductService productService,
-                        PerformanceComparisonService performanceComparisonService) {
+                        PerformanceComparisonService performanceComparisonService,
+                        ProductImportService productImportService,
+                        ObjectMapper objectMapper,
+                        ResourceVersions resourceVersions) {
                 this.productService = productService;
                 this.performanceComparisonService = performanceComparisonService;
+                this.productImportService = productImportService;
+                this.objectMapper = objectMapper;
+                this.resourceVersions = resourceVersions;
         }
 
         /**
@@ -72,88 +109,179 @@ public class ProductController {
                                 .body(ApiResponse.success(response, "Product created successfully"));
         }
 
+        /**
+         * Import products response entity.
+         *
+         * @param contentType the content type of the feed
+         * @param body        the feed
+         * @return the response entity
+         */
+        @Operation(summary = "Bulk import products", description = "Creates or updates products by SKU from a CSV (text/csv, with a header row) or newline-delimited JSON (application/x-ndjson) feed. The feed is streamed into the database with PostgreSQL COPY in one transaction; new products get an inventory row with their initial stock. Invalid rows are skipped and reported by row number while the rest are imported.")
+        @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Import completed, possibly with rejected rows", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductImportResponse.class), examples = @ExampleObject(name = "Import Summary", value = "{\"success\":true,\"message\":\"Imported 2 products, updated 1, rejected 1\",\"data\":{\"totalRows\":4,\"inserted\":2,\"updated\":1,\"rejected\":1,\"errors\":[{\"row\":3,\"sku\":\"SKU-3\",\"field\":\"categoryId\",\"message\":\"Category not found\"}],\"errorsTruncated\":false},\"timestamp\":\"2024-01-20T10:30:00\"}"))),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Unsupported content type, missing CSV columns or malformed CSV", content = @Content(mediaType = "application/json")),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json"))
+        })
+        @PostMapping(value = "/import", consumes = { "text/csv", "application/x-ndjson" })
+        public ResponseEntity<ApiResponse<ProductImportResponse>> importProducts(
+                        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                        InputStream body) {
+                ProductImportResponse response = productImportService.importProducts(body,
+                                ProductImportFormat.fromContentType(contentType));
+                String message = String.format("Imported %d products, updated %d, rejected %d",
+                                response.getInserted(), response.getUpdated(), response.getRejected());
+                return ResponseEntity.ok(ApiResponse.success(response, message));
+        }
+
         /**
          * Gets product by id.
          *
          * @param id the id
+         * @param webRequest the web request
          * @return the product by id
          */
         @Operation(summary = "Get product by ID", description = "Retrieves a product by its unique identifier")
         @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Product retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductResponse.class))),
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product not found", content = @Content(mediaType = "application/json")),
-                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid product ID format", content = @Content(mediaType = "application/json"))
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid product ID format", content = @Content(mediaType = "application/json")),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified; the ETag in If-None-Match is still current")
         })
         @GetMapping("/{id}")
         public ResponseEntity<ApiResponse<ProductResponse>> getProductById(
-                        @Parameter(description = "Product unique identifier", required = true, example = "1") @PathVariable @Positive(message = "Product ID must be positive") Integer id) {
-                ProductResponse response = productService.getProductById(id);
-                return ResponseEntity.ok(ApiResponse.success(response, "Product retrieved successfully"));
+                        @Parameter(description = "Product unique identifier", required = true, example = "1") @PathVariable @Positive(message = "Product ID must be positive") Integer id,
+                        WebRequest webRequest) {
+                return resourceVersions.conditionalProduct(webRequest, id,
+                                () -> ApiResponse.success(productService.getProductById(id), "Product retrieved successfully"));
         }
 
         /**
          * Gets all products.
          *
+         * @param webRequest the web request
          * @return the all products
          */
         @Operation(summary = "Get all products", description = "Retrieves a complete list of all products in the system")
         @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
-                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Products retrieved successfully", content = @Content(mediaType = "application/json"))
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Products retrieved successfully", content = @Content(mediaType = "application/json")),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified; the ETag in If-None-Match is still current")
         })
         @GetMapping
-        public ResponseEntity<ApiResponse<List<ProductResponse>>> getAllProducts() {
-                List<ProductResponse> response = productService.getAllProducts();
-                return ResponseEntity.ok(ApiResponse.success(response, "Products retrieved successfully"));
+        public ResponseEntity<ApiResponse<List<ProductResponse>>> getAllProducts(WebRequest webRequest) {
+                return resourceVersions.conditional(webRequest,
+                                () -> ApiResponse.success(productService.getAllProducts(), "Products retrieved successfully"),
+                                PRODUCT_TABLES);
         }
 
         /**
          * Gets active products.
          *
+         * @param webRequest the web request
          * @return the active products
          */
         @Operation(summary = "Get all active products", description = "Retrieves only products that are currently active and available for sale")
         @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
-                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Active products retrieved successfully", content = @Content(mediaType = "application/json"))
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Active products retrieved successfully", content = @Content(mediaType = "application/json")),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified; the ETag in If-None-Match is still current")
         })
         @GetMapping("/active")
-        public ResponseEntity<ApiResponse<List<ProductResponse>>> getActiveProducts() {
-                List<ProductResponse> response = productService.getActiveProducts();
-                return ResponseEntity.ok(ApiResponse.success(response, "Active products retrieved successfully"));
+        public ResponseEntity<ApiResponse<List<ProductResponse>>> getActiveProducts(WebRequest webRequest) {
+                return resourceVersions.conditional(webRequest,
+                                () -> ApiResponse.success(productService.getActiveProducts(), "Active products retrieved successfully"),
+                                PRODUCT_TABLES);
+        }
+
+        /**
+         * Streams all products.
+         *
+         * @return the streamed products
+         */
+        @Operation(summary = "Stream all products", description = "Streams every product as newline-delimited JSON (one ProductResponse per line), read through a database cursor so server memory stays flat regardless of catalog size")
+        @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Products streamed successfully", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = ProductResponse.class)))
+        })
+        @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+        public ResponseEntity<StreamingResponseBody> streamAllProducts() {
+                return ResponseEntity.ok()
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .body(NdjsonWriter.<ProductResponse>body(objectMapper,
+                                                consumer -> productService.streamProducts(false, consumer)));
+        }
+
+        /**
+         * Streams active products.
+         *
+         * @return the streamed active products
+         */
+        @Operation(summary = "Stream active products", description = "Streams active products as newline-delimited JSON (one ProductResponse per line), read through a database cursor")
+        @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Active products streamed successfully", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = ProductResponse.class)))
+        })
+        @GetMapping(value = "/active/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+        public ResponseEntity<StreamingResponseBody> streamActiveProducts() {
+                return ResponseEntity.ok()
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .body(NdjsonWriter.<ProductResponse>body(objectMapper,
+                                                consumer -> productService.streamProducts(true, consumer)));
         }
 
         /**
          * Gets products by category.
          *
-         * @param categoryId the category id
+         * @param categoryId         the category id
+         * @param includeDescendants whether to include products of all subcategories
+         * @param page               the page, or null for all products
+         * @param size               the page size, or null for all products
+         * @param webRequest         the web request
          * @return the products by category
          */
-        @Operation(summary = "Get products by category", description = "Retrieves all products belonging to a specific category")
+        @Operation(summary = "Get products by category", description = "Retrieves the products belonging to a specific category. With includeDescendants=true the products of every subcategory at any depth are included. A list is returned unless page or size is given, in which case the response is a page ordered by product name")
         @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Products by category retrieved successfully", content = @Content(mediaType = "application/json")),
-                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Category not found", content = @Content(mediaType = "application/json"))
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Category not found", content = @Content(mediaType = "application/json")),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified; the ETag in If-None-Match is still current")
         })
         @GetMapping("/category/{categoryId}")
-        public ResponseEntity<ApiResponse<List<ProductResponse>>> getProductsByCategory(
-                        @Parameter(description = "Category unique identifier", required = true, example = "1") @PathVariable Integer categoryId) {
-                List<ProductResponse> response = productService.getProductsByCategory(categoryId);
-                return ResponseEntity.ok(ApiResponse.success(response, "Products by category retrieved successfully"));
+        public ResponseEntity<ApiResponse<?>> getProductsByCategory(
+                        @Parameter(description = "Category unique identifier", required = true, example = "1") @PathVariable Integer categoryId,
+                        @Parameter(description = "Whether to include products of all subcategories", example = "false") @RequestParam(defaultValue = "false") boolean includeDescendants,
+                        @Parameter(description = "Page number (0-indexed)", example = "0") @RequestParam(required = false) @Min(value = 0, message = "Page number cannot be negative") Integer page,
+                        @Parameter(description = "Page size (number of items per page)", example = "10") @RequestParam(required = false) @Min(value = 1, message = "Page size must be at least 1") @Max(value = 100, message = "Page size cannot exceed 100") Integer size,
+                        WebRequest webRequest) {
+                return resourceVersions.<ApiResponse<?>>conditional(webRequest, () -> {
+                        if (page == null && size == null) {
+                                List<ProductResponse> response = productService.getProductsByCategory(categoryId,
+                                                includeDescendants);
+                                return ApiResponse.success(response, "Products by category retrieved successfully");
+                        }
+                        Pageable pageable = Pageable.of(page, size);
+                        Page<ProductResponse> response = productService.getProductsByCategory(categoryId,
+                                        includeDescendants, pageable);
+                        return ApiResponse.success(response, "Products by category retrieved with pagination");
+                }, PRODUCT_TABLES);
         }
 
         /**
          * Search products by name response entity.
          *
          * @param name the name
+         * @param mode the search mode
+         * @param webRequest the web request
          * @return the response entity
          */
-        @Operation(summary = "Search products by name", description = "Searches for products whose name contains the specified keyword (case-insensitive)")
+        @Operation(summary = "Search products by name", description = "Searches products by keyword. INDEX (default) matches substrings of name, brand and description in the in-memory search index, ranked by BM25; FULLTEXT uses the PostgreSQL full-text index with highlighted fragments; SUBSTRING matches product names containing the keyword (case-insensitive)")
         @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
-                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Products search completed successfully", content = @Content(mediaType = "application/json"))
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Products search completed successfully", content = @Content(mediaType = "application/json")),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified; the ETag in If-None-Match is still current")
         })
         @GetMapping("/search")
         public ResponseEntity<ApiResponse<List<ProductResponse>>> searchProductsByName(
-                        @Parameter(description = "Product name keyword to search for", required = true, example = "Laptop") @RequestParam String name) {
-                List<ProductResponse> response = productService.searchProductsByName(name);
-                return ResponseEntity.ok(ApiResponse.success(response, "Products search completed successfully"));
+                        @Parameter(description = "Product name keyword to search for", required = true, example = "Laptop") @RequestParam String name,
+                        @Parameter(description = "Search mode (INDEX, FULLTEXT or SUBSTRING)", example = "INDEX") @RequestParam(defaultValue = "INDEX") String mode,
+                        WebRequest webRequest) {
+                return resourceVersions.conditional(webRequest,
+                                () -> ApiResponse.success(productService.searchProductsByName(name, SearchMode.fromString(mode)), "Products search completed successfully"),
+                                PRODUCT_TABLES);
         }
 
         /**
@@ -161,20 +289,23 @@ public class ProductController {
          *
          * @param minPrice the min price
          * @param maxPrice the max price
+         * @param webRequest the web request
          * @return the products by price range
          */
         @Operation(summary = "Get products by price range", description = "Retrieves products within a specified price range (inclusive)")
         @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Products by price range retrieved successfully", content = @Content(mediaType = "application/json")),
-                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid price range", content = @Content(mediaType = "application/json"))
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid price range", content = @Content(mediaType = "application/json")),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified; the ETag in If-None-Match is still current")
         })
         @GetMapping("/price-range")
         public ResponseEntity<ApiResponse<List<ProductResponse>>> getProductsByPriceRange(
                         @Parameter(description = "Minimum price", required = true, example = "100.00") @RequestParam @Min(value = 0, message = "Minimum price cannot be negative") Double minPrice,
-                        @Parameter(description = "Maximum price", required = true, example = "1000.00") @RequestParam @Min(value = 0, message = "Maximum price cannot be negative") Double maxPrice) {
-                List<ProductResponse> response = productService.getProductsByPriceRange(minPrice, maxPrice);
-                return ResponseEntity
-                                .ok(ApiResponse.success(response, "Products by price range retrieved successfully"));
+                        @Parameter(description = "Maximum price", required = true, example = "1000.00") @RequestParam @Min(value = 0, message = "Maximum price cannot be negative") Double maxPrice,
+                        WebRequest webRequest) {
+                return resourceVersions.conditional(webRequest,
+                                () -> ApiResponse.success(productService.getProductsByPriceRange(minPrice, maxPrice), "Products by price range retrieved successfully"),
+                                PRODUCT_TABLES);
         }
 
         /**
@@ -254,6 +385,45 @@ public class ProductController {
                 return ResponseEntity.ok(ApiResponse.success(response, "Product deactivated successfully"));
         }
 
+        /**
+         * Bulk update product prices response entity.
+         *
+         * @param request the price changes
+         * @return the response entity
+         */
+        @Operation(summary = "Bulk update product prices", description = "Reprices up to 10000 products in one transaction with a single UPDATE statement. Ids that do not exist are reported in notFoundIds; the other changes are still applied. Produces one aggregated audit entry for the whole batch.")
+        @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Prices updated", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkProductUpdateResponse.class))),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Empty or oversized batch, or an invalid price", content = @Content(mediaType = "application/json"))
+        })
+        @PatchMapping("/bulk/price")
+        public ResponseEntity<ApiResponse<BulkProductUpdateResponse>> bulkUpdatePrices(
+                        @Valid @RequestBody BulkPriceUpdateRequest request) {
+                BulkProductUpdateResponse response = productService.bulkUpdatePrices(request);
+                return ResponseEntity.ok(ApiResponse.success(response,
+                                String.format("Updated prices of %d products", response.getUpdated())));
+        }
+
+        /**
+         * Bulk update product activation response entity.
+         *
+         * @param request the product ids and the new active flag
+         * @return the response entity
+         */
+        @Operation(summary = "Bulk activate or deactivate products", description = "Sets the active flag of up to 10000 products in one transaction with a single UPDATE statement. Ids that do not exist are reported in notFoundIds. Produces one aggregated audit entry for the whole batch.")
+        @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Products updated", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkProductUpdateResponse.class))),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Empty or oversized batch", content = @Content(mediaType = "application/json"))
+        })
+        @PatchMapping("/bulk/activation")
+        public ResponseEntity<ApiResponse<BulkProductUpdateResponse>> bulkUpdateActivation(
+                        @Valid @RequestBody BulkActivationRequest request) {
+                BulkProductUpdateResponse response = productService.bulkUpdateActivation(request);
+                return ResponseEntity.ok(ApiResponse.success(response,
+                                String.format("%s %d products", request.getActive() ? "Activated" : "Deactivated",
+                                                response.getUpdated())));
+        }
+
         /**
          * Delete product response entity.
          *
@@ -275,35 +445,41 @@ public class ProductController {
         /**
          * Gets total product count.
          *
+         * @param webRequest the web request
          * @return the total product count
          */
         @Operation(summary = "Get total product count", description = "Returns the total number of products in the system")
         @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
-                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Total product count retrieved successfully", content = @Content(mediaType = "application/json"))
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Total product count retrieved successfully", content = @Content(mediaType = "application/json")),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified; the ETag in If-None-Match is still current")
         })
         @GetMapping("/count")
-        public ResponseEntity<ApiResponse<Long>> getTotalProductCount() {
-                long count = productService.getTotalProductCount();
-                return ResponseEntity.ok(ApiResponse.success(count, "Total product count retrieved successfully"));
+        public ResponseEntity<ApiResponse<Long>> getTotalProductCount(WebRequest webRequest) {
+                return resourceVersions.conditional(webRequest,
+                                () -> ApiResponse.success(productService.getTotalProductCount(), "Total product count retrieved successfully"),
+                                ResourceVersions.Table.PRODUCTS);
         }
 
         /**
          * Gets product count by category.
          *
          * @param categoryId the category id
+         * @param webRequest the web request
          * @return the product count by category
          */
         @Operation(summary = "Get product count by category", description = "Returns the number of products in a specific category")
         @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Product count by category retrieved successfully", content = @Content(mediaType = "application/json")),
-                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Category not found", content = @Content(mediaType = "application/json"))
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Category not found", content = @Content(mediaType = "application/json")),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified; the ETag in If-None-Match is still current")
         })
         @GetMapping("/count/category/{categoryId}")
         public ResponseEntity<ApiResponse<Long>> getProductCountByCategory(
-                        @Parameter(description = "Category unique identifier", required = true, example = "1") @PathVariable Integer categoryId) {
-                long count = productService.getProductCountByCategory(categoryId);
-                return ResponseEntity
-                                .ok(ApiResponse.success(count, "Product count by category retrieved successfully"));
+                        @Parameter(description = "Category unique identifier", required = true, example = "1") @PathVariable Integer categoryId,
+                        WebRequest webRequest) {
+                return resourceVersions.conditional(webRequest,
+                                () -> ApiResponse.success(productService.getProductCountByCategory(categoryId), "Product count by category retrieved successfully"),
+                                ResourceVersions.Table.PRODUCTS);
         }
 
         /**
@@ -313,22 +489,39 @@ public class ProductController {
          * @param size          the size
          * @param sortBy        the sort by
          * @param sortDirection the sort direction
+         * @param pagination    the pagination mode (OFFSET or CURSOR)
+         * @param cursor        the cursor from a previous page (implies CURSOR mode)
+         * @param includeTotal  whether to count all matches in CURSOR mode
+         * @param webRequest    the web request
          * @return the products paginated
          */
-        @Operation(summary = "Get products with pagination", description = "Retrieves products with pagination support, allowing page number, size, and sorting configuration")
+        @Operation(summary = "Get products with pagination", description = "Retrieves products with pagination support, allowing page number, size, and sorting configuration. In CURSOR mode the response is a cursor page with opaque next/previous cursors instead of page numbers")
         @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Products retrieved with pagination", content = @Content(mediaType = "application/json")),
-                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid pagination parameters", content = @Content(mediaType = "application/json"))
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid pagination parameters", content = @Content(mediaType = "application/json")),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified; the ETag in If-None-Match is still current")
         })
         @GetMapping("/paginated")
-        public ResponseEntity<ApiResponse<Page<ProductResponse>>> getProductsPaginated(
+        public ResponseEntity<ApiResponse<?>> getProductsPaginated(
                         @Parameter(description = "Page number (0-indexed)", example = "0") @RequestParam(defaultValue = "0") @Min(value = 0, message = "Page number cannot be negative") int page,
                         @Parameter(description = "Page size (number of items per page)", example = "10") @RequestParam(defaultValue = "10") @Min(value = 1, message = "Page size must be at least 1") @Max(value = 100, message = "Page size cannot exceed 100") int size,
                         @Parameter(description = "Field to sort by", example = "product_id") @RequestParam(defaultValue = "product_id") String sortBy,
-                        @Parameter(description = "Sort direction (ASC or DESC)", example = "ASC") @RequestParam(defaultValue = "ASC") String sortDirection) {
-                Pageable pageable = Pageable.of(page, size);
-                Page<ProductResponse> response = productService.getProductsPaginated(pageable, sortBy, sortDirection);
-                return ResponseEntity.ok(ApiResponse.success(response, "Products retrieved with pagination"));
+                        @Parameter(description = "Sort direction (ASC or DESC)", example = "ASC") @RequestParam(defaultValue = "ASC") String sortDirection,
+                        @Parameter(description = "Pagination mode (OFFSET or CURSOR)", example = "OFFSET") @RequestParam(defaultValue = "OFFSET") String pagination,
+                        @Parameter(description = "Opaque cursor returned with a previous page") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Whether to compute the total count in CURSOR mode", example = "false") @RequestParam(defaultValue = "false") boolean includeTotal,
+                        WebRequest webRequest) {
+                return resourceVersions.<ApiResponse<?>>conditional(webRequest, () -> {
+                        if (isCursorMode(pagination, cursor)) {
+                                CursorPage<ProductResponse> response = productService.getProductsByCursor(null, cursor,
+                                                size, sortBy, sortDirection, includeTotal);
+                                return ApiResponse.success(response, "Products retrieved with cursor pagination");
+                        }
+                        Pageable pageable = Pageable.of(page, size);
+                        Page<ProductResponse> response = productService.getProductsPaginated(pageable, sortBy,
+                                        sortDirection);
+                        return ApiResponse.success(response, "Products retrieved with pagination");
+                }, PRODUCT_TABLES);
         }
 
         /**
@@ -337,21 +530,29 @@ public class ProductController {
          * @param term the term
          * @param page the page
          * @param size the size
+         * @param mode the search mode
+         * @param webRequest the web request
          * @return the response entity
          */
-        @Operation(summary = "Search products with pagination", description = "Searches for products by name keyword with pagination support")
+        @Operation(summary = "Search products with pagination", description = "Searches for products by keyword with pagination support. INDEX (default) and FULLTEXT results are ranked by relevance; SUBSTRING keeps the case-insensitive substring match")
         @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Product search completed with pagination", content = @Content(mediaType = "application/json")),
-                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid search parameters", content = @Content(mediaType = "application/json"))
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid search parameters", content = @Content(mediaType = "application/json")),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified; the ETag in If-None-Match is still current")
         })
         @GetMapping("/search/paginated")
         public ResponseEntity<ApiResponse<Page<ProductResponse>>> searchProductsPaginated(
                         @Parameter(description = "Search term for product name", required = true, example = "Laptop") @RequestParam String term,
                         @Parameter(description = "Page number (0-indexed)", example = "0") @RequestParam(defaultValue = "0") @Min(value = 0, message = "Page number cannot be negative") int page,
-                        @Parameter(description = "Page size (number of items per page)", example = "10") @RequestParam(defaultValue = "10") @Min(value = 1, message = "Page size must be at least 1") @Max(value = 100, message = "Page size cannot exceed 100") int size) {
+                        @Parameter(description = "Page size (number of items per page)", example = "10") @RequestParam(defaultValue = "10") @Min(value = 1, message = "Page size must be at least 1") @Max(value = 100, message = "Page size cannot exceed 100") int size,
+                        @Parameter(description = "Search mode (INDEX, FULLTEXT or SUBSTRING)", example = "INDEX") @RequestParam(defaultValue = "INDEX") String mode,
+                        WebRequest webRequest) {
                 Pageable pageable = Pageable.of(page, size);
-                Page<ProductResponse> response = productService.searchProductsPaginated(term, pageable);
-                return ResponseEntity.ok(ApiResponse.success(response, "Product search completed with pagination"));
+                SearchMode searchMode = SearchMode.fromString(mode);
+                return resourceVersions.conditional(webRequest,
+                                () -> ApiResponse.success(productService.searchProductsPaginated(term, pageable, searchMode),
+                                                "Product search completed with pagination"),
+                                PRODUCT_TABLES);
         }
 
         /**
@@ -360,7 +561,9 @@ public class ProductController {
          * @param minPrice      the min price
          * @param maxPrice      the max price
          * @param categoryId    the category id
+         * @param brand         the brand
          * @param searchTerm    the search term
+         * @param searchMode    the search mode
          * @param inStock       the in stock
          * @param minStock      the min stock
          * @param maxStock      the max stock
@@ -369,19 +572,27 @@ public class ProductController {
          * @param size          the size
          * @param sortBy        the sort by
          * @param sortDirection the sort direction
+         * @param algorithm     the algorithm
+         * @param pagination    the pagination mode (OFFSET or CURSOR)
+         * @param cursor        the cursor from a previous page (implies CURSOR mode)
+         * @param includeTotal  whether to count all matches in CURSOR mode
+         * @param webRequest    the web request
          * @return the products with filters
          */
         @Operation(summary = "Get products with advanced filters", description = "Retrieves products with comprehensive filtering options including price range, category, stock status, search term, and pagination with sorting")
         @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Filtered products retrieved successfully", content = @Content(mediaType = "application/json")),
-                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid filter parameters", content = @Content(mediaType = "application/json"))
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid filter parameters", content = @Content(mediaType = "application/json")),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified; the ETag in If-None-Match is still current")
         })
         @GetMapping("/filter")
-        public ResponseEntity<ApiResponse<Page<ProductResponse>>> getProductsWithFilters(
+        public ResponseEntity<ApiResponse<?>> getProductsWithFilters(
                         @Parameter(description = "Minimum price filter", example = "100.00") @RequestParam(required = false) Double minPrice,
                         @Parameter(description = "Maximum price filter", example = "1000.00") @RequestParam(required = false) Double maxPrice,
                         @Parameter(description = "Category ID filter", example = "1") @RequestParam(required = false) Integer categoryId,
+                        @Parameter(description = "Exact brand name filter", example = "Dell") @RequestParam(required = false) String brand,
                         @Parameter(description = "Search term for product name or description", example = "Laptop") @RequestParam(required = false) String searchTerm,
+                        @Parameter(description = "How searchTerm is matched (FULLTEXT or SUBSTRING)", example = "FULLTEXT") @RequestParam(defaultValue = "FULLTEXT") String searchMode,
                         @Parameter(description = "Filter by stock availability", example = "true") @RequestParam(required = false) Boolean inStock,
                         @Parameter(description = "Minimum stock quantity", example = "10") @RequestParam(required = false) Integer minStock,
                         @Parameter(description = "Maximum stock quantity", example = "100") @RequestParam(required = false) Integer maxStock,
@@ -390,22 +601,36 @@ public class ProductController {
                         @Parameter(description = "Page size", example = "10") @RequestParam(defaultValue = "10") int size,
                         @Parameter(description = "Field to sort by", example = "product_id") @RequestParam(defaultValue = "product_id") String sortBy,
                         @Parameter(description = "Sort direction (ASC or DESC)", example = "ASC") @RequestParam(defaultValue = "ASC") String sortDirection,
-                        @Parameter(description = "Sorting algorithm (DATABASE, QUICKSORT, MERGESORT, HEAPSORT)", example = "DATABASE") @RequestParam(defaultValue = "DATABASE") String algorithm) {
+                        @Parameter(description = "Sorting algorithm (DATABASE, QUICKSORT, MERGESORT, HEAPSORT, PARALLEL_MERGESORT, RADIX, TOPK, COLUMNAR). RADIX supports price, created_at and id. TOPK only orders the rows up to the requested page. COLUMNAR reads this instance's in-memory column snapshot, which can lag writes made elsewhere", example = "DATABASE") @RequestParam(defaultValue = "DATABASE") String algorithm,
+                        @Parameter(description = "Pagination mode (OFFSET or CURSOR). CURSOR always sorts in the database", example = "OFFSET") @RequestParam(defaultValue = "OFFSET") String pagination,
+                        @Parameter(description = "Opaque cursor returned with a previous page") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Whether to compute the total count in CURSOR mode", example = "false") @RequestParam(defaultValue = "false") boolean includeTotal,
+                        WebRequest webRequest) {
 
                 ProductFilter filter = new ProductFilter();
                 filter.setMinPrice(minPrice);
                 filter.setMaxPrice(maxPrice);
                 filter.setCategoryId(categoryId);
+                filter.setBrand(brand);
                 filter.setSearchTerm(searchTerm);
+                filter.setSearchMode(SearchMode.fromString(searchMode));
                 filter.setInStock(inStock);
                 filter.setMinStock(minStock);
                 filter.setMaxStock(maxStock);
                 filter.setIsActive(isActive);
 
-                Pageable pageable = Pageable.of(page, size);
-                Page<ProductResponse> response = productService.getProductsWithFilters(filter, pageable, sortBy,
-                                sortDirection, algorithm);
-                return ResponseEntity.ok(ApiResponse.success(response, "Filtered products retrieved successfully"));
+                return resourceVersions.<ApiResponse<?>>conditional(webRequest, () -> {
+                        if (isCursorMode(pagination, cursor)) {
+                                CursorPage<ProductResponse> response = productService.getProductsByCursor(filter, cursor,
+                                                size, sortBy, sortDirection, includeTotal);
+                                return ApiResponse.success(response, "Filtered products retrieved successfully");
+                        }
+
+                        Pageable pageable = Pageable.of(page, size);
+                        Page<ProductResponse> response = productService.getProductsWithFilters(filter, pageable, sortBy,
+                                        sortDirection, algorithm);
+                        return ApiResponse.success(response, "Filtered products retrieved successfully");
+                }, PRODUCT_TABLES);
         }
 
         /**
@@ -452,9 +677,9 @@ public class ProductController {
          * @param id the id
          * @return the response entity
          */
-        @Operation(summary = "Search product by ID using Binary Search algorithm", description = "Searches for a product by its ID using the Binary Search algorithm with O(log n) time complexity")
+        @Operation(summary = "Search product by ID using the in-memory id index", description = "Checks the ID against the off-heap catalog's open-addressing id index in O(1) expected time, so unknown IDs are answered without a database query. Found products load through the product cache, take their category name from the in-memory category tree, and read stock and rating from the database")
         @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
-                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Product found using Binary Search algorithm", content = @Content(mediaType = "application/json")),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Product found", content = @Content(mediaType = "application/json")),
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product not found", content = @Content(mediaType = "application/json"))
         })
         @GetMapping("/{id}/binary-search")
@@ -470,7 +695,7 @@ public class ProductController {
          * @param datasetSize the dataset size
          * @return the response entity
          */
-        @Operation(summary = "Compare sorting algorithms", description = "Benchmarks QuickSort, MergeSort, and HeapSort performance")
+        @Operation(summary = "Compare sorting algorithms", description = "Benchmarks QuickSort, MergeSort, HeapSort, parallel MergeSort and RadixSort performance against Top-K partial sorts for a first page and a deep page")
         @GetMapping("/algorithms/sort-comparison")
         public ResponseEntity<ApiResponse<java.util.Map<String, BenchmarkResult>>> compareSortingAlgorithms(
                         @Parameter(description = "Size of test dataset", example = "1000") @RequestParam(defaultValue = "1000") int datasetSize) {
@@ -479,6 +704,21 @@ public class ProductController {
                 return ResponseEntity.ok(ApiResponse.success(results, "Sorting algorithms compared successfully"));
         }
 
+        /**
+         * Compare sorting algorithms on adversarial inputs response entity.
+         *
+         * @param datasetSize the dataset size
+         * @return the response entity
+         */
+        @Operation(summary = "Compare sorting algorithms on adversarial inputs", description = "Benchmarks the sorting algorithms on random, sorted, reverse-sorted, all-equal and organ-pipe inputs")
+        @GetMapping("/algorithms/sort-comparison/adversarial")
+        public ResponseEntity<ApiResponse<java.util.Map<String, java.util.Map<String, BenchmarkResult>>>> compareSortingOnAdversarialInputs(
+                        @Parameter(description = "Size of test dataset", example = "10000") @RequestParam(defaultValue = "10000") @Min(value = 1, message = "Dataset size must be at least 1") @Max(value = 1000000, message = "Dataset size cannot exceed 1000000") int datasetSize) {
+                java.util.Map<String, java.util.Map<String, BenchmarkResult>> results = performanceComparisonService
+                                .compareSortingOnAdversarialInputs(datasetSize);
+                return ResponseEntity.ok(ApiResponse.success(results, "Sorting algorithms compared on adversarial inputs"));
+        }
+
         /**
          * Compare search algorithms response entity.
          *
@@ -520,7 +760,7 @@ public class ProductController {
         @Operation(summary = "Get products with custom sorting algorithm", description = "Fetches products sorted using specified algorithm")
         @GetMapping("/sorted/{algorithm}")
         public ResponseEntity<ApiResponse<List<ProductResponse>>> getProductsWithAlgorithm(
-                        @Parameter(description = "Sorting algorithm: QUICKSORT, MERGESORT, HEAPSORT", example = "QUICKSORT") @PathVariable String algorithm,
+                        @Parameter(description = "Sorting algorithm: QUICKSORT, MERGESORT, HEAPSORT, PARALLEL_MERGESORT, RADIX (price, created_at and id only)", example = "QUICKSORT") @PathVariable String algorithm,
                         @Parameter(description = "Field to sort by", example = "price") @RequestParam(defaultValue = "price") String sortBy,
                         @Parameter(description = "Sort direction: ASC or DESC", example = "ASC") @RequestParam(defaultValue = "ASC") String sortDirection) {
                 List<ProductResponse> products = productService.findAllSorted(sortBy, sortDirection, algorithm);
@@ -531,13 +771,20 @@ public class ProductController {
          * Gets new arrivals.
          *
          * @param limit the limit
+         * @param webRequest the web request
          * @return the new arrivals
          */
         @Operation(summary = "Get recently added products", description = "Retrieves a list of newest products added to the catalog")
         @GetMapping("/new-arrivals")
         public ResponseEntity<ApiResponse<List<ProductResponse>>> getNewArrivals(
-                        @RequestParam(defaultValue = "10") int limit) {
-                List<ProductResponse> response = productService.getRecentlyAddedProducts(limit);
-                return ResponseEntity.ok(ApiResponse.success(response, "New arrivals retrieved successfully"));
+                        @RequestParam(defaultValue = "10") int limit,
+                        WebRequest webRequest) {
+                return resourceVersions.conditional(webRequest,
+                                () -> ApiResponse.success(productService.getRecentlyAddedProducts(limit), "New arrivals retrieved successfully"),
+                                PRODUCT_TABLES);
+        }
+
+        private boolean isCursorMode(String pagination, String cursor) {
+                return (cursor != null && !cursor.isBlank()) || "CURSOR".equalsIgnoreCase(pagination);
         }
 }
@@ -5,6 +5,8 @@ import com.shopjoy.dto.request.UpdateReviewRequest;
 import com.shopjoy.dto.response.ApiResponse;
 import com.shopjoy.dto.response.ReviewResponse;
 import com.shopjoy.service.ReviewService;
+import com.shopjoy.util.NdjsonWriter;
+import com.shopjoy.util.ResourceVersions;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,8 +14,12 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
 import java.util.List;
 
@@ -25,15 +31,28 @@ import java.util.List;
 @RequestMapping("/api/v1/reviews")
 public class ReviewController {
 
+        /**
+         * Review responses carry the reviewer's name and the product name.
+         */
+        private static final ResourceVersions.Table[] REVIEW_TABLES = {
+                        ResourceVersions.Table.REVIEWS, ResourceVersions.Table.PRODUCTS, ResourceVersions.Table.USERS };
+
         private final ReviewService reviewService;
+        private final ObjectMapper objectMapper;
+        private final ResourceVersions resourceVersions;
 
         /**
          * Instantiates a new Review controller.
          *
          * @param reviewService the review service
+         * @param objectMapper the object mapper used for streamed responses
+         * @param resourceVersions the table versions used for conditional GETs
          */
-        public ReviewController(ReviewService reviewService) {
+        public ReviewController(ReviewService reviewService, ObjectMapper objectMapper,
+                        ResourceVersions resourceVersions) {
                 this.reviewService = reviewService;
+                this.objectMapper = objectMapper;
+                this.resourceVersions = resourceVersions;
         }
 
         /**
@@ -60,54 +79,66 @@ public class ReviewController {
          * Gets review by id.
          *
          * @param id the id
+         * @param webRequest the web request
          * @return the review by id
          */
         @Operation(summary = "Get review by ID", description = "Retrieves a specific review by its unique identifier")
         @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Review retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReviewResponse.class))),
-                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Review not found", content = @Content(mediaType = "application/json"))
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Review not found", content = @Content(mediaType = "application/json")),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified; the ETag in If-None-Match is still current")
         })
         @GetMapping("/{id}")
         public ResponseEntity<ApiResponse<ReviewResponse>> getReviewById(
-                        @Parameter(description = "Review unique identifier", required = true, example = "1") @PathVariable Integer id) {
-                ReviewResponse response = reviewService.getReviewById(id);
-                return ResponseEntity.ok(ApiResponse.success(response, "Review retrieved successfully"));
+                        @Parameter(description = "Review unique identifier", required = true, example = "1") @PathVariable Integer id,
+                        WebRequest webRequest) {
+                return resourceVersions.conditional(webRequest,
+                                () -> ApiResponse.success(reviewService.getReviewById(id), "Review retrieved successfully"),
+                                REVIEW_TABLES);
         }
 
         /**
          * Gets reviews by product.
          *
          * @param productId the product id
+         * @param webRequest the web request
          * @return the reviews by product
          */
         @Operation(summary = "Get reviews by product", description = "Retrieves all reviews for a specific product")
         @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Product reviews retrieved successfully", content = @Content(mediaType = "application/json")),
-                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product not found", content = @Content(mediaType = "application/json"))
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product not found", content = @Content(mediaType = "application/json")),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified; the ETag in If-None-Match is still current")
         })
         @GetMapping("/product/{productId}")
         public ResponseEntity<ApiResponse<List<ReviewResponse>>> getReviewsByProduct(
-                        @Parameter(description = "Product unique identifier", required = true, example = "1") @PathVariable Integer productId) {
-                List<ReviewResponse> response = reviewService.getReviewsByProduct(productId);
-                return ResponseEntity.ok(ApiResponse.success(response, "Product reviews retrieved successfully"));
+                        @Parameter(description = "Product unique identifier", required = true, example = "1") @PathVariable Integer productId,
+                        WebRequest webRequest) {
+                return resourceVersions.conditional(webRequest,
+                                () -> ApiResponse.success(reviewService.getReviewsByProduct(productId), "Product reviews retrieved successfully"),
+                                REVIEW_TABLES);
         }
 
         /**
          * Gets reviews by user.
          *
          * @param userId the user id
+         * @param webRequest the web request
          * @return the reviews by user
          */
         @Operation(summary = "Get reviews by user", description = "Retrieves all reviews written by a specific user")
         @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "User reviews retrieved successfully", content = @Content(mediaType = "application/json")),
-                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "User not found", content = @Content(mediaType = "application/json"))
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "User not found", content = @Content(mediaType = "application/json")),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified; the ETag in If-None-Match is still current")
         })
         @GetMapping("/user/{userId}")
         public ResponseEntity<ApiResponse<List<ReviewResponse>>> getReviewsByUser(
-                        @Parameter(description = "User unique identifier", required = true, example = "1") @PathVariable Integer userId) {
-                List<ReviewResponse> response = reviewService.getReviewsByUser(userId);
-                return ResponseEntity.ok(ApiResponse.success(response, "User reviews retrieved successfully"));
+                        @Parameter(description = "User unique identifier", required = true, example = "1") @PathVariable Integer userId,
+                        WebRequest webRequest) {
+                return resourceVersions.conditional(webRequest,
+                                () -> ApiResponse.success(reviewService.getReviewsByUser(userId), "User reviews retrieved successfully"),
+                                REVIEW_TABLES);
         }
 
         /**
@@ -115,37 +146,45 @@ public class ReviewController {
          *
          * @param productId the product id
          * @param rating    the rating
+         * @param webRequest the web request
          * @return the reviews by rating
          */
         @Operation(summary = "Get reviews by rating", description = "Retrieves all reviews for a product filtered by specific rating (1-5 stars)")
         @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Reviews by rating retrieved successfully", content = @Content(mediaType = "application/json")),
-                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product not found", content = @Content(mediaType = "application/json"))
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product not found", content = @Content(mediaType = "application/json")),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified; the ETag in If-None-Match is still current")
         })
         @GetMapping("/product/{productId}/rating/{rating}")
         public ResponseEntity<ApiResponse<List<ReviewResponse>>> getReviewsByRating(
                         @Parameter(description = "Product unique identifier", required = true, example = "1") @PathVariable Integer productId,
-                        @Parameter(description = "Rating value (1-5)", required = true, example = "5") @PathVariable Integer rating) {
-                List<ReviewResponse> response = reviewService.getReviewsByRating(productId, rating);
-                return ResponseEntity.ok(ApiResponse.success(response, "Reviews by rating retrieved successfully"));
+                        @Parameter(description = "Rating value (1-5)", required = true, example = "5") @PathVariable Integer rating,
+                        WebRequest webRequest) {
+                return resourceVersions.conditional(webRequest,
+                                () -> ApiResponse.success(reviewService.getReviewsByRating(productId, rating), "Reviews by rating retrieved successfully"),
+                                REVIEW_TABLES);
         }
 
         /**
          * Gets average rating.
          *
          * @param productId the product id
+         * @param webRequest the web request
          * @return the average rating
          */
         @Operation(summary = "Get average product rating", description = "Calculates and returns the average rating for a product based on all reviews")
         @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Average rating calculated successfully", content = @Content(mediaType = "application/json")),
-                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product not found", content = @Content(mediaType = "application/json"))
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Product not found", content = @Content(mediaType = "application/json")),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified; the ETag in If-None-Match is still current")
         })
         @GetMapping("/product/{productId}/average-rating")
         public ResponseEntity<ApiResponse<Double>> getAverageRating(
-                        @Parameter(description = "Product unique identifier", required = true, example = "1") @PathVariable Integer productId) {
-                double averageRating = reviewService.getAverageRating(productId);
-                return ResponseEntity.ok(ApiResponse.success(averageRating, "Average rating calculated successfully"));
+                        @Parameter(description = "Product unique identifier", required = true, example = "1") @PathVariable Integer productId,
+                        WebRequest webRequest) {
+                return resourceVersions.conditional(webRequest,
+                                () -> ApiResponse.success(reviewService.getAverageRating(productId), "Average rating calculated successfully"),
+                                REVIEW_TABLES);
         }
 
         /**
@@ -208,15 +247,34 @@ public class ReviewController {
         /**
          * Gets all reviews.
          *
+         * @param webRequest the web request
          * @return the all reviews
          */
         @Operation(summary = "Get all reviews", description = "Retrieves all reviews in the system.")
         @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
-                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "All reviews retrieved successfully", content = @Content(mediaType = "application/json"))
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "All reviews retrieved successfully", content = @Content(mediaType = "application/json")),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified; the ETag in If-None-Match is still current")
         })
         @GetMapping
-        public ResponseEntity<ApiResponse<List<ReviewResponse>>> getAllReviews() {
-                List<ReviewResponse> response = reviewService.getAllReviews();
-                return ResponseEntity.ok(ApiResponse.success(response, "All reviews retrieved successfully"));
+        public ResponseEntity<ApiResponse<List<ReviewResponse>>> getAllReviews(WebRequest webRequest) {
+                return resourceVersions.conditional(webRequest,
+                                () -> ApiResponse.success(reviewService.getAllReviews(), "All reviews retrieved successfully"),
+                                REVIEW_TABLES);
+        }
+
+        /**
+         * Streams all reviews.
+         *
+         * @return the streamed reviews
+         */
+        @Operation(summary = "Stream all reviews", description = "Streams every review as newline-delimited JSON (one ReviewResponse per line), newest first, read through a database cursor so server memory stays flat regardless of table size")
+        @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Reviews streamed successfully", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = ReviewResponse.class)))
+        })
+        @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+        public ResponseEntity<StreamingResponseBody> streamAllReviews() {
+                return ResponseEntity.ok()
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .body(NdjsonWriter.<ReviewResponse>body(objectMapper, reviewService::streamAllReviews));
         }
 }
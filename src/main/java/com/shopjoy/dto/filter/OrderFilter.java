@@ -0,0 +1,22 @@
+package com.shopjoy.dto.filter;
+
+import com.shopjoy.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderFilter {
+    private Integer userId;
+    private OrderStatus status;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+}
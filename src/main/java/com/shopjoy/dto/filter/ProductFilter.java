@@ -14,10 +14,12 @@ import lombok.Setter;
 public class ProductFilter {
     private String searchTerm;
     private Integer categoryId;
+    private String brand;
     private Double minPrice;
     private Double maxPrice;
     private Boolean isActive;
     private Boolean inStock;
     private Integer minStock;
     private Integer maxStock;
+    private SearchMode searchMode;
 }
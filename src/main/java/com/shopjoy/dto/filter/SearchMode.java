@@ -0,0 +1,42 @@
+package com.shopjoy.dto.filter;
+
+import com.shopjoy.exception.ValidationException;
+
+/**
+ * How a product search term is matched.
+ */
+public enum SearchMode {
+    /**
+     * In-process trigram inverted index with BM25 ranking; substring semantics without a
+     * database round trip. Only available for the search endpoints, filters treat it as FULLTEXT.
+     * Terms whose words are all shorter than three characters also run as FULLTEXT.
+     */
+    INDEX,
+    /**
+     * PostgreSQL full-text search on the idx_products_search GIN index,
+     * ranked by relevance, with prefix matching on the last word.
+     */
+    FULLTEXT,
+    /**
+     * Case-insensitive substring match (ILIKE '%term%'); exact but cannot use an index.
+     */
+    SUBSTRING;
+
+    /**
+     * From string search mode, defaulting to FULLTEXT when no value is given.
+     *
+     * @param value the value
+     * @return the search mode
+     * @throws ValidationException if the value is not a known mode
+     */
+    public static SearchMode fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return FULLTEXT;
+        }
+        try {
+            return SearchMode.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("searchMode", "must be INDEX, FULLTEXT or SUBSTRING");
+        }
+    }
+}
@@ -54,21 +54,22 @@ public class ProductMapper {
             return null;
         }
 
-        return new ProductResponse(
-                product.getProductId(),
-                product.getProductName(),
-                product.getDescription(),
-                product.getCategoryId(),
-                categoryName,
-                stockQuantity,
-                product.getPrice(),
-                product.getCostPrice(),
-                product.getSku(),
-                product.getBrand(),
-                product.getImageUrl(),
-                product.isActive(),
-                product.getCreatedAt(),
-                product.getUpdatedAt());
+        ProductResponse response = new ProductResponse();
+        response.setProductId(product.getProductId());
+        response.setProductName(product.getProductName());
+        response.setDescription(product.getDescription());
+        response.setCategoryId(product.getCategoryId());
+        response.setCategoryName(categoryName);
+        response.setStockQuantity(stockQuantity);
+        response.setPrice(product.getPrice());
+        response.setCostPrice(product.getCostPrice());
+        response.setSku(product.getSku());
+        response.setBrand(product.getBrand());
+        response.setImageUrl(product.getImageUrl());
+        response.setActive(product.isActive());
+        response.setCreatedAt(product.getCreatedAt());
+        response.setUpdatedAt(product.getUpdatedAt());
+        return response;
     }
 
     /**
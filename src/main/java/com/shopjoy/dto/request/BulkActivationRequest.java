@@ -0,0 +1,31 @@
+package com.shopjoy.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Schema(description = "Request for activating or deactivating many products in one transaction")
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkActivationRequest {
+
+    @Schema(description = "Products to change", example = "[1, 2, 3]", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Product IDs are required")
+    @Size(min = 1, max = 10000, message = "Between 1 and 10000 product IDs are allowed per request")
+    private List<@NotNull(message = "Product ID is required") @Positive(message = "Product ID must be positive") Integer> productIds;
+
+    @Schema(description = "Whether the products become active (true) or inactive (false)", example = "false", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Active flag is required")
+    private Boolean active;
+}
@@ -0,0 +1,32 @@
+package com.shopjoy.dto.request;
+
+import com.shopjoy.entity.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Schema(description = "Request for moving many orders to the same status in one transaction")
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderStatusRequest {
+
+    @Schema(description = "Orders to change", example = "[101, 102, 103]", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Order IDs are required")
+    @Size(min = 1, max = 10000, message = "Between 1 and 10000 order IDs are allowed per request")
+    private List<@NotNull(message = "Order ID is required") @Positive(message = "Order ID must be positive") Integer> orderIds;
+
+    @Schema(description = "Status the orders move to", example = "SHIPPED", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Status is required")
+    private OrderStatus status;
+}
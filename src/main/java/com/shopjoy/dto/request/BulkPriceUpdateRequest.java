@@ -0,0 +1,28 @@
+package com.shopjoy.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Schema(description = "Request for repricing many products in one transaction")
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPriceUpdateRequest {
+
+    @Schema(description = "Price changes to apply; when a product appears more than once, its last change wins", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Price changes are required")
+    @Size(min = 1, max = 10000, message = "Between 1 and 10000 price changes are allowed per request")
+    @Valid
+    private List<ProductPriceChangeRequest> changes;
+}
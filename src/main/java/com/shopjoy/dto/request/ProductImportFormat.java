@@ -0,0 +1,35 @@
+package com.shopjoy.dto.request;
+
+import com.shopjoy.exception.ValidationException;
+
+/**
+ * Body format of a bulk product import.
+ */
+public enum ProductImportFormat {
+    /**
+     * Comma-separated values with a header row naming the CreateProductRequest fields
+     * (productName, description, categoryId, price, costPrice, sku, brand, imageUrl,
+     * isActive, initialStock); snake_case names are accepted too.
+     */
+    CSV,
+    /**
+     * Newline-delimited JSON, one CreateProductRequest object per line.
+     */
+    NDJSON;
+
+    /**
+     * Resolves the format from a request content type.
+     *
+     * @param contentType the Content-Type header value
+     * @return the import format
+     * @throws ValidationException if the content type is not text/csv or application/x-ndjson
+     */
+    public static ProductImportFormat fromContentType(String contentType) {
+        String mediaType = contentType == null ? "" : contentType.split(";", 2)[0].trim().toLowerCase();
+        return switch (mediaType) {
+            case "text/csv" -> CSV;
+            case "application/x-ndjson" -> NDJSON;
+            default -> throw new ValidationException("Content-Type", "must be text/csv or application/x-ndjson");
+        };
+    }
+}
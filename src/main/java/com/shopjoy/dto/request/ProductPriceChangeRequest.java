@@ -0,0 +1,30 @@
+package com.shopjoy.dto.request;
+
+import com.shopjoy.validation.ValidPrice;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Schema(description = "New price for one product in a bulk price update")
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPriceChangeRequest {
+
+    @Schema(description = "Product ID to reprice", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Product ID is required")
+    @Positive(message = "Product ID must be positive")
+    private Integer productId;
+
+    @Schema(description = "New selling price", example = "899.99", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Price is required")
+    @ValidPrice(message = "Price must be positive with at most 2 decimal places")
+    private Double price;
+}
@@ -0,0 +1,53 @@
+package com.shopjoy.dto.response;
+
+import com.shopjoy.entity.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Schema(description = "Outcome of a bulk order status transition")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderStatusResponse {
+
+    @Schema(description = "Status the orders were moved to", example = "SHIPPED")
+    private OrderStatus status;
+
+    @Schema(description = "Number of distinct orders the request named", example = "3000")
+    private int requested;
+
+    @Schema(description = "Number of orders moved to the status", example = "2990")
+    private int updated;
+
+    @Schema(description = "One result per requested order, in request order")
+    private List<OrderStatusResult> results;
+
+    @Schema(description = "Outcome for one order")
+    @Getter
+    @Setter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OrderStatusResult {
+
+        @Schema(description = "Order ID", example = "101")
+        private int orderId;
+
+        @Schema(description = "Whether the order was moved to the status", example = "true")
+        private boolean success;
+
+        @Schema(description = "Status the order had before the request, null if the order does not exist", example = "PROCESSING", nullable = true)
+        private OrderStatus previousStatus;
+
+        @Schema(description = "Why the order was not moved, null on success", example = "Cannot move order from DELIVERED to SHIPPED", nullable = true)
+        private String error;
+    }
+}
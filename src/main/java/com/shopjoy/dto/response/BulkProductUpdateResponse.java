@@ -0,0 +1,28 @@
+package com.shopjoy.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Schema(description = "Outcome of a bulk price or activation update")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkProductUpdateResponse {
+
+    @Schema(description = "Number of distinct products the request named", example = "3000")
+    private int requested;
+
+    @Schema(description = "Number of products updated", example = "2998")
+    private int updated;
+
+    @Schema(description = "Requested product IDs that do not exist, in ascending order", example = "[4711, 4712]")
+    private List<Integer> notFoundIds;
+}
@@ -19,6 +19,8 @@ public class DashboardDataResponse {
     private List<SalesDataPoint> salesOverTime;
     private List<CategorySalesDataPoint> categoryDistribution;
     private Map<String, Map<String, Object>> performanceMetrics;
+    private Map<String, Map<String, Object>> cacheStatistics;
+    private Map<String, Map<String, Object>> conflictRetryMetrics;
 
     @Getter
     @Setter
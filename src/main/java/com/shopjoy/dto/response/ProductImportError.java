@@ -0,0 +1,27 @@
+package com.shopjoy.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Schema(description = "A row of a bulk product import that was rejected")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportError {
+
+    @Schema(description = "1-based position of the row in the import, not counting the CSV header", example = "42")
+    private int row;
+
+    @Schema(description = "SKU of the rejected row, when it could be read", example = "LAPTOP-DELL-XPS15-001", nullable = true)
+    private String sku;
+
+    @Schema(description = "Field that caused the rejection, null for errors that concern the whole row", example = "price", nullable = true)
+    private String field;
+
+    @Schema(description = "Human-readable reason for the rejection", example = "Price must be greater than 0")
+    private String message;
+}
@@ -0,0 +1,37 @@
+package com.shopjoy.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Schema(description = "Outcome of a bulk product import")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResponse {
+
+    @Schema(description = "Number of data rows read from the import", example = "10000")
+    private int totalRows;
+
+    @Schema(description = "Number of new products created", example = "9500")
+    private int inserted;
+
+    @Schema(description = "Number of existing products (matched by SKU) that were updated", example = "480")
+    private int updated;
+
+    @Schema(description = "Number of rows rejected", example = "20")
+    private int rejected;
+
+    @Schema(description = "Rejection reasons ordered by row number, at most 1000 of them")
+    private List<ProductImportError> errors;
+
+    @Schema(description = "Whether further rejection reasons were left out of errors", example = "false")
+    private boolean errorsTruncated;
+}
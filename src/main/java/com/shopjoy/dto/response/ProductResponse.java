@@ -1,5 +1,6 @@
 package com.shopjoy.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -7,6 +8,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Schema(description = "Product response containing all product details")
 @Setter
@@ -57,4 +59,22 @@ public class ProductResponse {
     @Schema(description = "Product last update timestamp", example = "2024-01-20T15:45:00")
     private LocalDateTime updatedAt;
 
+    @Schema(description = "Number of reviews of the product", example = "12")
+    private int ratingCount;
+
+    @Schema(description = "Average review rating, 0 when the product has no reviews", example = "4.25")
+    private double averageRating;
+
+    @Schema(description = "Review counts by star rating, from 1 star to 5 stars", example = "[0, 1, 1, 4, 6]")
+    private List<Integer> ratingHistogram;
+
+    @Schema(description = "Full-text relevance score, only present on full-text search results", example = "0.0759", nullable = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double searchRank;
+
+    @Schema(description = "Matching fragments with search terms wrapped in <mark> tags, only present on full-text search results",
+            example = "Dell XPS 15 <mark>Laptop</mark> High-performance <mark>laptop</mark>", nullable = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String highlight;
+
 }
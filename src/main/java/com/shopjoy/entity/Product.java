@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
  * The type Product.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product implements Serializable {
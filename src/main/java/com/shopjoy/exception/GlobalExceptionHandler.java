@@ -4,8 +4,11 @@ import com.shopjoy.dto.response.ApiResponse;
 import com.shopjoy.dto.response.ErrorDetail;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -269,6 +272,49 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
     
+    /**
+     * Handles transactions the database aborted because of a concurrent transaction
+     * (serialization failures, deadlocks, lock timeouts) that retries did not resolve.
+     * Returns 409 Conflict, since the same request can succeed when sent again.
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ApiResponse<Object>> handleConcurrencyFailure(ConcurrencyFailureException ex) {
+        logger.warn("Concurrent update conflict: {}", ex.getMessage());
+        
+        String message = "The request conflicted with a concurrent update. Please try again.";
+        
+        ErrorDetail error = new ErrorDetail(
+                message,
+                "CONCURRENT_UPDATE_CONFLICT"
+        );
+        
+        ApiResponse<Object> response = ApiResponse.conflict(message, error);
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+    
+    /**
+     * Handles streamed responses started while the maximum number of streams is already
+     * running. Returns 503 Service Unavailable with a Retry-After hint.
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ApiResponse<Object>> handleTaskRejected(TaskRejectedException ex) {
+        logger.warn("Streamed response rejected: {}", ex.getMessage());
+        
+        String message = "Too many streamed responses are running. Please try again shortly.";
+        
+        ErrorDetail error = new ErrorDetail(
+                message,
+                "STREAM_LIMIT_REACHED"
+        );
+        
+        ApiResponse<Object> response = ApiResponse.error(message, error);
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(response);
+    }
+    
     /**
      * Handles general database/JDBC errors.
      * Returns 500 Internal Server Error.
@@ -1,5 +1,6 @@
 package com.shopjoy.graphql.config;
 
+import graphql.language.StringValue;
 import graphql.schema.*;
 import org.jspecify.annotations.NonNull;
 import org.springframework.context.annotation.Bean;
@@ -8,6 +9,7 @@ import org.springframework.graphql.execution.RuntimeWiringConfigurer;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 @Configuration
 public class GraphQLConfig {
@@ -37,10 +39,16 @@ public class GraphQLConfig {
 
                             @Override
                             public LocalDateTime parseLiteral(@NonNull Object input) {
-                                if (input instanceof String) {
-                                    return LocalDateTime.parse((String) input, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+                                if (!(input instanceof StringValue stringValue)) {
+                                    throw new CoercingParseLiteralException(
+                                            "DateTime literal must be a string, got " + input.getClass().getSimpleName());
+                                }
+                                try {
+                                    return LocalDateTime.parse(stringValue.getValue(), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+                                } catch (DateTimeParseException e) {
+                                    throw new CoercingParseLiteralException(
+                                            "DateTime literal must be an ISO local date-time: " + stringValue.getValue(), e);
                                 }
-                                return null;
                             }
                         })
                         .build());
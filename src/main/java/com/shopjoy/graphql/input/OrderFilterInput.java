@@ -0,0 +1,10 @@
+package com.shopjoy.graphql.input;
+
+import java.time.LocalDateTime;
+
+public record OrderFilterInput(
+        Long userId,
+        String status,
+        LocalDateTime startDate,
+        LocalDateTime endDate
+) {}
@@ -7,5 +7,8 @@ public record ProductFilterInput(
         BigDecimal maxPrice,
         Long categoryId,
         String searchTerm,
-        Boolean inStock
+        Boolean inStock,
+        Integer minStock,
+        Integer maxStock,
+        String searchMode
 ) {}
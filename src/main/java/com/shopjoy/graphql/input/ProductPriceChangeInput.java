@@ -0,0 +1,17 @@
+package com.shopjoy.graphql.input;
+
+import com.shopjoy.validation.ValidPrice;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+public record ProductPriceChangeInput(
+        @NotNull(message = "Product ID is required")
+        @Positive(message = "Product ID must be positive")
+        Long productId,
+
+        @NotNull(message = "Price is required")
+        @ValidPrice(message = "Price must be positive with at most 2 decimal places")
+        BigDecimal price
+) {}
@@ -1,9 +1,13 @@
 package com.shopjoy.graphql.mapper;
 
 import com.shopjoy.dto.request.*;
+import com.shopjoy.entity.OrderStatus;
+import com.shopjoy.exception.ValidationException;
 import com.shopjoy.graphql.input.*;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class GraphQLMapper {
 
@@ -59,6 +63,35 @@ public class GraphQLMapper {
                 .build();
     }
 
+    public BulkPriceUpdateRequest toBulkPriceUpdateRequest(List<ProductPriceChangeInput> changes) {
+        return BulkPriceUpdateRequest.builder()
+                .changes(changes.stream()
+                        .map(change -> ProductPriceChangeRequest.builder()
+                                .productId(change.productId().intValue())
+                                .price(change.price().doubleValue())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    public BulkActivationRequest toBulkActivationRequest(List<Long> productIds, boolean active) {
+        return BulkActivationRequest.builder()
+                .productIds(productIds.stream().map(Long::intValue).toList())
+                .active(active)
+                .build();
+    }
+
+    public BulkOrderStatusRequest toBulkOrderStatusRequest(List<Long> orderIds, String status) {
+        OrderStatus orderStatus = OrderStatus.fromString(status);
+        if (orderStatus == null) {
+            throw new ValidationException("status", "must be PENDING, PROCESSING, SHIPPED, DELIVERED or CANCELLED");
+        }
+        return BulkOrderStatusRequest.builder()
+                .orderIds(orderIds.stream().map(Long::intValue).toList())
+                .status(orderStatus)
+                .build();
+    }
+
     public CreateOrderRequest toCreateOrderRequest(CreateOrderInput input) {
         return CreateOrderRequest.builder()
                 .userId(input.userId().intValue())
@@ -4,6 +4,8 @@ import com.shopjoy.dto.response.CategoryResponse;
 import com.shopjoy.dto.response.ProductResponse;
 import com.shopjoy.service.CategoryService;
 import com.shopjoy.service.ProductService;
+import com.shopjoy.util.Pageable;
+import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.stereotype.Controller;
 
@@ -28,8 +30,21 @@ public class CategoryFieldResolver {
         return categoryService.getCategoryById(category.getParentCategoryId());
     }
 
+    @SchemaMapping(typeName = "Category", field = "path")
+    public List<CategoryResponse> path(CategoryResponse category) {
+        return categoryService.getCategoryPath(category.getCategoryId());
+    }
+
     @SchemaMapping(typeName = "Category", field = "products")
-    public List<ProductResponse> products(CategoryResponse category) {
-        return productService.getProductsByCategory(category.getCategoryId());
+    public List<ProductResponse> products(CategoryResponse category,
+            @Argument Boolean includeDescendants,
+            @Argument Integer page,
+            @Argument Integer size) {
+        boolean descendants = Boolean.TRUE.equals(includeDescendants);
+        if (page == null && size == null) {
+            return productService.getProductsByCategory(category.getCategoryId(), descendants);
+        }
+        Pageable pageable = Pageable.of(page, size);
+        return productService.getProductsByCategory(category.getCategoryId(), descendants, pageable).getContent();
     }
 }
@@ -1,5 +1,6 @@
 package com.shopjoy.graphql.resolver.mutation;
 
+import com.shopjoy.dto.response.BulkOrderStatusResponse;
 import com.shopjoy.dto.response.OrderResponse;
 import com.shopjoy.entity.OrderStatus;
 import com.shopjoy.graphql.input.CreateOrderInput;
@@ -10,6 +11,8 @@ import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.stereotype.Controller;
 
+import java.util.List;
+
 @Controller
 public class OrderMutationResolver {
 
@@ -32,4 +35,9 @@ public class OrderMutationResolver {
         OrderStatus orderStatus = OrderStatus.valueOf(status);
         return orderService.updateOrderStatus(id.intValue(), orderStatus);
     }
+
+    @MutationMapping
+    public BulkOrderStatusResponse bulkUpdateOrderStatus(@Argument List<Long> orderIds, @Argument String status) {
+        return orderService.bulkUpdateOrderStatus(graphQLMapper.toBulkOrderStatusRequest(orderIds, status));
+    }
 }
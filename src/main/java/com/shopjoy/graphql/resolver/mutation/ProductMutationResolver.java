@@ -1,15 +1,20 @@
 package com.shopjoy.graphql.resolver.mutation;
 
+import com.shopjoy.dto.response.BulkProductUpdateResponse;
 import com.shopjoy.dto.response.ProductResponse;
 import com.shopjoy.graphql.input.CreateProductInput;
+import com.shopjoy.graphql.input.ProductPriceChangeInput;
 import com.shopjoy.graphql.input.UpdateProductInput;
 import com.shopjoy.graphql.mapper.GraphQLMapper;
 import com.shopjoy.service.ProductService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.stereotype.Controller;
 
+import java.util.List;
+
 @Controller
 public class ProductMutationResolver {
 
@@ -38,4 +43,16 @@ public class ProductMutationResolver {
         productService.deleteProduct(id.intValue());
         return true;
     }
+
+    @MutationMapping
+    public BulkProductUpdateResponse bulkUpdateProductPrices(
+            @Argument @Valid @Size(min = 1, max = 10000, message = "Between 1 and 10000 price changes are allowed per request")
+            List<ProductPriceChangeInput> changes) {
+        return productService.bulkUpdatePrices(graphQLMapper.toBulkPriceUpdateRequest(changes));
+    }
+
+    @MutationMapping
+    public BulkProductUpdateResponse bulkSetProductsActive(@Argument List<Long> productIds, @Argument Boolean active) {
+        return productService.bulkUpdateActivation(graphQLMapper.toBulkActivationRequest(productIds, active));
+    }
 }
@@ -1,18 +1,26 @@
 package com.shopjoy.graphql.resolver.query;
 
+import com.shopjoy.dto.filter.OrderFilter;
 import com.shopjoy.dto.response.OrderResponse;
+import com.shopjoy.entity.OrderStatus;
+import com.shopjoy.exception.ValidationException;
+import com.shopjoy.graphql.input.OrderFilterInput;
+import com.shopjoy.graphql.type.CursorPageInfo;
 import com.shopjoy.graphql.type.OrderConnection;
 import com.shopjoy.graphql.type.PageInfo;
 import com.shopjoy.service.OrderService;
+import com.shopjoy.util.CursorPage;
+import com.shopjoy.util.Page;
+import com.shopjoy.util.Pageable;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.stereotype.Controller;
 
-import java.util.List;
-
 @Controller
 public class OrderQueryResolver {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final OrderService orderService;
 
     public OrderQueryResolver(OrderService orderService) {
@@ -27,37 +35,49 @@ public class OrderQueryResolver {
     @QueryMapping
     public OrderConnection orders(
             @Argument Long userId,
+            @Argument OrderFilterInput filter,
             @Argument Integer page,
-            @Argument Integer size
+            @Argument Integer size,
+            @Argument String cursor,
+            @Argument Boolean useCursor,
+            @Argument Boolean includeTotal
     ) {
         int pageNum = page != null ? page : 0;
         int pageSize = size != null ? size : 20;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new ValidationException("size", "must be between 1 and " + MAX_PAGE_SIZE);
+        }
 
-        // Service doesn't support pagination, so get all and paginate manually
-        List<OrderResponse> allOrders;
+        OrderFilter orderFilter = OrderFilter.builder().build();
+        if (filter != null) {
+            OrderStatus status = OrderStatus.fromString(filter.status());
+            if (filter.status() != null && status == null) {
+                throw new ValidationException("status", "must be PENDING, PROCESSING, SHIPPED, DELIVERED or CANCELLED");
+            }
+            orderFilter.setUserId(filter.userId() != null ? filter.userId().intValue() : null);
+            orderFilter.setStatus(status);
+            orderFilter.setStartDate(filter.startDate());
+            orderFilter.setEndDate(filter.endDate());
+        }
         if (userId != null) {
-            allOrders = orderService.getOrdersByUser(userId.intValue());
-        } else {
-            // Get pending orders as a fallback (service doesn't have getAll)
-            allOrders = orderService.getPendingOrders();
+            orderFilter.setUserId(userId.intValue());
         }
-        
-        int start = pageNum * pageSize;
-        int end = Math.min(start + pageSize, allOrders.size());
-        List<OrderResponse> paginatedOrders = (start < allOrders.size()) 
-            ? allOrders.subList(start, end) 
-            : List.of();
-        
-        int totalElements = allOrders.size();
-        int totalPages = (int) Math.ceil((double) totalElements / pageSize);
+
+        if (cursor != null || Boolean.TRUE.equals(useCursor)) {
+            CursorPage<OrderResponse> cursorPage = orderService.getOrdersByCursor(
+                    orderFilter, cursor, pageSize, Boolean.TRUE.equals(includeTotal));
+
+            return new OrderConnection(cursorPage.getContent(), null, CursorPageInfo.from(cursorPage));
+        }
+
+        Page<OrderResponse> ordersPage = orderService.getOrders(orderFilter, new Pageable(pageNum, pageSize));
 
         PageInfo pageInfo = new PageInfo(
                 pageNum,
                 pageSize,
-                totalElements,
-                totalPages
-        );
+                ordersPage.getTotalElements(),
+                ordersPage.getTotalPages());
 
-        return new OrderConnection(paginatedOrders, pageInfo);
+        return new OrderConnection(ordersPage.getContent(), pageInfo, null);
     }
 }
@@ -1,11 +1,14 @@
 package com.shopjoy.graphql.resolver.query;
 
 import com.shopjoy.dto.filter.ProductFilter;
+import com.shopjoy.dto.filter.SearchMode;
 import com.shopjoy.dto.response.ProductResponse;
 import com.shopjoy.graphql.input.ProductFilterInput;
+import com.shopjoy.graphql.type.CursorPageInfo;
 import com.shopjoy.graphql.type.PageInfo;
 import com.shopjoy.graphql.type.ProductConnection;
 import com.shopjoy.service.ProductService;
+import com.shopjoy.util.CursorPage;
 import com.shopjoy.util.Page;
 import com.shopjoy.util.Pageable;
 import org.springframework.graphql.data.method.annotation.Argument;
@@ -32,7 +35,10 @@ public class ProductQueryResolver {
             @Argument Integer page,
             @Argument Integer size,
             @Argument String sortBy,
-            @Argument String sortDirection) {
+            @Argument String sortDirection,
+            @Argument String cursor,
+            @Argument Boolean useCursor,
+            @Argument Boolean includeTotal) {
         int pageNum = page != null ? page : 0;
         int pageSize = size != null ? size : 20;
         String sort = sortBy != null ? sortBy : "id";
@@ -45,10 +51,20 @@ public class ProductQueryResolver {
                     .maxPrice(filter.maxPrice() != null ? filter.maxPrice().doubleValue() : null)
                     .categoryId(filter.categoryId() != null ? filter.categoryId().intValue() : null)
                     .searchTerm(filter.searchTerm())
+                    .searchMode(SearchMode.fromString(filter.searchMode()))
                     .inStock(filter.inStock())
+                    .minStock(filter.minStock())
+                    .maxStock(filter.maxStock())
                     .build();
         }
 
+        if (cursor != null || Boolean.TRUE.equals(useCursor)) {
+            CursorPage<ProductResponse> cursorPage = productService.getProductsByCursor(
+                    productFilter, cursor, pageSize, sort, direction, Boolean.TRUE.equals(includeTotal));
+
+            return new ProductConnection(cursorPage.getContent(), null, CursorPageInfo.from(cursorPage));
+        }
+
         // Create Pageable object and call correct service method
         Pageable pageable = new Pageable(pageNum, pageSize);
         Page<ProductResponse> productsPage = productService.getProductsWithFilters(
@@ -65,6 +81,6 @@ public class ProductQueryResolver {
                 productsPage.getTotalElements(),
                 productsPage.getTotalPages());
 
-        return new ProductConnection(productsPage.getContent(), pageInfo);
+        return new ProductConnection(productsPage.getContent(), pageInfo, null);
     }
 }
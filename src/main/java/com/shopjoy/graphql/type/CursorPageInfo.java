@@ -0,0 +1,22 @@
+package com.shopjoy.graphql.type;
+
+import com.shopjoy.util.CursorPage;
+
+public record CursorPageInfo(
+        int size,
+        Long totalElements,
+        boolean hasNextPage,
+        boolean hasPreviousPage,
+        String nextCursor,
+        String previousCursor
+) {
+    public static CursorPageInfo from(CursorPage<?> page) {
+        return new CursorPageInfo(
+                page.getPageSize(),
+                page.getTotalElements(),
+                page.isHasNext(),
+                page.isHasPrevious(),
+                page.getNextCursor(),
+                page.getPreviousCursor());
+    }
+}
@@ -6,5 +6,6 @@ import java.util.List;
 
 public record OrderConnection(
         List<OrderResponse> orders,
-        PageInfo pageInfo
+        PageInfo pageInfo,
+        CursorPageInfo cursorPageInfo
 ) {}
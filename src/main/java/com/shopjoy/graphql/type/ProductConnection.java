@@ -6,5 +6,6 @@ import java.util.List;
 
 public record ProductConnection(
         List<ProductResponse> products,
-        PageInfo pageInfo
+        PageInfo pageInfo,
+        CursorPageInfo cursorPageInfo
 ) {}
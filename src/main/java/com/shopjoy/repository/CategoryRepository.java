@@ -1,6 +1,8 @@
 package com.shopjoy.repository;
 
 import com.shopjoy.entity.Category;
+import com.shopjoy.util.CategoryTree;
+import com.shopjoy.util.TransactionCallbacks;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
@@ -12,7 +14,10 @@ import org.springframework.transaction.annotation.Transactional;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -23,6 +28,7 @@ import java.util.Optional;
 public class CategoryRepository implements ICategoryRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final CategoryTree categoryTree;
 
     private final RowMapper<Category> categoryRowMapper = (rs, _) -> {
         Category category = new Category();
@@ -40,9 +46,11 @@ public class CategoryRepository implements ICategoryRepository {
      * Instantiates a new Category repository.
      *
      * @param jdbcTemplate the jdbc template
+     * @param categoryTree the in-memory category hierarchy, rebuilt after each write
      */
-    public CategoryRepository(JdbcTemplate jdbcTemplate) {
+    public CategoryRepository(JdbcTemplate jdbcTemplate, CategoryTree categoryTree) {
         this.jdbcTemplate = jdbcTemplate;
+        this.categoryTree = categoryTree;
     }
 
     @Override
@@ -78,6 +86,7 @@ public class CategoryRepository implements ICategoryRepository {
             return ps;
         }, keyHolder);
         if (keyHolder.getKey() != null) category.setCategoryId(keyHolder.getKey().intValue());
+        rebuildTreeAfterCommit();
         return category;
     }
 
@@ -87,13 +96,16 @@ public class CategoryRepository implements ICategoryRepository {
         String sql = "UPDATE categories SET category_name = ?, description = ?, parent_category_id = ? WHERE category_id = ?";
         jdbcTemplate.update(sql, category.getCategoryName(), category.getDescription(), 
             category.getParentCategoryId(), category.getCategoryId());
+        rebuildTreeAfterCommit();
         return category;
     }
 
     @Override
     @Transactional()
     public boolean delete(Integer categoryId) {
-        return jdbcTemplate.update("DELETE FROM categories WHERE category_id = ?", categoryId) > 0;
+        boolean deleted = jdbcTemplate.update("DELETE FROM categories WHERE category_id = ?", categoryId) > 0;
+        rebuildTreeAfterCommit();
+        return deleted;
     }
 
     @Override
@@ -140,4 +152,51 @@ public class CategoryRepository implements ICategoryRepository {
         return count != null && count > 0;
     }
 
+    /**
+     * Finds the ids of a category and all categories beneath it with a recursive query.
+     * UNION rather than UNION ALL stops the recursion should the parent links ever form
+     * a cycle.
+     *
+     * @param categoryId the category id
+     * @return the subtree ids, empty if the category does not exist
+     */
+    public int[] findSubtreeIds(int categoryId) {
+        String sql = """
+                WITH RECURSIVE subtree AS (
+                    SELECT category_id FROM categories WHERE category_id = ?
+                    UNION
+                    SELECT c.category_id FROM categories c JOIN subtree s ON c.parent_category_id = s.category_id
+                )
+                SELECT category_id FROM subtree
+                """;
+        return jdbcTemplate.queryForList(sql, Integer.class, categoryId).stream()
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Find category names for a set of category ids in a single query.
+     *
+     * @param categoryIds the category ids
+     * @return map of category id to category name (ids without a row are absent)
+     */
+    public Map<Integer, String> findCategoryNamesByIds(Collection<Integer> categoryIds) {
+        Map<Integer, String> names = new HashMap<>();
+        if (categoryIds == null || categoryIds.isEmpty()) return names;
+        int[] ids = categoryIds.stream().mapToInt(Integer::intValue).distinct().toArray();
+        jdbcTemplate.query("SELECT category_id, category_name FROM categories WHERE category_id = ANY(?)",
+                rs -> {
+                    names.put(rs.getInt("category_id"), rs.getString("category_name"));
+                }, (Object) ids);
+        return names;
+    }
+
+    /**
+     * Reloads the category tree once the write has committed. Categories are few, so the
+     * whole hierarchy is reloaded rather than patched.
+     */
+    private void rebuildTreeAfterCommit() {
+        TransactionCallbacks.afterCommit(() -> categoryTree.rebuild(this::findAll));
+    }
+
 }
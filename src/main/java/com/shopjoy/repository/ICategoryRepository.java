@@ -2,10 +2,14 @@ package com.shopjoy.repository;
 
 import com.shopjoy.entity.Category;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface ICategoryRepository extends GenericRepository<Category, Integer> {
     List<Category> findTopLevelCategories();
     List<Category> findSubcategories(Integer parentCategoryId);
     boolean hasSubcategories(int categoryId);
+    int[] findSubtreeIds(int categoryId);
+    Map<Integer, String> findCategoryNamesByIds(Collection<Integer> categoryIds);
 }
@@ -2,13 +2,20 @@ package com.shopjoy.repository;
 
 import com.shopjoy.entity.Inventory;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface IInventoryRepository extends GenericRepository<Inventory, Integer> {
+    void streamAll(Consumer<Inventory> action);
     Optional<Inventory> findByProductId(int productId);
     void updateStock(int productId, int quantity);
     void incrementStock(int productId, int increment);
     void decrementStock(int productId, int decrement);
+    Map<Integer, Integer> decrementStock(int[] productIds, int[] quantities);
+    void releaseStockForOrders(int[] orderIds);
     List<Inventory> findLowStock();
+    Map<Integer, Integer> findStockByProductIds(Collection<Integer> productIds);
 }
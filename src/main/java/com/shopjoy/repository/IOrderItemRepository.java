@@ -2,8 +2,12 @@ package com.shopjoy.repository;
 
 import com.shopjoy.entity.OrderItem;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface IOrderItemRepository extends GenericRepository<OrderItem, Integer> {
     List<OrderItem> findByOrderId(int orderId);
+    List<OrderItem> saveAll(List<OrderItem> items);
+    Map<Integer, List<OrderItem>> findByOrderIds(Collection<Integer> orderIds);
 }
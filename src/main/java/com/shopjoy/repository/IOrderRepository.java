@@ -1,14 +1,24 @@
 package com.shopjoy.repository;
 
+import com.shopjoy.dto.filter.OrderFilter;
 import com.shopjoy.entity.Order;
 import com.shopjoy.entity.OrderStatus;
+import com.shopjoy.util.CursorPage;
+import com.shopjoy.util.Page;
+import com.shopjoy.util.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IOrderRepository extends GenericRepository<Order, Integer> {
+    void streamAll(Consumer<Order> action);
     List<Order> findByUserId(int userId);
     List<Order> findByStatus(OrderStatus status);
     List<Order> findByDateRange(LocalDateTime startDate, LocalDateTime endDate);
     boolean hasUserPurchasedProduct(int userId, int productId);
+    Page<Order> findOrders(OrderFilter filter, Pageable pageable);
+    CursorPage<Order> findOrdersByCursor(OrderFilter filter, String cursorToken, int size, boolean includeTotal);
+    List<OrderStatusTransition> updateStatuses(int[] orderIds, OrderStatus newStatus, Collection<OrderStatus> allowedPrevious);
 }
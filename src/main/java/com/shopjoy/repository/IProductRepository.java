@@ -1,20 +1,43 @@
 package com.shopjoy.repository;
 
 import com.shopjoy.dto.filter.ProductFilter;
+import com.shopjoy.dto.response.ProductImportError;
 import com.shopjoy.entity.Product;
+import com.shopjoy.util.CursorPage;
 import com.shopjoy.util.Page;
 import com.shopjoy.util.Pageable;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface IProductRepository extends GenericRepository<Product, Integer> {
+    void streamAll(boolean activeOnly, Consumer<Product> action);
+    List<Product> findAllByIds(Collection<Integer> productIds);
+    Set<Integer> findExistingIds(Collection<Integer> productIds);
     List<Product> findByCategoryId(Integer categoryId);
+    List<Product> findByCategoryIds(int[] categoryIds);
+    Page<Product> findByCategoryIds(int[] categoryIds, Pageable pageable);
+    Map<Integer, ProductStock> findStockByIds(int[] productIds);
+    Map<Integer, String> findProductNamesByIds(Collection<Integer> productIds);
     List<Product> findByNameContaining(String keyword);
     List<Product> findByPriceRange(double minPrice, double maxPrice);
     long countByCategory(Integer categoryId);
     Page<Product> findAllPaginated(Pageable pageable, String sortBy, String sortDirection);
     Page<Product> findProductsWithFilters(ProductFilter filter, Pageable pageable, String sortBy, String sortDirection);
+    Page<Product> findProductsWithFiltersFromColumns(ProductFilter filter, Pageable pageable, String sortBy,
+            String sortDirection);
+    CursorPage<Product> findProductsWithFiltersByCursor(ProductFilter filter, String cursorToken, int size,
+            String sortBy, String sortDirection, boolean includeTotal);
     Page<Product> searchProductsPaginated(String searchTerm, Pageable pageable);
+    List<ProductSearchHit> searchFullText(String searchTerm);
+    Page<ProductSearchHit> searchFullTextPaginated(String searchTerm, Pageable pageable);
     List<Product> findAllWithFilters(ProductFilter filter);
     List<Product> findRecentlyAdded(int limit);
+    List<Product> updatePrices(int[] productIds, double[] prices);
+    List<Product> updateActiveStatus(int[] productIds, boolean active);
+    ProductImportOutcome importProducts(Iterator<ProductImportRow> rows, Consumer<ProductImportError> rejected);
 }
@@ -2,12 +2,18 @@ package com.shopjoy.repository;
 
 import com.shopjoy.entity.Review;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface IReviewRepository extends GenericRepository<Review, Integer> {
+    void streamAll(Consumer<Review> action);
     List<Review> findByProductId(int productId);
+    List<Review> findByProductIdAndRating(int productId, int rating);
     List<Review> findByUserId(int userId);
     void incrementHelpfulCount(int reviewId);
     Double getAverageRating(int productId);
+    Map<Integer, RatingSummary> findRatingSummaries(Collection<Integer> productIds);
     boolean hasUserReviewedProduct(int userId, int productId);
 }
@@ -3,7 +3,9 @@ package com.shopjoy.repository;
 import com.shopjoy.entity.User;
 import com.shopjoy.entity.UserType;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface IUserRepository extends GenericRepository<User, Integer> {
@@ -14,4 +16,5 @@ public interface IUserRepository extends GenericRepository<User, Integer> {
     boolean usernameExists(String username);
     List<User> findByUserType(UserType userType);
     void changePassword(int userId, String newPassword);
+    Map<Integer, String> findFullNamesByIds(Collection<Integer> userIds);
 }
@@ -3,6 +3,7 @@ package com.shopjoy.repository;
 import com.shopjoy.entity.Inventory;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
@@ -12,8 +13,12 @@ import org.springframework.transaction.annotation.Transactional;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * The type Inventory repository.
@@ -63,6 +68,18 @@ public class InventoryRepository implements IInventoryRepository {
         return jdbcTemplate.query("SELECT * FROM inventory", inventoryRowMapper);
     }
 
+    /**
+     * Passes every inventory record to the action as it is read, without
+     * materializing the table.
+     *
+     * @param action the action applied to each record
+     */
+    @Override
+    public void streamAll(Consumer<Inventory> action) {
+        jdbcTemplate.query("SELECT * FROM inventory",
+                (RowCallbackHandler) rs -> action.accept(inventoryRowMapper.mapRow(rs, rs.getRow())));
+    }
+
     @Override
     @Transactional()
     public Inventory save(Inventory inventory) {
@@ -124,6 +141,23 @@ public class InventoryRepository implements IInventoryRepository {
         }
     }
 
+    /**
+     * Find stock levels for a set of products in a single query.
+     *
+     * @param productIds the product ids
+     * @return map of product id to quantity in stock (products without inventory are absent)
+     */
+    public Map<Integer, Integer> findStockByProductIds(Collection<Integer> productIds) {
+        Map<Integer, Integer> stock = new HashMap<>();
+        if (productIds == null || productIds.isEmpty()) return stock;
+        int[] ids = productIds.stream().mapToInt(Integer::intValue).distinct().toArray();
+        jdbcTemplate.query("SELECT product_id, quantity_in_stock FROM inventory WHERE product_id = ANY(?)",
+                rs -> {
+                    stock.put(rs.getInt("product_id"), rs.getInt("quantity_in_stock"));
+                }, (Object) ids);
+        return stock;
+    }
+
     /**
      * Update stock.
      *
@@ -160,6 +194,72 @@ public class InventoryRepository implements IInventoryRepository {
                 decrement, productId, decrement);
     }
 
+    /**
+     * Takes stock for many products with one statement. Each product's stock is decremented
+     * only if it covers the requested quantity; products that cannot cover it are left as
+     * they are and missing from the result, so the caller can tell which lines failed and
+     * roll back. Ids must be distinct.
+     * <p>
+     * The rows are locked in product id order before they are updated, since the UPDATE
+     * itself takes its locks in whatever order the join produces them. Concurrent checkouts
+     * of overlapping products therefore wait on each other instead of deadlocking.
+     *
+     * @param productIds the product ids
+     * @param quantities the quantities to take, parallel to productIds
+     * @return the remaining stock by product id, for the products that were decremented
+     */
+    @Transactional()
+    public Map<Integer, Integer> decrementStock(int[] productIds, int[] quantities) {
+        if (productIds.length != quantities.length) {
+            throw new IllegalArgumentException("productIds and quantities must have the same length");
+        }
+        Map<Integer, Integer> remaining = new HashMap<>();
+        if (productIds.length == 0) {
+            return remaining;
+        }
+        lockInProductIdOrder("product_id = ANY(?)", (Object) productIds);
+        String sql = """
+                UPDATE inventory i
+                SET quantity_in_stock = i.quantity_in_stock - v.quantity, updated_at = CURRENT_TIMESTAMP
+                FROM unnest(?::int[], ?::int[]) AS v(product_id, quantity)
+                WHERE i.product_id = v.product_id AND i.quantity_in_stock >= v.quantity
+                RETURNING i.product_id, i.quantity_in_stock
+                """;
+        jdbcTemplate.query(sql, rs -> {
+            remaining.put(rs.getInt("product_id"), rs.getInt("quantity_in_stock"));
+        }, (Object) productIds, (Object) quantities);
+        return remaining;
+    }
+
+    /**
+     * Returns the stock held by a set of orders with one statement: the quantities of all
+     * their items are summed per product and added back. The rows are locked in product id
+     * order first, like {@link #decrementStock(int[], int[])}.
+     *
+     * @param orderIds the order ids
+     */
+    @Transactional()
+    public void releaseStockForOrders(int[] orderIds) {
+        if (orderIds.length == 0) {
+            return;
+        }
+        lockInProductIdOrder("product_id IN (SELECT product_id FROM order_items WHERE order_id = ANY(?))",
+                (Object) orderIds);
+        String sql = """
+                UPDATE inventory i
+                SET quantity_in_stock = i.quantity_in_stock + s.quantity, updated_at = CURRENT_TIMESTAMP
+                FROM (SELECT product_id, SUM(quantity) AS quantity
+                      FROM order_items WHERE order_id = ANY(?) GROUP BY product_id) s
+                WHERE i.product_id = s.product_id
+                """;
+        jdbcTemplate.update(sql, (Object) orderIds);
+    }
+
+    private void lockInProductIdOrder(String condition, Object... args) {
+        jdbcTemplate.query("SELECT product_id FROM inventory WHERE " + condition + " ORDER BY product_id FOR UPDATE",
+                (RowCallbackHandler) _ -> { }, args);
+    }
+
     /**
      * Find low stock list.
      *
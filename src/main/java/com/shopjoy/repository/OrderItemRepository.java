@@ -2,6 +2,7 @@ package com.shopjoy.repository;
 
 import com.shopjoy.entity.OrderItem;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
@@ -10,9 +11,14 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -80,6 +86,47 @@ public class OrderItemRepository implements IOrderItemRepository {
         return item;
     }
 
+    /**
+     * Inserts several order items with one JDBC batch and sets their generated ids.
+     *
+     * @param items the items
+     * @return the items
+     */
+    @Override
+    @Transactional()
+    public List<OrderItem> saveAll(List<OrderItem> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        String sql = "INSERT INTO order_items (order_id, product_id, quantity, unit_price, subtotal) VALUES (?, ?, ?, ?, ?)";
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(conn -> conn.prepareStatement(sql, new String[] { "order_item_id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        OrderItem item = items.get(i);
+                        ps.setInt(1, item.getOrderId());
+                        ps.setInt(2, item.getProductId());
+                        ps.setInt(3, item.getQuantity());
+                        ps.setDouble(4, item.getUnitPrice());
+                        ps.setDouble(5, item.getSubtotal());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return items.size();
+                    }
+                }, keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < items.size() && i < keys.size(); i++) {
+            Object key = keys.get(i).get("order_item_id");
+            if (key instanceof Number number) {
+                items.get(i).setOrderItemId(number.intValue());
+            }
+        }
+        return items;
+    }
+
     @Override
     @Transactional()
     public OrderItem update(OrderItem item) {
@@ -116,4 +163,22 @@ public class OrderItemRepository implements IOrderItemRepository {
         return jdbcTemplate.query("SELECT * FROM order_items WHERE order_id = ?", orderItemRowMapper, orderId);
     }
 
+    /**
+     * Find the items of a set of orders in a single query.
+     *
+     * @param orderIds the order ids
+     * @return map of order id to its items (orders without items are absent)
+     */
+    public Map<Integer, List<OrderItem>> findByOrderIds(Collection<Integer> orderIds) {
+        Map<Integer, List<OrderItem>> items = new HashMap<>();
+        if (orderIds == null || orderIds.isEmpty()) return items;
+        int[] ids = orderIds.stream().mapToInt(Integer::intValue).distinct().toArray();
+        jdbcTemplate.query("SELECT * FROM order_items WHERE order_id = ANY(?) ORDER BY order_id, order_item_id",
+                rs -> {
+                    OrderItem item = orderItemRowMapper.mapRow(rs, rs.getRow());
+                    items.computeIfAbsent(item.getOrderId(), _ -> new ArrayList<>()).add(item);
+                }, (Object) ids);
+        return items;
+    }
+
 }
@@ -1,10 +1,16 @@
 package com.shopjoy.repository;
 
+import com.shopjoy.dto.filter.OrderFilter;
 import com.shopjoy.entity.Order;
 import com.shopjoy.entity.OrderStatus;
 import com.shopjoy.entity.PaymentStatus;
+import com.shopjoy.util.CursorPage;
+import com.shopjoy.util.KeysetCursor;
+import com.shopjoy.util.Page;
+import com.shopjoy.util.Pageable;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
@@ -15,8 +21,12 @@ import java.sql.PreparedStatement;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * The type Order repository.
@@ -77,6 +87,18 @@ public class OrderRepository implements IOrderRepository {
         return jdbcTemplate.query("SELECT * FROM orders ORDER BY order_date DESC", orderRowMapper);
     }
 
+    /**
+     * Passes every order to the action as it is read, newest first.
+     * Rows come from a server-side cursor, as in ProductRepository#streamAll.
+     *
+     * @param action the action applied to each order
+     */
+    @Override
+    public void streamAll(Consumer<Order> action) {
+        jdbcTemplate.query("SELECT * FROM orders ORDER BY order_date DESC",
+                (RowCallbackHandler) rs -> action.accept(orderRowMapper.mapRow(rs, rs.getRow())));
+    }
+
     @Override
     @Transactional()
     public Order save(Order order) {
@@ -169,6 +191,174 @@ public Order update(Order order) {
                 orderRowMapper, startDate, endDate);
     }
 
+    /**
+     * Moves many orders to a new status with one statement. Only orders whose current
+     * status is one of the allowed ones are updated; the others are left as they are.
+     * <p>
+     * The UPDATE runs in a data-modifying CTE. The outer SELECT reads the orders as they
+     * were before the statement, so it reports the previous status of every requested
+     * order, updated or not, in the same round trip. Ids must be distinct.
+     *
+     * @param orderIds        the order ids
+     * @param newStatus       the new status
+     * @param allowedPrevious the statuses an order may be moved from
+     * @return one transition per requested id, in request order
+     */
+    @Override
+    @Transactional()
+    public List<OrderStatusTransition> updateStatuses(int[] orderIds, OrderStatus newStatus,
+            Collection<OrderStatus> allowedPrevious) {
+        if (orderIds.length == 0) {
+            return new ArrayList<>();
+        }
+        String[] allowed = allowedPrevious.stream()
+                .map(status -> status.toString().toLowerCase())
+                .toArray(String[]::new);
+        String sql = """
+                WITH updated AS (
+                    UPDATE orders SET status = ?, updated_at = CURRENT_TIMESTAMP
+                    WHERE order_id = ANY(?) AND status = ANY(?)
+                    RETURNING order_id
+                )
+                SELECT r.order_id, o.status AS previous_status, u.order_id IS NOT NULL AS updated
+                FROM unnest(?::int[]) WITH ORDINALITY AS r(order_id, position)
+                LEFT JOIN orders o ON o.order_id = r.order_id
+                LEFT JOIN updated u ON u.order_id = r.order_id
+                ORDER BY r.position
+                """;
+        return jdbcTemplate.query(sql, (rs, _) -> {
+            String previous = rs.getString("previous_status");
+            return new OrderStatusTransition(rs.getInt("order_id"),
+                    previous != null ? OrderStatus.fromString(previous) : null,
+                    rs.getBoolean("updated"));
+        }, newStatus.toString().toLowerCase(), orderIds, allowed, orderIds);
+    }
+
+    /**
+     * Finds one page of orders, newest first.
+     * <p>
+     * Orders are sorted by (order_date, order_id) so that orders placed at the same moment
+     * keep a stable order across pages. Offsets still scan every skipped row; for deep
+     * pages use {@link #findOrdersByCursor}.
+     *
+     * @param filter   the filter, or null for all orders
+     * @param pageable the page
+     * @return the page of orders
+     */
+    public Page<Order> findOrders(OrderFilter filter, Pageable pageable) {
+        StringBuilder where = new StringBuilder(" WHERE 1=1");
+        List<Object> filterParams = new ArrayList<>();
+        appendFilterConditions(where, filter, filterParams);
+
+        String sql = "SELECT * FROM orders" + where + " ORDER BY order_date DESC, order_id DESC LIMIT ? OFFSET ?";
+        List<Object> params = new ArrayList<>(filterParams);
+        params.add(pageable.getSize());
+        params.add(pageable.getOffset());
+        List<Order> orders = jdbcTemplate.query(sql, orderRowMapper, params.toArray());
+
+        return new Page<>(orders, pageable, countOrders(where, filterParams));
+    }
+
+    /**
+     * Keyset (seek) paginated variant of {@link #findOrders}.
+     * <p>
+     * Each page starts right after the (order_date, order_id) boundary row carried by the
+     * cursor. With a user filter the seek runs on idx_orders_user_date, otherwise on
+     * idx_orders_order_date, so deep pages cost the same as the first one. The total count
+     * is only computed when requested.
+     *
+     * @param filter       the filter, or null for all orders
+     * @param cursorToken  the cursor returned with a previous page, or null for the first page
+     * @param size         the page size
+     * @param includeTotal whether to run the COUNT(*) query
+     * @return the cursor page, newest first
+     */
+    public CursorPage<Order> findOrdersByCursor(OrderFilter filter, String cursorToken, int size,
+            boolean includeTotal) {
+        KeysetCursor cursor = null;
+        if (cursorToken != null && !cursorToken.isBlank()) {
+            cursor = KeysetCursor.decode(cursorToken);
+            cursor.requireSort("order_date", "DESC");
+        }
+        boolean backward = cursor != null && cursor.backward();
+        String scanDirection = backward ? "ASC" : "DESC";
+
+        StringBuilder where = new StringBuilder(" WHERE 1=1");
+        List<Object> filterParams = new ArrayList<>();
+        appendFilterConditions(where, filter, filterParams);
+
+        StringBuilder sql = new StringBuilder("SELECT *, order_date::text AS sort_key FROM orders").append(where);
+        List<Object> params = new ArrayList<>(filterParams);
+        if (cursor != null) {
+            cursor.appendSeekCondition(sql, params, "order_date", "timestamp", true, "order_id", backward);
+        }
+        sql.append(String.format(" ORDER BY order_date %s, order_id %s LIMIT ?", scanDirection, scanDirection));
+        params.add(size + 1);
+
+        List<Order> orders = new ArrayList<>();
+        List<String> sortKeys = new ArrayList<>();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            orders.add(orderRowMapper.mapRow(rs, orders.size()));
+            sortKeys.add(rs.getString("sort_key"));
+        }, params.toArray());
+
+        boolean hasMore = orders.size() > size;
+        if (hasMore) {
+            orders.removeLast();
+            sortKeys.removeLast();
+        }
+        if (backward) {
+            Collections.reverse(orders);
+            Collections.reverse(sortKeys);
+        }
+
+        boolean hasNext = backward || hasMore;
+        boolean hasPrevious = backward ? hasMore : cursor != null;
+
+        String nextCursor = null;
+        String previousCursor = null;
+        if (!orders.isEmpty()) {
+            if (hasNext) {
+                nextCursor = new KeysetCursor("order_date", "DESC", false,
+                        orders.getLast().getOrderId(), sortKeys.getLast()).encode();
+            }
+            if (hasPrevious) {
+                previousCursor = new KeysetCursor("order_date", "DESC", true,
+                        orders.getFirst().getOrderId(), sortKeys.getFirst()).encode();
+            }
+        }
+
+        Long total = includeTotal ? countOrders(where, filterParams) : null;
+        return new CursorPage<>(orders, size, nextCursor, previousCursor, total);
+    }
+
+    private void appendFilterConditions(StringBuilder sql, OrderFilter filter, List<Object> params) {
+        if (filter == null) {
+            return;
+        }
+        if (filter.getUserId() != null) {
+            sql.append(" AND user_id = ?");
+            params.add(filter.getUserId());
+        }
+        if (filter.getStatus() != null) {
+            sql.append(" AND status = ?");
+            params.add(filter.getStatus().toString().toLowerCase());
+        }
+        if (filter.getStartDate() != null) {
+            sql.append(" AND order_date >= ?");
+            params.add(filter.getStartDate());
+        }
+        if (filter.getEndDate() != null) {
+            sql.append(" AND order_date <= ?");
+            params.add(filter.getEndDate());
+        }
+    }
+
+    private long countOrders(CharSequence where, List<Object> params) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders" + where, Long.class, params.toArray());
+        return count != null ? count : 0L;
+    }
+
     /**
      * Has user purchased product boolean.
      *
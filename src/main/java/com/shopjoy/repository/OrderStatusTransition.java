@@ -0,0 +1,13 @@
+package com.shopjoy.repository;
+
+import com.shopjoy.entity.OrderStatus;
+
+/**
+ * The outcome of a bulk status update for one order.
+ *
+ * @param orderId        the order id
+ * @param previousStatus the status before the update, null if the order does not exist
+ * @param updated        whether the order was moved to the new status
+ */
+public record OrderStatusTransition(int orderId, OrderStatus previousStatus, boolean updated) {
+}
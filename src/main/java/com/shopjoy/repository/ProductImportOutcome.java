@@ -0,0 +1,10 @@
+package com.shopjoy.repository;
+
+/**
+ * Result of the set-based upsert of a bulk product import.
+ *
+ * @param insertedIds ids of the products created
+ * @param updatedIds  ids of the existing products updated
+ */
+public record ProductImportOutcome(int[] insertedIds, int[] updatedIds) {
+}
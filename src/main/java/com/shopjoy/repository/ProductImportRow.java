@@ -0,0 +1,13 @@
+package com.shopjoy.repository;
+
+import com.shopjoy.entity.Product;
+
+/**
+ * A validated row of a bulk product import.
+ *
+ * @param row          the 1-based position of the row in the import
+ * @param product      the product to insert, or to update when its SKU already exists
+ * @param initialStock the stock level for a newly created product
+ */
+public record ProductImportRow(int row, Product product, int initialStock) {
+}
@@ -1,30 +1,124 @@
 package com.shopjoy.repository;
 
 import com.shopjoy.dto.filter.ProductFilter;
+import com.shopjoy.dto.filter.SearchMode;
+import com.shopjoy.dto.response.ProductImportError;
 import com.shopjoy.entity.Product;
+import com.shopjoy.util.BoundedCache;
+import com.shopjoy.util.CursorPage;
+import com.shopjoy.util.KeysetCursor;
 import com.shopjoy.util.Page;
 import com.shopjoy.util.Pageable;
+import com.shopjoy.util.ProductColumnStore;
+import com.shopjoy.util.ProductSnapshot;
+import com.shopjoy.util.Rebuildable;
 import com.shopjoy.util.SortValidator;
+import com.shopjoy.util.TransactionCallbacks;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Repository
 @Transactional(readOnly = true)
 public class ProductRepository implements IProductRepository {
 
+    /**
+     * SQL types of the sortable columns, used to cast cursor values back when seeking.
+     */
+    private static final Map<String, String> SORT_COLUMN_TYPES = Map.of(
+            "product_id", "integer",
+            "product_name", "text",
+            "price", "numeric",
+            "cost_price", "numeric",
+            "created_at", "timestamp",
+            "updated_at", "timestamp",
+            "category_id", "integer");
+
+    private static final Set<String> NULLABLE_SORT_COLUMNS = Set.of("cost_price", "created_at", "updated_at");
+
+    /**
+     * Document expression of idx_products_search; queries must repeat it verbatim for the index to apply.
+     */
+    private static final String SEARCH_VECTOR =
+            "to_tsvector('english', product_name || ' ' || COALESCE(description, ''))";
+
+    /**
+     * Parsed search term: websearch syntax for the leading words, AND-ed with a prefix match on the last word
+     * when the term allows it (see addSearchQueryParams).
+     */
+    private static final String SEARCH_QUERY =
+            "(websearch_to_tsquery('english', ?) && to_tsquery('english', ?))";
+
+    private static final String HEADLINE_OPTIONS =
+            "StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=20, MinWords=5";
+
+    private static final Pattern TRAILING_WORD = Pattern.compile("([\\p{L}\\p{N}]+)$");
+
+    /**
+     * The websearch OR keyword as a word of its own.
+     */
+    private static final Pattern OR_OPERATOR = Pattern.compile("(?i)(^|\\s)or(\\s|$)");
+
+    /**
+     * Imports that touch more products than this reload the in-memory structures from the
+     * table instead of applying the products one at a time.
+     */
+    private static final int IMPORT_FULL_REFRESH_THRESHOLD = 10_000;
+    private static final int IMPORT_COPY_BUFFER_BYTES = 64 * 1024;
+    private static final int IMPORT_REFRESH_CHUNK_SIZE = 1_000;
+
+    private static final String IMPORT_STAGING_DDL = """
+             CREATE TEMP TABLE product_import_staging (
+                 row_number INTEGER NOT NULL, product_name TEXT, description TEXT, category_id INTEGER,
+                 price NUMERIC, cost_price NUMERIC, sku TEXT, brand TEXT, image_url TEXT,
+                 is_active BOOLEAN, initial_stock INTEGER
+             ) ON COMMIT DROP;
+             CREATE TEMP TABLE product_import_result (
+                 product_id INTEGER NOT NULL, sku TEXT NOT NULL, inserted BOOLEAN NOT NULL
+             ) ON COMMIT DROP
+            \s""";
+
+    private static final String IMPORT_COPY = """
+             COPY product_import_staging (row_number, product_name, description, category_id, price,
+                                          cost_price, sku, brand, image_url, is_active, initial_stock)
+             FROM STDIN WITH (FORMAT csv)
+            \s""";
+
     private final JdbcTemplate jdbcTemplate;
+    private final BoundedCache<Integer, Product> productCache;
+    private final ProductColumnStore columnStore;
+    private final List<ProductSnapshot<?>> snapshots;
 
     private final RowMapper<Product> productRowMapper = (rs, _) -> {
         Product product = new Product();
@@ -49,16 +143,34 @@ public class ProductRepository implements IProductRepository {
      * Instantiates a new Product repository.
      *
      * @param jdbcTemplate the jdbc template
+     * @param productCache the product entity cache
+     * @param columnStore  the columnar product snapshot
+     * @param snapshots    every in-memory product structure, kept in step with writes
      */
-    public ProductRepository(JdbcTemplate jdbcTemplate) {
+    public ProductRepository(JdbcTemplate jdbcTemplate, BoundedCache<Integer, Product> productCache,
+            ProductColumnStore columnStore, List<ProductSnapshot<?>> snapshots) {
         this.jdbcTemplate = jdbcTemplate;
+        this.productCache = productCache;
+        this.columnStore = columnStore;
+        this.snapshots = snapshots;
     }
 
+    /**
+     * Find by id through the product cache.
+     * <p>
+     * Callers get a copy of the cached entity, so mutating the returned product
+     * (as the update paths in ProductServiceImpl do) never leaks into the cache.
+     */
     @Override
     public Optional<Product> findById(Integer productId) {
         if (productId == null)
             return Optional.empty();
 
+        return productCache.get(productId, this::loadById)
+                .map(product -> product.toBuilder().build());
+    }
+
+    private Optional<Product> loadById(Integer productId) {
         String sql = """
                  SELECT product_id, category_id, product_name, description, price, cost_price,
                         sku, brand, image_url, is_active, created_at, updated_at
@@ -82,6 +194,27 @@ public class ProductRepository implements IProductRepository {
         return jdbcTemplate.query(sql, productRowMapper);
     }
 
+    /**
+     * Passes every product (or every active product) to the action as it is read, in the
+     * same order as findAll.
+     * <p>
+     * Runs inside a read-only transaction, so the PostgreSQL driver reads through a
+     * server-side cursor in batches of the configured JDBC fetch size instead of
+     * buffering the whole result set.
+     *
+     * @param activeOnly true to skip inactive products
+     * @param action     the action applied to each product
+     */
+    @Override
+    public void streamAll(boolean activeOnly, Consumer<Product> action) {
+        String sql = """
+                 SELECT product_id, category_id, product_name, description, price, cost_price,
+                        sku, brand, image_url, is_active, created_at, updated_at
+                 FROM products
+                """ + (activeOnly ? " WHERE is_active = true" : "") + " ORDER BY product_name";
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> action.accept(productRowMapper.mapRow(rs, rs.getRow())));
+    }
+
     @Override
     @Transactional()
     public Product save(Product product) {
@@ -110,6 +243,8 @@ public class ProductRepository implements IProductRepository {
         }, keyHolder);
 
         product.setProductId(Objects.requireNonNull(keyHolder.getKey()).intValue());
+        Product saved = product.toBuilder().build();
+        TransactionCallbacks.afterCommit(() -> snapshots.forEach(snapshot -> snapshot.upsert(saved)));
         return product;
     }
 
@@ -135,6 +270,9 @@ public class ProductRepository implements IProductRepository {
                 product.isActive(),
                 product.getProductId());
 
+        evictFromCache(product.getProductId());
+        Product updated = product.toBuilder().build();
+        TransactionCallbacks.afterCommit(() -> snapshots.forEach(snapshot -> snapshot.upsert(updated)));
         return product;
     }
 
@@ -142,7 +280,288 @@ public class ProductRepository implements IProductRepository {
     @Transactional()
     public boolean delete(Integer productId) {
         String sql = "DELETE FROM products WHERE product_id = ?";
-        return jdbcTemplate.update(sql, productId) > 0;
+        boolean deleted = jdbcTemplate.update(sql, productId) > 0;
+        evictFromCache(productId);
+        TransactionCallbacks.afterCommit(() -> snapshots.forEach(snapshot -> snapshot.remove(productId)));
+        return deleted;
+    }
+
+    /**
+     * Reprices many products with one statement. The id and price arrays are unnested
+     * into a derived table and joined in UPDATE ... FROM, so the whole batch costs one
+     * round trip however many products it names. Ids must be distinct.
+     *
+     * @param productIds the product ids
+     * @param prices     the new prices, parallel to productIds
+     * @return the updated products; ids without a product are absent
+     */
+    @Override
+    @Transactional()
+    public List<Product> updatePrices(int[] productIds, double[] prices) {
+        if (productIds.length != prices.length) {
+            throw new IllegalArgumentException("productIds and prices must have the same length");
+        }
+        if (productIds.length == 0) {
+            return new ArrayList<>();
+        }
+        String sql = """
+                 UPDATE products p
+                 SET price = v.price, updated_at = CURRENT_TIMESTAMP
+                 FROM unnest(?::int[], ?::numeric[]) AS v(product_id, price)
+                 WHERE p.product_id = v.product_id
+                 RETURNING p.product_id, p.category_id, p.product_name, p.description, p.price, p.cost_price,
+                           p.sku, p.brand, p.image_url, p.is_active, p.created_at, p.updated_at
+                \s""";
+        List<Product> updated = jdbcTemplate.query(sql, productRowMapper, (Object) productIds, (Object) prices);
+        applyBulkUpdate(updated);
+        return updated;
+    }
+
+    /**
+     * Activates or deactivates many products with one statement.
+     *
+     * @param productIds the product ids
+     * @param active     the new active flag
+     * @return the updated products; ids without a product are absent
+     */
+    @Override
+    @Transactional()
+    public List<Product> updateActiveStatus(int[] productIds, boolean active) {
+        if (productIds.length == 0) {
+            return new ArrayList<>();
+        }
+        String sql = """
+                 UPDATE products
+                 SET is_active = ?, updated_at = CURRENT_TIMESTAMP
+                 WHERE product_id = ANY(?)
+                 RETURNING product_id, category_id, product_name, description, price, cost_price,
+                           sku, brand, image_url, is_active, created_at, updated_at
+                \s""";
+        List<Product> updated = jdbcTemplate.query(sql, productRowMapper, active, (Object) productIds);
+        applyBulkUpdate(updated);
+        return updated;
+    }
+
+    /**
+     * Evicts bulk-updated products from the cache and hands the updated rows to the
+     * in-memory product structures once the transaction commits.
+     */
+    private void applyBulkUpdate(List<Product> updated) {
+        for (Product product : updated) {
+            productCache.invalidate(product.getProductId());
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    for (Product product : updated) {
+                        productCache.invalidate(product.getProductId());
+                    }
+                }
+            });
+        }
+        List<Product> copies = updated.stream().map(product -> product.toBuilder().build()).toList();
+        TransactionCallbacks.afterCommit(() -> upsertIntoSnapshots(copies));
+    }
+
+    /**
+     * Bulk upserts products by SKU.
+     * <p>
+     * Rows are streamed through COPY into a temporary staging table. Rows the table
+     * would refuse are then removed and reported through the rejected sink: unknown
+     * categories, over-long SKUs, prices out of range, and earlier duplicates of a SKU
+     * within the import. The remaining rows are upserted into products with one
+     * INSERT ... ON CONFLICT (sku). New products get their initial inventory row in
+     * the same statement batch. Once the transaction commits, the product cache and the
+     * in-memory product structures are brought up to date.
+     *
+     * @param rows     the validated rows, consumed while the COPY runs
+     * @param rejected receives the rows refused by the table constraints
+     * @return the ids of the created and updated products
+     */
+    @Override
+    @Transactional()
+    public ProductImportOutcome importProducts(Iterator<ProductImportRow> rows, Consumer<ProductImportError> rejected) {
+        jdbcTemplate.execute(IMPORT_STAGING_DDL);
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            CopyIn copyIn = copyManager.copyIn(IMPORT_COPY);
+            try {
+                StringBuilder buffer = new StringBuilder(IMPORT_COPY_BUFFER_BYTES + 4096);
+                while (rows.hasNext()) {
+                    appendCopyRow(buffer, rows.next());
+                    if (buffer.length() >= IMPORT_COPY_BUFFER_BYTES) {
+                        writeCopyBuffer(copyIn, buffer);
+                    }
+                }
+                writeCopyBuffer(copyIn, buffer);
+                return copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        });
+
+        rejectStagedRows("NOT EXISTS (SELECT 1 FROM categories c WHERE c.category_id = s.category_id)",
+                "categoryId", "Category not found", rejected);
+        rejectStagedRows("char_length(s.sku) > 50", "sku", "SKU cannot exceed 50 characters", rejected);
+        rejectStagedRows("s.price >= 100000000 OR s.cost_price >= 100000000",
+                "price", "Prices cannot exceed 99999999.99", rejected);
+        jdbcTemplate.query("""
+                 DELETE FROM product_import_staging s
+                 USING product_import_staging later
+                 WHERE later.sku = s.sku AND later.row_number > s.row_number
+                 RETURNING s.row_number, s.sku
+                \s""", (RowCallbackHandler) rs -> rejected.accept(new ProductImportError(
+                rs.getInt("row_number"), rs.getString("sku"), "sku",
+                "Duplicate SKU in this import, superseded by a later row")));
+
+        jdbcTemplate.update("""
+                 WITH upserted AS (
+                     INSERT INTO products (category_id, product_name, description, price, cost_price,
+                                           sku, brand, image_url, is_active, created_at, updated_at)
+                     SELECT category_id, product_name, description, price, COALESCE(cost_price, 0),
+                            sku, brand, image_url, COALESCE(is_active, TRUE), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                     FROM product_import_staging
+                     ORDER BY row_number
+                     ON CONFLICT (sku) DO UPDATE
+                     SET category_id = EXCLUDED.category_id, product_name = EXCLUDED.product_name,
+                         description = EXCLUDED.description, price = EXCLUDED.price,
+                         cost_price = EXCLUDED.cost_price, brand = EXCLUDED.brand,
+                         image_url = EXCLUDED.image_url, is_active = EXCLUDED.is_active,
+                         updated_at = CURRENT_TIMESTAMP
+                     RETURNING product_id, sku, (xmax = 0) AS inserted
+                 )
+                 INSERT INTO product_import_result (product_id, sku, inserted)
+                 SELECT product_id, sku, inserted FROM upserted
+                \s""");
+
+        jdbcTemplate.update("""
+                 INSERT INTO inventory (product_id, quantity_in_stock, reorder_level, last_restocked, updated_at)
+                 SELECT r.product_id, COALESCE(s.initial_stock, 0), 5, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                 FROM product_import_result r
+                 JOIN product_import_staging s ON s.sku = r.sku
+                 WHERE r.inserted
+                 ON CONFLICT (product_id) DO NOTHING
+                \s""");
+
+        int[] insertedIds = jdbcTemplate.queryForList(
+                "SELECT product_id FROM product_import_result WHERE inserted", Integer.class)
+                .stream().mapToInt(Integer::intValue).toArray();
+        int[] updatedIds = jdbcTemplate.queryForList(
+                "SELECT product_id FROM product_import_result WHERE NOT inserted", Integer.class)
+                .stream().mapToInt(Integer::intValue).toArray();
+
+        for (int productId : updatedIds) {
+            productCache.invalidate(productId);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    for (int productId : updatedIds) {
+                        productCache.invalidate(productId);
+                    }
+                }
+            });
+        }
+        TransactionCallbacks.afterCommit(() -> refreshImportedProducts(insertedIds, updatedIds));
+
+        return new ProductImportOutcome(insertedIds, updatedIds);
+    }
+
+    private void rejectStagedRows(String condition, String field, String message,
+            Consumer<ProductImportError> rejected) {
+        jdbcTemplate.query("DELETE FROM product_import_staging s WHERE " + condition + " RETURNING s.row_number, s.sku",
+                (RowCallbackHandler) rs -> rejected.accept(
+                        new ProductImportError(rs.getInt("row_number"), rs.getString("sku"), field, message)));
+    }
+
+    private static void appendCopyRow(StringBuilder buffer, ProductImportRow row) {
+        Product product = row.product();
+        buffer.append(row.row()).append(',');
+        appendCopyField(buffer, product.getProductName()).append(',');
+        appendCopyField(buffer, product.getDescription()).append(',');
+        buffer.append(product.getCategoryId()).append(',');
+        buffer.append(product.getPrice()).append(',');
+        buffer.append(product.getCostPrice()).append(',');
+        appendCopyField(buffer, product.getSku()).append(',');
+        appendCopyField(buffer, product.getBrand()).append(',');
+        appendCopyField(buffer, product.getImageUrl()).append(',');
+        buffer.append(product.isActive()).append(',');
+        buffer.append(row.initialStock()).append('\n');
+    }
+
+    /**
+     * Appends a text value in COPY CSV form: null as an empty unquoted field, anything else
+     * quoted with embedded quotes doubled, so an empty string stays distinct from null.
+     */
+    private static StringBuilder appendCopyField(StringBuilder buffer, String value) {
+        if (value == null) {
+            return buffer;
+        }
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        return buffer.append('"');
+    }
+
+    private static void writeCopyBuffer(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    /**
+     * Applies imported products to every in-memory product structure. Each chunk of rows
+     * is read once and fed to all of them; large imports rebuild them all from one read
+     * of the whole table.
+     */
+    private void refreshImportedProducts(int[] insertedIds, int[] updatedIds) {
+        if (insertedIds.length + updatedIds.length > IMPORT_FULL_REFRESH_THRESHOLD) {
+            Rebuildable.rebuildAll(snapshots, this::findAll);
+            return;
+        }
+        for (int[] ids : List.of(insertedIds, updatedIds)) {
+            for (int start = 0; start < ids.length; start += IMPORT_REFRESH_CHUNK_SIZE) {
+                int end = Math.min(ids.length, start + IMPORT_REFRESH_CHUNK_SIZE);
+                upsertIntoSnapshots(findAllByIds(Arrays.stream(ids, start, end).boxed().toList()));
+            }
+        }
+    }
+
+    private void upsertIntoSnapshots(List<Product> products) {
+        for (ProductSnapshot<?> snapshot : snapshots) {
+            for (Product product : products) {
+                snapshot.upsert(product);
+            }
+        }
+    }
+
+    /**
+     * Evicts a product from the cache right after the write and again once the surrounding
+     * transaction completes, so a read inside the transaction cannot leave an uncommitted
+     * or rolled-back row behind in the cache.
+     */
+    private void evictFromCache(Integer productId) {
+        productCache.invalidate(productId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    productCache.invalidate(productId);
+                }
+            });
+        }
     }
 
     @Override
@@ -161,6 +580,40 @@ public class ProductRepository implements IProductRepository {
         return count != null && count > 0;
     }
 
+    /**
+     * Which of the given product ids still exist.
+     *
+     * @param productIds the product ids
+     * @return the ids that have a product
+     */
+    public Set<Integer> findExistingIds(Collection<Integer> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        int[] ids = productIds.stream().mapToInt(Integer::intValue).distinct().toArray();
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT product_id FROM products WHERE product_id = ANY(?)", Integer.class, (Object) ids));
+    }
+
+    /**
+     * Find all by ids list, in no particular order. Ids without a product are skipped.
+     *
+     * @param productIds the product ids
+     * @return the list
+     */
+    public List<Product> findAllByIds(Collection<Integer> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int[] ids = productIds.stream().mapToInt(Integer::intValue).distinct().toArray();
+        String sql = """
+                 SELECT product_id, category_id, product_name, description, price, cost_price,
+                        sku, brand, image_url, is_active, created_at, updated_at
+                 FROM products WHERE product_id = ANY(?)
+                \s""";
+        return jdbcTemplate.query(sql, productRowMapper, (Object) ids);
+    }
+
     /**
      * Find by category id list.
      *
@@ -177,7 +630,91 @@ public class ProductRepository implements IProductRepository {
     }
 
     /**
-     * Find by name containing list.
+     * Finds the products of several categories, such as a category and all its
+     * descendants, with one query on the category index.
+     *
+     * @param categoryIds the category ids
+     * @return the products, ordered by name
+     */
+    public List<Product> findByCategoryIds(int[] categoryIds) {
+        if (categoryIds.length == 0) {
+            return new ArrayList<>();
+        }
+        String sql = """
+                SELECT product_id, category_id, product_name, description, price, cost_price,
+                       sku, brand, image_url, is_active, created_at, updated_at
+                FROM products WHERE category_id = ANY(?) ORDER BY product_name, product_id
+                """;
+        return jdbcTemplate.query(sql, productRowMapper, (Object) categoryIds);
+    }
+
+    /**
+     * Find product names for a set of product ids in a single query.
+     *
+     * @param productIds the product ids
+     * @return map of product id to product name (ids without a row are absent)
+     */
+    public Map<Integer, String> findProductNamesByIds(Collection<Integer> productIds) {
+        Map<Integer, String> names = new HashMap<>();
+        if (productIds == null || productIds.isEmpty()) return names;
+        int[] ids = productIds.stream().mapToInt(Integer::intValue).distinct().toArray();
+        jdbcTemplate.query("SELECT product_id, product_name FROM products WHERE product_id = ANY(?)",
+                rs -> {
+                    names.put(rs.getInt("product_id"), rs.getString("product_name"));
+                }, (Object) ids);
+        return names;
+    }
+
+    /**
+     * Loads several products together with their stock levels in one query.
+     *
+     * @param productIds the product ids
+     * @return the products with stock by product id; ids without a product are absent
+     */
+    public Map<Integer, ProductStock> findStockByIds(int[] productIds) {
+        Map<Integer, ProductStock> products = new HashMap<>();
+        if (productIds.length == 0) {
+            return products;
+        }
+        String sql = """
+                SELECT p.product_id, p.product_name, p.is_active, COALESCE(i.quantity_in_stock, 0) AS quantity_in_stock
+                FROM products p LEFT JOIN inventory i ON i.product_id = p.product_id
+                WHERE p.product_id = ANY(?)
+                """;
+        jdbcTemplate.query(sql, rs -> {
+            products.put(rs.getInt("product_id"), new ProductStock(rs.getInt("product_id"),
+                    rs.getString("product_name"), rs.getBoolean("is_active"), rs.getInt("quantity_in_stock")));
+        }, (Object) productIds);
+        return products;
+    }
+
+    /**
+     * Paginated variant of {@link #findByCategoryIds(int[])}.
+     *
+     * @param categoryIds the category ids
+     * @param pageable    the page
+     * @return the page of products, ordered by name
+     */
+    public Page<Product> findByCategoryIds(int[] categoryIds, Pageable pageable) {
+        if (categoryIds.length == 0) {
+            return new Page<>(new ArrayList<>(), pageable, 0);
+        }
+        String sql = """
+                SELECT product_id, category_id, product_name, description, price, cost_price,
+                       sku, brand, image_url, is_active, created_at, updated_at
+                FROM products WHERE category_id = ANY(?) ORDER BY product_name, product_id
+                LIMIT ? OFFSET ?
+                """;
+        List<Product> products = jdbcTemplate.query(sql, productRowMapper, categoryIds,
+                pageable.getSize(), pageable.getOffset());
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products WHERE category_id = ANY(?)",
+                Long.class, (Object) categoryIds);
+        return new Page<>(products, pageable, total != null ? total : 0L);
+    }
+
+    /**
+     * Find by name containing list. Substring match on the product name only, which cannot use an index;
+     * prefer {@link #searchFullText(String)} unless exact substring semantics are needed.
      *
      * @param keyword the keyword
      * @return the list
@@ -239,6 +776,9 @@ public class ProductRepository implements IProductRepository {
 
     public Page<Product> findProductsWithFilters(ProductFilter filter, Pageable pageable, String sortBy,
             String sortDirection) {
+        String safeSort = SortValidator.getSafeProductSortField(sortBy);
+        String safeDirection = SortValidator.getSafeDirection(sortDirection);
+
         StringBuilder sql = new StringBuilder("""
                 SELECT product_id, category_id, product_name, description, price, cost_price,
                        sku, brand, image_url, is_active, created_at, updated_at
@@ -249,8 +789,6 @@ public class ProductRepository implements IProductRepository {
         List<Object> params = new ArrayList<>();
         buildFilterConditions(sql, filter, params);
 
-        String safeSort = SortValidator.getSafeProductSortField(sortBy);
-        String safeDirection = SortValidator.getSafeDirection(sortDirection);
         sql.append(String.format(" ORDER BY %s %s", safeSort, safeDirection));
         sql.append(" LIMIT ? OFFSET ?");
 
@@ -263,6 +801,40 @@ public class ProductRepository implements IProductRepository {
         return new Page<>(products, pageable, total);
     }
 
+    /**
+     * Answers a filter query from the columnar snapshot: the scan yields only the ids of the
+     * requested page, which are then loaded in one query and put back in scan order.
+     * <p>
+     * The snapshot only sees writes made through this instance, so it is used only when the
+     * caller asks for it. Filters and sorts the snapshot does not support run in PostgreSQL.
+     */
+    public Page<Product> findProductsWithFiltersFromColumns(ProductFilter filter, Pageable pageable, String sortBy,
+            String sortDirection) {
+        String safeSort = SortValidator.getSafeProductSortField(sortBy);
+        String safeDirection = SortValidator.getSafeDirection(sortDirection);
+        if (!columnStore.supports(filter, safeSort)) {
+            return findProductsWithFilters(filter, pageable, sortBy, sortDirection);
+        }
+
+        ProductColumnStore.IdPage idPage = columnStore.query(filter, safeSort, "DESC".equals(safeDirection),
+                pageable.getOffset(), pageable.getSize());
+
+        List<Integer> pageIds = Arrays.stream(idPage.ids()).boxed().toList();
+        Map<Integer, Product> productsById = new HashMap<>();
+        for (Product product : findAllByIds(pageIds)) {
+            productsById.put(product.getProductId(), product);
+        }
+
+        List<Product> products = new ArrayList<>(pageIds.size());
+        for (Integer id : pageIds) {
+            Product product = productsById.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return new Page<>(products, pageable, idPage.total());
+    }
+
     private void buildFilterConditions(StringBuilder sql, ProductFilter filter, List<Object> params) {
         if (filter.getMinPrice() != null) {
             sql.append(" AND price >= ?");
@@ -279,17 +851,64 @@ public class ProductRepository implements IProductRepository {
             params.add(filter.getCategoryId());
         }
 
+        if (filter.getBrand() != null) {
+            sql.append(" AND brand = ?");
+            params.add(filter.getBrand());
+        }
+
         if (filter.getSearchTerm() != null && !filter.getSearchTerm().trim().isEmpty()) {
-            sql.append(" AND (product_name ILIKE ? OR description ILIKE ?)");
-            String searchPattern = "%" + filter.getSearchTerm() + "%";
-            params.add(searchPattern);
-            params.add(searchPattern);
+            if (filter.getSearchMode() == SearchMode.SUBSTRING) {
+                sql.append(" AND (product_name ILIKE ? OR description ILIKE ?)");
+                String searchPattern = "%" + filter.getSearchTerm() + "%";
+                params.add(searchPattern);
+                params.add(searchPattern);
+            } else {
+                sql.append(" AND ").append(SEARCH_VECTOR).append(" @@ ").append(SEARCH_QUERY);
+                addSearchQueryParams(params, filter.getSearchTerm());
+            }
         }
 
         if (filter.getIsActive() != null) {
             sql.append(" AND is_active = ?");
             params.add(filter.getIsActive());
         }
+
+        appendStockCondition(sql, filter, params);
+    }
+
+    /**
+     * Narrows the products to a stock range with a correlated subquery on inventory, which
+     * the quantity index can answer. inStock, minStock and maxStock are folded into a single
+     * quantity range first. A product without an inventory row has a stock of 0, as in
+     * product responses, so a range containing 0 is written as "no inventory row outside
+     * the range" and keeps such products.
+     */
+    private void appendStockCondition(StringBuilder sql, ProductFilter filter, List<Object> params) {
+        Integer min = filter.getMinStock();
+        Integer max = filter.getMaxStock();
+        if (Boolean.TRUE.equals(filter.getInStock())) {
+            min = min == null ? 1 : Math.max(min, 1);
+        } else if (Boolean.FALSE.equals(filter.getInStock())) {
+            max = max == null ? 0 : Math.min(max, 0);
+        }
+        if (min == null && max == null) {
+            return;
+        }
+
+        boolean includesZero = (min == null || min <= 0) && (max == null || max >= 0);
+        List<String> bounds = new ArrayList<>(2);
+        if (min != null) {
+            bounds.add(includesZero ? "i.quantity_in_stock < ?" : "i.quantity_in_stock >= ?");
+            params.add(min);
+        }
+        if (max != null) {
+            bounds.add(includesZero ? "i.quantity_in_stock > ?" : "i.quantity_in_stock <= ?");
+            params.add(max);
+        }
+        sql.append(includesZero ? " AND NOT EXISTS" : " AND EXISTS")
+                .append(" (SELECT 1 FROM inventory i WHERE i.product_id = products.product_id AND ")
+                .append(includesZero ? "(" + String.join(" OR ", bounds) + ")" : String.join(" AND ", bounds))
+                .append(")");
     }
 
     private long countProductsWithFilters(ProductFilter filter) {
@@ -320,6 +939,185 @@ public class ProductRepository implements IProductRepository {
         return new Page<>(products, pageable, total != null ? total : 0);
     }
 
+    /**
+     * Full-text search list, ranked by relevance.
+     * <p>
+     * Matches the same to_tsvector expression as idx_products_search, so the GIN index is used.
+     *
+     * @param searchTerm the search term in web search syntax
+     * @return the list
+     */
+    public List<ProductSearchHit> searchFullText(String searchTerm) {
+        return searchFullText(searchTerm, Integer.MAX_VALUE, 0);
+    }
+
+    /**
+     * Full-text search page, ranked by relevance.
+     *
+     * @param searchTerm the search term in web search syntax
+     * @param pageable   the pageable
+     * @return the page
+     */
+    public Page<ProductSearchHit> searchFullTextPaginated(String searchTerm, Pageable pageable) {
+        List<ProductSearchHit> hits = searchFullText(searchTerm, pageable.getSize(), pageable.getOffset());
+
+        List<Object> countParams = new ArrayList<>();
+        addSearchQueryParams(countParams, searchTerm);
+        String countSql = "SELECT COUNT(*) FROM products WHERE " + SEARCH_VECTOR + " @@ " + SEARCH_QUERY;
+        Long total = jdbcTemplate.queryForObject(countSql, Long.class, countParams.toArray());
+
+        return new Page<>(hits, pageable, total != null ? total : 0);
+    }
+
+    /**
+     * Ranks and limits the matches in an inner query so ts_headline, which re-parses the
+     * document text, only runs for the rows actually returned.
+     */
+    private List<ProductSearchHit> searchFullText(String searchTerm, int limit, int offset) {
+        String sql = """
+                SELECT ranked.*, ts_headline('english', ranked.product_name || ' ' || COALESCE(ranked.description, ''),
+                       %2$s, '%3$s') AS highlight
+                FROM (
+                    SELECT product_id, category_id, product_name, description, price, cost_price,
+                           sku, brand, image_url, is_active, created_at, updated_at,
+                           ts_rank(%1$s, %2$s) AS search_rank
+                    FROM products
+                    WHERE %1$s @@ %2$s
+                    ORDER BY search_rank DESC, product_id
+                    LIMIT ? OFFSET ?
+                ) ranked
+                ORDER BY ranked.search_rank DESC, ranked.product_id
+                """.formatted(SEARCH_VECTOR, SEARCH_QUERY, HEADLINE_OPTIONS);
+
+        // The tsquery appears three times: in ts_headline, ts_rank and the WHERE clause.
+        List<Object> params = new ArrayList<>();
+        addSearchQueryParams(params, searchTerm);
+        addSearchQueryParams(params, searchTerm);
+        addSearchQueryParams(params, searchTerm);
+        params.add(limit);
+        params.add(offset);
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new ProductSearchHit(
+                productRowMapper.mapRow(rs, rowNum), rs.getDouble("search_rank"), rs.getString("highlight")),
+                params.toArray());
+    }
+
+    /**
+     * Binds the two halves of {@link #SEARCH_QUERY}. A trailing bare word is treated as a
+     * prefix (so "lapt" matches "laptop") and the rest of the term is parsed with
+     * websearch_to_tsquery, which understands quoted phrases, OR and -exclusions.
+     * The prefix word is restricted to letters and digits, so it can never inject
+     * to_tsquery operators.
+     * <p>
+     * Splitting the last word off only keeps the meaning of the term when that word is
+     * AND-ed with the rest. AND binds tighter than OR, so "a or b c" means a | (b &amp; c)
+     * and splitting off c would turn it into (a | b) &amp; c:*. Terms with an OR, a quoted
+     * phrase or a trailing exclusion are therefore passed to websearch_to_tsquery whole,
+     * without a prefix.
+     */
+    private void addSearchQueryParams(List<Object> params, String searchTerm) {
+        String term = searchTerm.trim();
+        Matcher trailing = TRAILING_WORD.matcher(term);
+        boolean prefix = term.indexOf('"') < 0
+                && trailing.find()
+                && (trailing.start() == 0 || term.charAt(trailing.start() - 1) != '-')
+                && !OR_OPERATOR.matcher(term).find();
+        if (prefix) {
+            params.add(term.substring(0, trailing.start()));
+            params.add(trailing.group(1) + ":*");
+        } else {
+            params.add(term);
+            params.add("");
+        }
+    }
+
+    /**
+     * Keyset (seek) paginated variant of {@link #findProductsWithFilters}.
+     * <p>
+     * Rows are ordered by (sort column, product_id) and each page starts right after the
+     * boundary row carried by the cursor, so deep pages cost the same as the first one.
+     * The total count is only computed when requested.
+     *
+     * @param filter        the filter
+     * @param cursorToken   the cursor returned with a previous page, or null for the first page
+     * @param size          the page size
+     * @param sortBy        the sort column
+     * @param sortDirection the sort direction
+     * @param includeTotal  whether to run the COUNT(*) query
+     * @return the cursor page
+     */
+    public CursorPage<Product> findProductsWithFiltersByCursor(ProductFilter filter, String cursorToken, int size,
+            String sortBy, String sortDirection, boolean includeTotal) {
+        String safeSort = SortValidator.getSafeProductSortField(sortBy);
+        String safeDirection = SortValidator.getSafeDirection(sortDirection);
+
+        KeysetCursor cursor = null;
+        if (cursorToken != null && !cursorToken.isBlank()) {
+            cursor = KeysetCursor.decode(cursorToken);
+            cursor.requireSort(safeSort, safeDirection);
+        }
+        boolean backward = cursor != null && cursor.backward();
+        boolean ascending = "ASC".equals(safeDirection) != backward;
+        String scanDirection = ascending ? "ASC" : "DESC";
+
+        StringBuilder sql = new StringBuilder(String.format("""
+                SELECT product_id, category_id, product_name, description, price, cost_price,
+                       sku, brand, image_url, is_active, created_at, updated_at, %s::text AS sort_key
+                FROM products
+                WHERE 1=1
+                """, safeSort));
+
+        List<Object> params = new ArrayList<>();
+        buildFilterConditions(sql, filter, params);
+        if (cursor != null) {
+            cursor.appendSeekCondition(sql, params, safeSort, SORT_COLUMN_TYPES.get(safeSort),
+                    NULLABLE_SORT_COLUMNS.contains(safeSort), "product_id", ascending);
+        }
+
+        sql.append(String.format(" ORDER BY %s %s", safeSort, scanDirection));
+        if (!"product_id".equals(safeSort)) {
+            sql.append(String.format(", product_id %s", scanDirection));
+        }
+        sql.append(" LIMIT ?");
+        params.add(size + 1);
+
+        List<Product> products = new ArrayList<>();
+        List<String> sortKeys = new ArrayList<>();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            products.add(productRowMapper.mapRow(rs, products.size()));
+            sortKeys.add(rs.getString("sort_key"));
+        }, params.toArray());
+
+        boolean hasMore = products.size() > size;
+        if (hasMore) {
+            products.removeLast();
+            sortKeys.removeLast();
+        }
+        if (backward) {
+            Collections.reverse(products);
+            Collections.reverse(sortKeys);
+        }
+
+        boolean hasNext = backward || hasMore;
+        boolean hasPrevious = backward ? hasMore : cursor != null;
+
+        String nextCursor = null;
+        String previousCursor = null;
+        if (!products.isEmpty()) {
+            if (hasNext) {
+                nextCursor = new KeysetCursor(safeSort, safeDirection, false,
+                        products.getLast().getProductId(), sortKeys.getLast()).encode();
+            }
+            if (hasPrevious) {
+                previousCursor = new KeysetCursor(safeSort, safeDirection, true,
+                        products.getFirst().getProductId(), sortKeys.getFirst()).encode();
+            }
+        }
+
+        Long total = includeTotal ? countProductsWithFilters(filter) : null;
+        return new CursorPage<>(products, size, nextCursor, previousCursor, total);
+    }
+
     public List<Product> findAllWithFilters(ProductFilter filter) {
         StringBuilder sql = new StringBuilder("""
                 SELECT product_id, category_id, product_name, description, price, cost_price,
@@ -0,0 +1,13 @@
+package com.shopjoy.repository;
+
+import com.shopjoy.entity.Product;
+
+/**
+ * A product matched by full-text search, with its relevance and highlighted fragments.
+ *
+ * @param product   the matched product
+ * @param rank      the ts_rank relevance score
+ * @param highlight the ts_headline fragments with matches wrapped in mark tags
+ */
+public record ProductSearchHit(Product product, double rank, String highlight) {
+}
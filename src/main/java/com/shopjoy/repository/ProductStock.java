@@ -0,0 +1,12 @@
+package com.shopjoy.repository;
+
+/**
+ * A product's name, active flag and stock level, read together for checkout.
+ *
+ * @param productId       the product id
+ * @param productName     the product name
+ * @param active          whether the product is for sale
+ * @param quantityInStock the quantity in stock, 0 when the product has no inventory record
+ */
+public record ProductStock(int productId, String productName, boolean active, int quantityInStock) {
+}
@@ -0,0 +1,40 @@
+package com.shopjoy.repository;
+
+/**
+ * Rating aggregate of one product, read from product_rating_stats.
+ *
+ * @param count     the number of reviews
+ * @param sum       the sum of their ratings
+ * @param histogram review counts by rating, index 0 holding the 1-star count
+ */
+public record RatingSummary(int count, long sum, int[] histogram) {
+
+    /**
+     * Highest star rating a review can give; ratings run from 1 to this value.
+     */
+    public static final int MAX_RATING = 5;
+
+    /**
+     * The summary of a product without reviews.
+     */
+    public static final RatingSummary EMPTY = new RatingSummary(0, 0, new int[MAX_RATING]);
+
+    /**
+     * Average rating, or 0 without reviews.
+     *
+     * @return the average rating
+     */
+    public double average() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    /**
+     * Review counts by rating, index 0 holding the 1-star count.
+     *
+     * @return a copy of the histogram
+     */
+    @Override
+    public int[] histogram() {
+        return histogram.clone();
+    }
+}
@@ -0,0 +1,80 @@
+package com.shopjoy.repository;
+
+import com.shopjoy.util.ResourceVersions;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads the committed change markers behind conditional GETs: the per-table versions kept
+ * by the triggers on table_versions, and the updated_at columns of a single product's rows.
+ */
+@Repository
+public class ResourceVersionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ResourceVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Finds the current version of each table.
+     *
+     * @param tables the tables
+     * @return the versions, in the order of the tables
+     */
+    public long[] findTableVersions(ResourceVersions.Table... tables) {
+        String[] names = Arrays.stream(tables).map(table -> table.name().toLowerCase()).toArray(String[]::new);
+        Map<String, Long> versions = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT table_name, SUM(version) AS version FROM table_versions WHERE table_name = ANY(?) GROUP BY table_name",
+                rs -> {
+                    versions.put(rs.getString("table_name"), rs.getLong("version"));
+                }, (Object) names);
+        long[] result = new long[names.length];
+        for (int i = 0; i < names.length; i++) {
+            result[i] = versions.getOrDefault(names[i], 0L);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the change markers of everything a product response is built from: the product
+     * row, its inventory row, its rating aggregate and the categories table.
+     *
+     * @param productId the product id
+     * @return the markers, or empty when the product does not exist
+     */
+    public Optional<long[]> findProductVersion(int productId) {
+        String sql = """
+                SELECT p.updated_at AS product_changed,
+                       i.updated_at AS stock_changed,
+                       s.updated_at AS ratings_changed,
+                       (SELECT SUM(version) FROM table_versions WHERE table_name = 'categories') AS categories_version
+                FROM products p
+                LEFT JOIN inventory i ON i.product_id = p.product_id
+                LEFT JOIN product_rating_stats s ON s.product_id = p.product_id
+                WHERE p.product_id = ?
+                """;
+        List<long[]> rows = jdbcTemplate.query(sql, (rs, _) -> new long[] {
+                micros(rs.getTimestamp("product_changed")),
+                micros(rs.getTimestamp("stock_changed")),
+                micros(rs.getTimestamp("ratings_changed")),
+                rs.getLong("categories_version") }, productId);
+        return rows.stream().findFirst();
+    }
+
+    private static long micros(Timestamp timestamp) {
+        if (timestamp == null) {
+            return 0;
+        }
+        return timestamp.getTime() / 1000 * 1_000_000 + timestamp.getNanos() / 1000;
+    }
+}
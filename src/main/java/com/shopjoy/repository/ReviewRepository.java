@@ -3,6 +3,7 @@ package com.shopjoy.repository;
 import com.shopjoy.entity.Review;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
@@ -12,8 +13,12 @@ import org.springframework.transaction.annotation.Transactional;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * The type Review repository.
@@ -66,6 +71,18 @@ public class ReviewRepository implements IReviewRepository {
         return jdbcTemplate.query("SELECT * FROM reviews ORDER BY created_at DESC", reviewRowMapper);
     }
 
+    /**
+     * Passes every review to the action as it is read, newest first.
+     * Rows come from a server-side cursor, as in ProductRepository#streamAll.
+     *
+     * @param action the action applied to each review
+     */
+    @Override
+    public void streamAll(Consumer<Review> action) {
+        jdbcTemplate.query("SELECT * FROM reviews ORDER BY created_at DESC",
+                (RowCallbackHandler) rs -> action.accept(reviewRowMapper.mapRow(rs, rs.getRow())));
+    }
+
     @Override
     @Transactional()
     public Review save(Review review) {
@@ -123,6 +140,19 @@ public class ReviewRepository implements IReviewRepository {
             reviewRowMapper, productId);
     }
 
+    /**
+     * Finds the reviews of a product with one star rating, newest first.
+     *
+     * @param productId the product id
+     * @param rating    the rating
+     * @return the list
+     */
+    public List<Review> findByProductIdAndRating(int productId, int rating) {
+        return jdbcTemplate.query(
+                "SELECT * FROM reviews WHERE product_id = ? AND rating = ? ORDER BY created_at DESC",
+                reviewRowMapper, productId, rating);
+    }
+
     /**
      * Find by user id list.
      *
@@ -148,10 +178,41 @@ public class ReviewRepository implements IReviewRepository {
      * Gets average rating.
      *
      * @param productId the product id
-     * @return the average rating
+     * @return the average rating, or null when the product has no reviews
      */
     public Double getAverageRating(int productId) {
-        return jdbcTemplate.queryForObject("SELECT AVG(rating) FROM reviews WHERE product_id = ?", Double.class, productId);
+        List<Double> averages = jdbcTemplate.query(
+                "SELECT rating_sum::float8 / review_count AS average FROM product_rating_stats WHERE product_id = ? AND review_count > 0",
+                (rs, _) -> rs.getDouble("average"), productId);
+        return averages.isEmpty() ? null : averages.getFirst();
+    }
+
+    /**
+     * Finds the rating aggregates of the given products.
+     *
+     * @param productIds the product ids
+     * @return the rating summaries by product id; products without reviews are absent
+     */
+    public Map<Integer, RatingSummary> findRatingSummaries(Collection<Integer> productIds) {
+        Map<Integer, RatingSummary> summaries = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return summaries;
+        }
+        int[] ids = productIds.stream().mapToInt(Integer::intValue).toArray();
+        String sql = """
+                SELECT product_id, review_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5
+                FROM product_rating_stats
+                WHERE product_id = ANY(?) AND review_count > 0
+                """;
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            int[] histogram = new int[RatingSummary.MAX_RATING];
+            for (int rating = 1; rating <= RatingSummary.MAX_RATING; rating++) {
+                histogram[rating - 1] = rs.getInt("stars_" + rating);
+            }
+            summaries.put(rs.getInt("product_id"),
+                    new RatingSummary(rs.getInt("review_count"), rs.getLong("rating_sum"), histogram));
+        }, (Object) ids);
+        return summaries;
     }
 
 
@@ -13,7 +13,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.PreparedStatement;
 import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -259,6 +262,23 @@ public class UserRepository implements IUserRepository {
         return jdbcTemplate.query(sql, userRowMapper, userType.toString().toLowerCase());
     }
 
+    /**
+     * Find the full names ("first last") of a set of users in a single query.
+     *
+     * @param userIds the user ids
+     * @return map of user id to full name (ids without a row are absent)
+     */
+    public Map<Integer, String> findFullNamesByIds(Collection<Integer> userIds) {
+        Map<Integer, String> names = new HashMap<>();
+        if (userIds == null || userIds.isEmpty()) return names;
+        int[] ids = userIds.stream().mapToInt(Integer::intValue).distinct().toArray();
+        jdbcTemplate.query("SELECT user_id, first_name, last_name FROM users WHERE user_id = ANY(?)",
+                rs -> {
+                    names.put(rs.getInt("user_id"), rs.getString("first_name") + " " + rs.getString("last_name"));
+                }, (Object) ids);
+        return names;
+    }
+
     /**
      * Change password.
      *
@@ -25,6 +25,8 @@ public interface CategoryService {
     
     boolean hasSubcategories(Integer categoryId);
     
+    List<CategoryResponse> getCategoryPath(Integer categoryId);
+    
     CategoryResponse updateCategory(Integer categoryId, UpdateCategoryRequest request);
     
     void deleteCategory(Integer categoryId);
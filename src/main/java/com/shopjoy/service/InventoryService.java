@@ -6,6 +6,7 @@ import com.shopjoy.exception.ResourceNotFoundException;
 import com.shopjoy.exception.ValidationException;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for Inventory management operations.
@@ -120,6 +121,14 @@ public interface InventoryService {
      * @return list of out-of-stock inventory responses
      */
     List<InventoryResponse> getOutOfStockProducts();
+
+    /**
+     * Streams every inventory record to the consumer one at a time,
+     * without loading the whole table into memory.
+     * 
+     * @param consumer receives each inventory response
+     */
+    void streamAllInventory(Consumer<InventoryResponse> consumer);
     
     /**
      * Updates the reorder level for a product.
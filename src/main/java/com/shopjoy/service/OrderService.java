@@ -1,16 +1,23 @@
 package com.shopjoy.service;
 
+import com.shopjoy.dto.filter.OrderFilter;
+import com.shopjoy.dto.request.BulkOrderStatusRequest;
 import com.shopjoy.dto.request.CreateOrderRequest;
 import com.shopjoy.dto.request.UpdateOrderRequest;
+import com.shopjoy.dto.response.BulkOrderStatusResponse;
 import com.shopjoy.dto.response.OrderResponse;
 import com.shopjoy.entity.OrderStatus;
 import com.shopjoy.exception.InsufficientStockException;
 import com.shopjoy.exception.InvalidOrderStateException;
 import com.shopjoy.exception.ResourceNotFoundException;
 import com.shopjoy.exception.ValidationException;
+import com.shopjoy.util.CursorPage;
+import com.shopjoy.util.Page;
+import com.shopjoy.util.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for Order-related business operations.
@@ -65,6 +72,28 @@ public interface OrderService {
      */
     List<OrderResponse> getOrdersByDateRange(LocalDateTime startDate, LocalDateTime endDate);
 
+    /**
+     * Retrieves one page of orders, newest first.
+     * 
+     * @param filter   optional user, status and date range restrictions
+     * @param pageable the page
+     * @return the page of order responses
+     * @throws ValidationException if the date range is invalid
+     */
+    Page<OrderResponse> getOrders(OrderFilter filter, Pageable pageable);
+
+    /**
+     * Retrieves one page of orders, newest first, using keyset pagination.
+     * 
+     * @param filter       optional user, status and date range restrictions
+     * @param cursor       the cursor returned with a previous page, or null for the first page
+     * @param size         the page size
+     * @param includeTotal whether to count all matching orders
+     * @return the cursor page of order responses
+     * @throws ValidationException if the date range or cursor is invalid
+     */
+    CursorPage<OrderResponse> getOrdersByCursor(OrderFilter filter, String cursor, int size, boolean includeTotal);
+
     /**
      * Updates an order's status.
      * Validates that the status transition is allowed.
@@ -77,6 +106,19 @@ public interface OrderService {
      */
     OrderResponse updateOrderStatus(Integer orderId, OrderStatus newStatus);
 
+    /**
+     * Moves many orders to the same status in one transaction.
+     * Each order is checked against the same transition rules as
+     * {@link #updateOrderStatus}; orders that may not make the transition, or
+     * do not exist, are reported and left unchanged while the others move.
+     * Cancelled orders release their stock.
+     * 
+     * @param request the order ids and the target status
+     * @return the per-order outcome
+     * @throws ValidationException if the request is empty or too large
+     */
+    BulkOrderStatusResponse bulkUpdateOrderStatus(BulkOrderStatusRequest request);
+
     /**
      * Confirms a pending order (moves to CONFIRMED status).
      * 
@@ -132,6 +174,14 @@ public interface OrderService {
 
     List<OrderResponse> getAllOrders();
 
+    /**
+     * Streams all orders to the consumer one at a time, newest first,
+     * without loading the whole table into memory.
+     * 
+     * @param consumer receives each order response
+     */
+    void streamAllOrders(Consumer<OrderResponse> consumer);
+
     OrderResponse updateOrder(Integer orderId, UpdateOrderRequest request);
 
     void deleteOrder(Integer orderId);
@@ -14,6 +14,10 @@ public class PerformanceComparisonService {
     private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory
             .getLogger(PerformanceComparisonService.class);
 
+    private static final int TOP_K_PAGE_SIZE = 20;
+    private static final java.util.function.ToLongFunction<Product> PRICE_RADIX_KEY =
+            ProductComparators.getRadixKey("price", "ASC");
+
     private final com.shopjoy.repository.ProductRepository productRepository;
 
     public PerformanceComparisonService(com.shopjoy.repository.ProductRepository productRepository) {
@@ -41,6 +45,79 @@ public class PerformanceComparisonService {
         results.put("HeapSort", AlgorithmBenchmark.benchmarkSort(
                 products, comparator, "HeapSort", SortingAlgorithms::heapSort));
 
+        results.put("ParallelMergeSort", AlgorithmBenchmark.benchmarkSort(
+                products, comparator, "ParallelMergeSort", SortingAlgorithms::parallelMergeSort));
+
+        results.put("RadixSort", AlgorithmBenchmark.benchmarkSort(
+                products, comparator, "RadixSort",
+                (list, c) -> SortingAlgorithms.radixSort(list, PRICE_RADIX_KEY, false)));
+
+        // Top-K only orders the rows a page actually needs: a first page, and a page 10% deep
+        int firstPageK = Math.min(TOP_K_PAGE_SIZE, products.size());
+        results.put("TopK_FirstPage", AlgorithmBenchmark.benchmarkSort(
+                products, comparator, "TopK (k=" + firstPageK + ")",
+                (list, c) -> SortingAlgorithms.topK(list, firstPageK, c)));
+
+        int deepPageK = Math.max(firstPageK, products.size() / 10);
+        results.put("TopK_DeepPage", AlgorithmBenchmark.benchmarkSort(
+                products, comparator, "TopK (k=" + deepPageK + ")",
+                (list, c) -> SortingAlgorithms.topK(list, deepPageK, c)));
+
+        return results;
+    }
+
+    /**
+     * Benchmarks the full sorts on input shapes that break naive quicksort: already sorted
+     * (what findAll ORDER BY returns), reverse sorted, all prices equal and organ pipe,
+     * with random input as the baseline. Results are grouped by input shape.
+     */
+    public Map<String, Map<String, BenchmarkResult>> compareSortingOnAdversarialInputs(int datasetSize) {
+        Comparator<Product> comparator = ProductComparators.BY_PRICE_ASC;
+
+        List<Product> random = generateTestProducts(datasetSize);
+
+        List<Product> sorted = new ArrayList<>(random);
+        SortingAlgorithms.parallelMergeSort(sorted, comparator);
+
+        List<Product> reversed = new ArrayList<>(sorted);
+        Collections.reverse(reversed);
+
+        List<Product> equalPrices = generateTestProducts(datasetSize);
+        equalPrices.forEach(product -> product.setPrice(99.99));
+
+        List<Product> organPipe = new ArrayList<>(datasetSize);
+        for (int i = 0; i < sorted.size(); i += 2) {
+            organPipe.add(sorted.get(i));
+        }
+        for (int i = sorted.size() - 1 - (sorted.size() % 2 == 0 ? 0 : 1); i > 0; i -= 2) {
+            organPipe.add(sorted.get(i));
+        }
+
+        Map<String, List<Product>> inputs = new LinkedHashMap<>();
+        inputs.put("random", random);
+        inputs.put("sorted", sorted);
+        inputs.put("reverseSorted", reversed);
+        inputs.put("allEqual", equalPrices);
+        inputs.put("organPipe", organPipe);
+
+        Map<String, Map<String, BenchmarkResult>> results = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Product>> input : inputs.entrySet()) {
+            List<Product> data = input.getValue();
+            Map<String, BenchmarkResult> shapeResults = new LinkedHashMap<>();
+            shapeResults.put("QuickSort", AlgorithmBenchmark.benchmarkSort(
+                    data, comparator, "QuickSort", SortingAlgorithms::quickSort));
+            shapeResults.put("MergeSort", AlgorithmBenchmark.benchmarkSort(
+                    data, comparator, "MergeSort", SortingAlgorithms::mergeSort));
+            shapeResults.put("HeapSort", AlgorithmBenchmark.benchmarkSort(
+                    data, comparator, "HeapSort", SortingAlgorithms::heapSort));
+            shapeResults.put("ParallelMergeSort", AlgorithmBenchmark.benchmarkSort(
+                    data, comparator, "ParallelMergeSort", SortingAlgorithms::parallelMergeSort));
+            shapeResults.put("RadixSort", AlgorithmBenchmark.benchmarkSort(
+                    data, comparator, "RadixSort",
+                    (list, c) -> SortingAlgorithms.radixSort(list, PRICE_RADIX_KEY, false)));
+            results.put(input.getKey(), shapeResults);
+        }
+        logger.info("Benchmarking: Adversarial sort inputs of {} items completed", datasetSize);
         return results;
     }
 
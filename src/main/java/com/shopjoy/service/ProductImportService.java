@@ -0,0 +1,27 @@
+package com.shopjoy.service;
+
+import com.shopjoy.dto.request.ProductImportFormat;
+import com.shopjoy.dto.response.ProductImportResponse;
+import com.shopjoy.exception.ValidationException;
+
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk product imports from supplier feeds.
+ */
+public interface ProductImportService {
+
+    /**
+     * Imports products from a CSV or NDJSON feed, creating products whose SKU is new and
+     * updating the ones whose SKU already exists. New products get an initial inventory
+     * record. Invalid rows are rejected and reported individually; they do not abort the
+     * rest of the import.
+     *
+     * @param input  the feed, read once as it is imported
+     * @param format the feed format
+     * @return counts of created, updated and rejected rows with the rejection reasons
+     * @throws ValidationException if the feed as a whole cannot be read, such as a CSV
+     *                             header without the required columns
+     */
+    ProductImportResponse importProducts(InputStream input, ProductImportFormat format);
+}
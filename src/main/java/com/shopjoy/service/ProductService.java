@@ -1,14 +1,20 @@
 package com.shopjoy.service;
 
 import com.shopjoy.dto.filter.ProductFilter;
+import com.shopjoy.dto.filter.SearchMode;
+import com.shopjoy.dto.request.BulkActivationRequest;
+import com.shopjoy.dto.request.BulkPriceUpdateRequest;
 import com.shopjoy.dto.request.CreateProductRequest;
 import com.shopjoy.dto.request.UpdateProductRequest;
+import com.shopjoy.dto.response.BulkProductUpdateResponse;
 import com.shopjoy.dto.response.ProductResponse;
 import com.shopjoy.entity.Product;
+import com.shopjoy.util.CursorPage;
 import com.shopjoy.util.Page;
 import com.shopjoy.util.Pageable;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * The interface Product service.
@@ -45,6 +51,15 @@ public interface ProductService {
      */
     List<ProductResponse> getActiveProducts();
 
+    /**
+     * Streams all products, or only active ones, to the consumer without loading the
+     * whole catalog into memory.
+     *
+     * @param activeOnly true to skip inactive products
+     * @param consumer   receives each product response in catalog order
+     */
+    void streamProducts(boolean activeOnly, Consumer<ProductResponse> consumer);
+
     /**
      * Gets products by category.
      *
@@ -53,6 +68,25 @@ public interface ProductService {
      */
     List<ProductResponse> getProductsByCategory(Integer categoryId);
 
+    /**
+     * Gets the products of a category, optionally including every category beneath it.
+     *
+     * @param categoryId         the category id
+     * @param includeDescendants whether to include the products of all descendant categories
+     * @return the products, ordered by name
+     */
+    List<ProductResponse> getProductsByCategory(Integer categoryId, boolean includeDescendants);
+
+    /**
+     * Paginated variant of {@link #getProductsByCategory(Integer, boolean)}.
+     *
+     * @param categoryId         the category id
+     * @param includeDescendants whether to include the products of all descendant categories
+     * @param pageable           the page
+     * @return the page of products, ordered by name
+     */
+    Page<ProductResponse> getProductsByCategory(Integer categoryId, boolean includeDescendants, Pageable pageable);
+
     /**
      * Search products by name list.
      *
@@ -61,6 +95,16 @@ public interface ProductService {
      */
     List<ProductResponse> searchProductsByName(String keyword);
 
+    /**
+     * Search products by name list using the given match mode. Full-text results are ordered
+     * by relevance and carry a rank and highlighted fragments.
+     *
+     * @param keyword the keyword
+     * @param mode    the search mode
+     * @return the list
+     */
+    List<ProductResponse> searchProductsByName(String keyword, SearchMode mode);
+
     /**
      * Gets products by price range.
      *
@@ -104,6 +148,22 @@ public interface ProductService {
      */
     ProductResponse deactivateProduct(Integer productId);
 
+    /**
+     * Reprices many products in one transaction and one statement.
+     *
+     * @param request the price changes
+     * @return how many products were updated and which ids do not exist
+     */
+    BulkProductUpdateResponse bulkUpdatePrices(BulkPriceUpdateRequest request);
+
+    /**
+     * Activates or deactivates many products in one transaction and one statement.
+     *
+     * @param request the product ids and the new active flag
+     * @return how many products were updated and which ids do not exist
+     */
+    BulkProductUpdateResponse bulkUpdateActivation(BulkActivationRequest request);
+
     /**
      * Delete product.
      *
@@ -145,6 +205,16 @@ public interface ProductService {
      */
     Page<ProductResponse> searchProductsPaginated(String searchTerm, Pageable pageable);
 
+    /**
+     * Search products paginated page using the given match mode.
+     *
+     * @param searchTerm the search term
+     * @param pageable   the pageable
+     * @param mode       the search mode
+     * @return the page
+     */
+    Page<ProductResponse> searchProductsPaginated(String searchTerm, Pageable pageable, SearchMode mode);
+
     /**
      * Gets products with filters.
      *
@@ -157,6 +227,20 @@ public interface ProductService {
     Page<ProductResponse> getProductsWithFilters(ProductFilter filter, Pageable pageable, String sortBy,
             String sortDirection, String algorithm);
 
+    /**
+     * Gets products with filters using keyset (cursor) pagination.
+     *
+     * @param filter        the filter, may be null
+     * @param cursor        the opaque cursor from a previous page, null for the first page
+     * @param size          the page size
+     * @param sortBy        the sort by
+     * @param sortDirection the sort direction
+     * @param includeTotal  whether to compute the total number of matches
+     * @return the cursor page
+     */
+    CursorPage<ProductResponse> getProductsByCursor(ProductFilter filter, String cursor, int size, String sortBy,
+            String sortDirection, boolean includeTotal);
+
     /**
      * Gets products sorted with quick sort.
      *
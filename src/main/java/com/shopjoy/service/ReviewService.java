@@ -8,6 +8,7 @@ import com.shopjoy.exception.ResourceNotFoundException;
 import com.shopjoy.exception.ValidationException;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for Product Review operations.
@@ -108,4 +109,12 @@ public interface ReviewService {
      * @return list of all review responses
      */
     List<ReviewResponse> getAllReviews();
+
+    /**
+     * Streams all reviews to the consumer one at a time, newest first,
+     * without loading the whole table into memory.
+     * 
+     * @param consumer receives each review response
+     */
+    void streamAllReviews(Consumer<ReviewResponse> consumer);
 }
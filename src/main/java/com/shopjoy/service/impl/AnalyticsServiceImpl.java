@@ -1,16 +1,23 @@
 package com.shopjoy.service.impl;
 
+import com.shopjoy.aspect.ConflictRetryMetrics;
 import com.shopjoy.aspect.PerformanceMetricsCollector;
 import com.shopjoy.dto.response.DashboardDataResponse;
 import com.shopjoy.dto.response.UserAnalyticsResponse;
+import com.shopjoy.entity.Product;
 import com.shopjoy.repository.AnalyticsRepository;
 import com.shopjoy.repository.OrderRepository;
 import com.shopjoy.repository.ProductRepository;
 import com.shopjoy.repository.UserRepository;
 import com.shopjoy.service.AnalyticsService;
+import com.shopjoy.util.BoundedCache;
+import com.shopjoy.util.Rebuildable;
+import com.shopjoy.util.ResourceVersions;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class AnalyticsServiceImpl implements AnalyticsService {
@@ -20,23 +27,43 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     private final OrderRepository orderRepository;
     private final AnalyticsRepository analyticsRepository;
     private final PerformanceMetricsCollector metricsCollector;
+    private final ConflictRetryMetrics conflictRetryMetrics;
+    private final BoundedCache<Integer, Product> productCache;
+    private final List<Rebuildable<?>> inMemoryIndexes;
+    private final ResourceVersions resourceVersions;
 
     public AnalyticsServiceImpl(ProductRepository productRepository,
             UserRepository userRepository,
             OrderRepository orderRepository,
             AnalyticsRepository analyticsRepository,
-            PerformanceMetricsCollector metricsCollector) {
+            PerformanceMetricsCollector metricsCollector,
+            ConflictRetryMetrics conflictRetryMetrics,
+            BoundedCache<Integer, Product> productCache,
+            List<Rebuildable<?>> inMemoryIndexes,
+            ResourceVersions resourceVersions) {
         this.productRepository = productRepository;
         this.userRepository = userRepository;
         this.orderRepository = orderRepository;
         this.analyticsRepository = analyticsRepository;
         this.metricsCollector = metricsCollector;
+        this.conflictRetryMetrics = conflictRetryMetrics;
+        this.productCache = productCache;
+        this.inMemoryIndexes = inMemoryIndexes;
+        this.resourceVersions = resourceVersions;
     }
 
     @Override
     public DashboardDataResponse getDashboardData() {
         Double totalRevenue = analyticsRepository.getTotalRevenue();
 
+        Map<String, Map<String, Object>> cacheStatistics = new LinkedHashMap<>();
+        cacheStatistics.put("products", productCache.getStatistics());
+        for (Rebuildable<?> index : inMemoryIndexes) {
+            Map<String, Object> indexStatistics = index.getStatistics();
+            cacheStatistics.put(String.valueOf(indexStatistics.get("name")), indexStatistics);
+        }
+        cacheStatistics.put("resourceVersions", resourceVersions.getStatistics());
+
         DashboardDataResponse.OverallStats stats = DashboardDataResponse.OverallStats.builder()
                 .totalProducts(productRepository.count())
                 .totalUsers(userRepository.count())
@@ -49,6 +76,8 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                 .salesOverTime(analyticsRepository.getSalesOverTime())
                 .categoryDistribution(analyticsRepository.getCategoryDistribution())
                 .performanceMetrics(metricsCollector.getAllMetrics())
+                .conflictRetryMetrics(conflictRetryMetrics.getAllMetrics())
+                .cacheStatistics(cacheStatistics)
                 .build();
     }
 
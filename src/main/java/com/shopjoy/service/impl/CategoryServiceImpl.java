@@ -11,12 +11,17 @@ import com.shopjoy.exception.ValidationException;
 import com.shopjoy.repository.CategoryRepository;
 import com.shopjoy.service.CategoryService;
 import com.shopjoy.service.ProductService;
+import com.shopjoy.util.CategoryTree;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -30,16 +35,20 @@ public class CategoryServiceImpl implements CategoryService {
     
     private final CategoryRepository categoryRepository;
     private final ProductService productService;
+    private final CategoryTree categoryTree;
 
     /**
      * Instantiates a new Category service.
      *
      * @param categoryRepository the category repository
      * @param productService     the product service
+     * @param categoryTree       the in-memory category hierarchy
      */
-    public CategoryServiceImpl(CategoryRepository categoryRepository, ProductService productService) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, ProductService productService,
+            CategoryTree categoryTree) {
         this.categoryRepository = categoryRepository;
         this.productService = productService;
+        this.categoryTree = categoryTree;
     }
     
     @Override
@@ -50,8 +59,7 @@ public class CategoryServiceImpl implements CategoryService {
         validateCategoryData(category);
         
         if (category.getParentCategoryId() != null) {
-            categoryRepository.findById(category.getParentCategoryId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Category", "id", category.getParentCategoryId()));
+            findCategory(category.getParentCategoryId());
         }
         
         category.setCreatedAt(LocalDateTime.now());
@@ -62,21 +70,25 @@ public class CategoryServiceImpl implements CategoryService {
     
     @Override
     public CategoryResponse getCategoryById(Integer categoryId) {
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", categoryId));
-        return CategoryMapper.toCategoryResponse(category);
+        return CategoryMapper.toCategoryResponse(findCategory(categoryId));
     }
     
     @Override
     public List<CategoryResponse> getAllCategories() {
-        return categoryRepository.findAll().stream()
+        List<Category> categories = categoryTree.isReady()
+                ? categoryTree.snapshot().all()
+                : categoryRepository.findAll();
+        return categories.stream()
                 .map(CategoryMapper::toCategoryResponse)
                 .collect(Collectors.toList());
     }
     
     @Override
     public List<CategoryResponse> getTopLevelCategories() {
-        return categoryRepository.findTopLevelCategories().stream()
+        List<Category> categories = categoryTree.isReady()
+                ? categoryTree.snapshot().roots()
+                : categoryRepository.findTopLevelCategories();
+        return categories.stream()
                 .map(CategoryMapper::toCategoryResponse)
                 .collect(Collectors.toList());
     }
@@ -86,7 +98,10 @@ public class CategoryServiceImpl implements CategoryService {
         if (parentCategoryId == null) {
             throw new ValidationException("Parent category ID cannot be null");
         }
-        return categoryRepository.findSubcategories(parentCategoryId).stream()
+        List<Category> categories = categoryTree.isReady()
+                ? categoryTree.snapshot().children(parentCategoryId)
+                : categoryRepository.findSubcategories(parentCategoryId);
+        return categories.stream()
                 .map(CategoryMapper::toCategoryResponse)
                 .collect(Collectors.toList());
     }
@@ -96,9 +111,35 @@ public class CategoryServiceImpl implements CategoryService {
         if (categoryId == null) {
             throw new ValidationException("Category ID cannot be null");
         }
+        if (categoryTree.isReady()) {
+            return categoryTree.snapshot().hasChildren(categoryId);
+        }
         return categoryRepository.hasSubcategories(categoryId);
     }
     
+    @Override
+    public List<CategoryResponse> getCategoryPath(Integer categoryId) {
+        if (categoryTree.isReady()) {
+            List<Category> path = categoryTree.snapshot().path(categoryId);
+            if (!path.isEmpty()) {
+                return path.stream()
+                        .map(CategoryMapper::toCategoryResponse)
+                        .collect(Collectors.toList());
+            }
+        }
+        
+        List<CategoryResponse> path = new ArrayList<>();
+        Set<Integer> visited = new HashSet<>();
+        Category current = findCategory(categoryId);
+        while (current != null && visited.add(current.getCategoryId())) {
+            path.add(CategoryMapper.toCategoryResponse(current));
+            Integer parentId = current.getParentCategoryId();
+            current = parentId != null ? categoryRepository.findById(parentId).orElse(null) : null;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+    
     @Override
     @Transactional()
     public CategoryResponse updateCategory(Integer categoryId, UpdateCategoryRequest request) {
@@ -154,8 +195,7 @@ public class CategoryServiceImpl implements CategoryService {
                 throw new BusinessException("Category cannot be its own parent");
             }
             
-            categoryRepository.findById(newParentId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Category", "id", newParentId));
+            findCategory(newParentId);
             
             if (wouldCreateCircularReference(categoryId, newParentId)) {
                 throw new BusinessException("Moving category would create circular reference");
@@ -167,7 +207,34 @@ public class CategoryServiceImpl implements CategoryService {
         return CategoryMapper.toCategoryResponse(updatedCategory);
     }
     
+    /**
+     * Looks a category up in the in-memory tree, falling back to the database for
+     * categories the tree does not hold yet, such as one created earlier in the same
+     * transaction.
+     */
+    private Category findCategory(Integer categoryId) {
+        if (categoryId != null && categoryTree.isReady()) {
+            Category category = categoryTree.snapshot().get(categoryId);
+            if (category != null) {
+                return category;
+            }
+        }
+        return categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", categoryId));
+    }
+    
+    /**
+     * A move creates a cycle exactly when the new parent lies in the category's own
+     * subtree, which the tree answers with an interval check instead of a walk up the
+     * parent chain.
+     */
     private boolean wouldCreateCircularReference(Integer categoryId, Integer newParentId) {
+        if (categoryTree.isReady()) {
+            CategoryTree.Snapshot tree = categoryTree.snapshot();
+            if (tree.contains(categoryId) && tree.contains(newParentId)) {
+                return tree.isInSubtree(categoryId, newParentId);
+            }
+        }
         Integer currentId = newParentId;
         while (currentId != null) {
             if (currentId.equals(categoryId)) {
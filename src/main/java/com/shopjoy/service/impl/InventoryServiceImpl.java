@@ -17,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -199,6 +200,11 @@ public class InventoryServiceImpl implements InventoryService {
                 .toList();
     }
 
+    @Override
+    public void streamAllInventory(Consumer<InventoryResponse> consumer) {
+        inventoryRepository.streamAll(inventory -> consumer.accept(convertToResponse(inventory)));
+    }
+
     @Override
     @Transactional()
     public InventoryResponse updateReorderLevel(Integer productId, int reorderLevel) {
@@ -1,11 +1,15 @@
 package com.shopjoy.service.impl;
 
+import com.shopjoy.aspect.RetryOnConflict;
+import com.shopjoy.dto.filter.OrderFilter;
 import com.shopjoy.dto.mapper.OrderItemMapper;
 import com.shopjoy.dto.mapper.OrderMapper;
+import com.shopjoy.dto.request.BulkOrderStatusRequest;
 import com.shopjoy.dto.request.CreateOrderItemRequest;
 import com.shopjoy.dto.request.CreateOrderRequest;
 import com.shopjoy.dto.request.UpdateOrderItemRequest;
 import com.shopjoy.dto.request.UpdateOrderRequest;
+import com.shopjoy.dto.response.BulkOrderStatusResponse;
 import com.shopjoy.dto.response.OrderItemResponse;
 import com.shopjoy.dto.response.OrderResponse;
 import com.shopjoy.dto.response.ProductResponse;
@@ -14,22 +18,39 @@ import com.shopjoy.entity.Order;
 import com.shopjoy.entity.OrderItem;
 import com.shopjoy.entity.OrderStatus;
 import com.shopjoy.entity.PaymentStatus;
+import com.shopjoy.exception.InsufficientStockException;
 import com.shopjoy.exception.InvalidOrderStateException;
 import com.shopjoy.exception.ResourceNotFoundException;
 import com.shopjoy.exception.ValidationException;
+import com.shopjoy.repository.InventoryRepository;
 import com.shopjoy.repository.OrderItemRepository;
 import com.shopjoy.repository.OrderRepository;
+import com.shopjoy.repository.OrderStatusTransition;
+import com.shopjoy.repository.ProductRepository;
+import com.shopjoy.repository.ProductStock;
+import com.shopjoy.repository.UserRepository;
 import com.shopjoy.service.InventoryService;
 import com.shopjoy.service.OrderService;
 import com.shopjoy.service.ProductService;
 import com.shopjoy.service.UserService;
+import com.shopjoy.util.CursorPage;
+import com.shopjoy.util.Page;
+import com.shopjoy.util.Pageable;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -39,13 +60,24 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class OrderServiceImpl implements OrderService {
 
+    /**
+     * Number of streamed orders whose users, items and product names are loaded together.
+     */
+    private static final int STREAM_BATCH_SIZE = 500;
 
+    /**
+     * Largest number of orders one bulk status transition may name.
+     */
+    private static final int MAX_BULK_UPDATE_SIZE = 10_000;
 
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final InventoryService inventoryService;
     private final ProductService productService;
     private final UserService userService;
+    private final ProductRepository productRepository;
+    private final InventoryRepository inventoryRepository;
+    private final UserRepository userRepository;
 
     /**
      * Instantiates a new Order service.
@@ -55,17 +87,26 @@ public class OrderServiceImpl implements OrderService {
      * @param inventoryService    the inventory service
      * @param productService      the product service
      * @param userService         the user service
+     * @param productRepository   the product repository
+     * @param inventoryRepository the inventory repository
+     * @param userRepository      the user repository
      */
     public OrderServiceImpl(OrderRepository orderRepository,
             OrderItemRepository orderItemRepository,
             InventoryService inventoryService,
             ProductService productService,
-            UserService userService) {
+            UserService userService,
+            ProductRepository productRepository,
+            InventoryRepository inventoryRepository,
+            UserRepository userRepository) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.inventoryService = inventoryService;
         this.productService = productService;
         this.userService = userService;
+        this.productRepository = productRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.userRepository = userRepository;
     }
 
     /**
@@ -80,12 +121,21 @@ public class OrderServiceImpl implements OrderService {
      * 6. Creates order items
      * <p>
      * If ANY step fails, entire transaction is rolled back.
-     * Uses SERIALIZABLE isolation to prevent phantom reads during stock checks.
+     * Runs at READ COMMITTED: the stock check that matters is the conditional UPDATE,
+     * which re-reads each row under its lock, so stock can never be oversold. Inventory
+     * rows are locked in product id order before that UPDATE to keep concurrent checkouts
+     * from deadlocking, and the rare conflict that remains is retried.
+     * <p>
+     * Each step is one statement for the whole order, so the number of round trips
+     * does not grow with the number of line items: products and stock are read in one
+     * query, stock is locked with one SELECT and taken with one conditional UPDATE over
+     * all products, and the items are inserted in one JDBC batch.
      */
     @Override
-    @Transactional(isolation = Isolation.SERIALIZABLE)
+    @RetryOnConflict
+    @Transactional()
     public OrderResponse createOrder(CreateOrderRequest request) {
-        userService.getUserById(request.getUserId());
+        UserResponse user = userService.getUserById(request.getUserId());
 
         if (request.getShippingAddress() == null || request.getShippingAddress().trim().isEmpty()) {
             throw new ValidationException("Shipping address is required");
@@ -95,20 +145,42 @@ public class OrderServiceImpl implements OrderService {
             throw new ValidationException("Order must have at least one item");
         }
 
-        // Validate products and inventory FIRST
+        // A product may appear on several lines; stock is checked and taken per product
+        Map<Integer, Integer> quantities = new TreeMap<>();
         for (CreateOrderItemRequest itemReq : request.getOrderItems()) {
-            ProductResponse product = productService.getProductById(itemReq.getProductId());
-            if (!product.isActive()) {
-                throw new ValidationException("Product " + product.getProductName() + " is not active");
+            if (itemReq.getProductId() == null) {
+                throw new ValidationException("productId", "is required");
             }
-            if (!inventoryService.hasAvailableStock(itemReq.getProductId(), itemReq.getQuantity())) {
-                throw new ValidationException("Insufficient stock for product: " + product.getProductName());
+            if (itemReq.getQuantity() == null || itemReq.getQuantity() <= 0) {
+                throw new ValidationException("quantity", "must be positive");
             }
+            quantities.merge(itemReq.getProductId(), itemReq.getQuantity(), Integer::sum);
         }
+        int[] productIds = quantities.keySet().stream().mapToInt(Integer::intValue).toArray();
+        int[] requested = quantities.values().stream().mapToInt(Integer::intValue).toArray();
 
-        // Reserve inventory
-        for (CreateOrderItemRequest itemReq : request.getOrderItems()) {
-            inventoryService.reserveStock(itemReq.getProductId(), itemReq.getQuantity());
+        // Validate products and inventory FIRST
+        Map<Integer, ProductStock> products = productRepository.findStockByIds(productIds);
+        for (int i = 0; i < productIds.length; i++) {
+            ProductStock product = products.get(productIds[i]);
+            if (product == null) {
+                throw new ResourceNotFoundException("Product", "id", productIds[i]);
+            }
+            if (!product.active()) {
+                throw new ValidationException("Product " + product.productName() + " is not active");
+            }
+            if (product.quantityInStock() < requested[i]) {
+                throw new ValidationException("Insufficient stock for product: " + product.productName());
+            }
+        }
+
+        // Reserve inventory; a product missing from the result no longer had the stock
+        Map<Integer, Integer> remaining = inventoryRepository.decrementStock(productIds, requested);
+        for (int i = 0; i < productIds.length; i++) {
+            if (!remaining.containsKey(productIds[i])) {
+                throw new InsufficientStockException(productIds[i], requested[i],
+                        products.get(productIds[i]).quantityInStock());
+            }
         }
 
         // Create the order
@@ -122,20 +194,26 @@ public class OrderServiceImpl implements OrderService {
         Order createdOrder = orderRepository.save(order);
 
         // Create order items
+        List<OrderItem> orderItems = new ArrayList<>(request.getOrderItems().size());
         for (CreateOrderItemRequest itemReq : request.getOrderItems()) {
-            OrderItem orderItem = OrderItem.builder()
+            orderItems.add(OrderItem.builder()
                     .orderId(createdOrder.getOrderId())
                     .productId(itemReq.getProductId())
                     .quantity(itemReq.getQuantity())
                     .unitPrice(itemReq.getPrice())
                     .subtotal(itemReq.getQuantity() * itemReq.getPrice())
                     .createdAt(LocalDateTime.now())
-                    .build();
-            orderItemRepository.save(orderItem);
+                    .build());
         }
+        orderItemRepository.saveAll(orderItems);
 
-
-        return convertToResponse(createdOrder);
+        // Everything the response needs is already in hand
+        List<OrderItemResponse> itemResponses = orderItems.stream()
+                .map(item -> OrderItemMapper.toOrderItemResponse(item,
+                        products.get(item.getProductId()).productName()))
+                .collect(Collectors.toList());
+        return OrderMapper.toOrderResponse(createdOrder, user.getFirstName() + " " + user.getLastName(),
+                itemResponses);
     }
 
     @Override
@@ -148,9 +226,7 @@ public class OrderServiceImpl implements OrderService {
     @Override
     public List<OrderResponse> getOrdersByUser(Integer userId) {
         List<Order> orders = orderRepository.findByUserId(userId);
-        return orders.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(orders);
     }
 
     @Override
@@ -159,9 +235,7 @@ public class OrderServiceImpl implements OrderService {
             throw new ValidationException("Order status cannot be null");
         }
         List<Order> orders = orderRepository.findByStatus(status);
-        return orders.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(orders);
     }
 
     @Override
@@ -173,9 +247,36 @@ public class OrderServiceImpl implements OrderService {
             throw new ValidationException("Start date must be before end date");
         }
         List<Order> orders = orderRepository.findByDateRange(startDate, endDate);
-        return orders.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(orders);
+    }
+
+    @Override
+    public Page<OrderResponse> getOrders(OrderFilter filter, Pageable pageable) {
+        validateFilter(filter);
+        Page<Order> orderPage = orderRepository.findOrders(filter, pageable);
+        return new Page<>(
+                convertToResponses(orderPage.getContent()),
+                orderPage.getPageNumber(),
+                orderPage.getPageSize(),
+                orderPage.getTotalElements());
+    }
+
+    @Override
+    public CursorPage<OrderResponse> getOrdersByCursor(OrderFilter filter, String cursor, int size,
+            boolean includeTotal) {
+        validateFilter(filter);
+        if (size <= 0) {
+            throw new ValidationException("size", "must be positive");
+        }
+        return orderRepository.findOrdersByCursor(filter, cursor, size, includeTotal)
+                .withContent(this::convertToResponses);
+    }
+
+    private void validateFilter(OrderFilter filter) {
+        if (filter != null && filter.getStartDate() != null && filter.getEndDate() != null
+                && filter.getStartDate().isAfter(filter.getEndDate())) {
+            throw new ValidationException("Start date must be before end date");
+        }
     }
 
     /**
@@ -202,6 +303,82 @@ public class OrderServiceImpl implements OrderService {
         return convertToResponse(updatedOrder);
     }
 
+    /**
+     * Set-based variant of {@link #updateOrderStatus}. The statuses an order may leave for
+     * the target are worked out once from validateStatusTransition, and a single UPDATE
+     * moves every requested order currently in one of them, reporting the previous status
+     * of each requested order in the same round trip.
+     */
+    @Override
+    @RetryOnConflict
+    @Transactional()
+    public BulkOrderStatusResponse bulkUpdateOrderStatus(BulkOrderStatusRequest request) {
+        if (request.getOrderIds() == null || request.getOrderIds().isEmpty()) {
+            throw new ValidationException("orderIds", "must not be empty");
+        }
+        if (request.getStatus() == null) {
+            throw new ValidationException("status", "is required");
+        }
+        OrderStatus newStatus = request.getStatus();
+        int[] orderIds = request.getOrderIds().stream()
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .distinct()
+                .toArray();
+        if (orderIds.length > MAX_BULK_UPDATE_SIZE) {
+            throw new ValidationException("At most " + MAX_BULK_UPDATE_SIZE + " orders can be updated per request");
+        }
+
+        List<OrderStatusTransition> transitions = orderRepository.updateStatuses(orderIds, newStatus,
+                allowedPreviousStatuses(newStatus));
+
+        List<BulkOrderStatusResponse.OrderStatusResult> results = new ArrayList<>(transitions.size());
+        List<Integer> updatedIds = new ArrayList<>();
+        for (OrderStatusTransition transition : transitions) {
+            String error = null;
+            if (transition.updated()) {
+                updatedIds.add(transition.orderId());
+            } else if (transition.previousStatus() == null) {
+                error = "Order not found";
+            } else {
+                error = "Cannot move order from " + transition.previousStatus() + " to " + newStatus;
+            }
+            results.add(BulkOrderStatusResponse.OrderStatusResult.builder()
+                    .orderId(transition.orderId())
+                    .success(transition.updated())
+                    .previousStatus(transition.previousStatus())
+                    .error(error)
+                    .build());
+        }
+
+        if (newStatus == OrderStatus.CANCELLED) {
+            inventoryRepository.releaseStockForOrders(updatedIds.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        return BulkOrderStatusResponse.builder()
+                .status(newStatus)
+                .requested(orderIds.length)
+                .updated(updatedIds.size())
+                .results(results)
+                .build();
+    }
+
+    /**
+     * The statuses validateStatusTransition allows an order to leave for the given status.
+     */
+    private Set<OrderStatus> allowedPreviousStatuses(OrderStatus newStatus) {
+        Set<OrderStatus> allowed = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus current : OrderStatus.values()) {
+            try {
+                validateStatusTransition(current, newStatus);
+                allowed.add(current);
+            } catch (InvalidOrderStateException e) {
+                // Transition not allowed from this status
+            }
+        }
+        return allowed;
+    }
+
     @Override
     @Transactional()
     public OrderResponse confirmOrder(Integer orderId) {
@@ -285,11 +462,23 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public List<OrderResponse> getAllOrders() {
-        return orderRepository.findAll().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(orderRepository.findAll());
     }
 
+    @Override
+    public void streamAllOrders(Consumer<OrderResponse> consumer) {
+        List<Order> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+        orderRepository.streamAll(order -> {
+            batch.add(order);
+            if (batch.size() == STREAM_BATCH_SIZE) {
+                convertToResponses(batch).forEach(consumer);
+                batch.clear();
+            }
+        });
+        convertToResponses(batch).forEach(consumer);
+    }
+
+@RetryOnConflict
 @Transactional(isolation = Isolation.SERIALIZABLE)
 public OrderResponse updateOrder(Integer orderId, UpdateOrderRequest request) {
     Order order = orderRepository.findById(orderId)
@@ -427,26 +616,45 @@ public OrderResponse updateOrder(Integer orderId, UpdateOrderRequest request) {
     }
 
     private OrderResponse convertToResponse(Order order) {
-        String userName = "Unknown User";
-        try {
-            UserResponse user = userService.getUserById(order.getUserId());
-            userName = user.getFirstName() + " " + user.getLastName();
-        } catch (Exception e) {
-            // Ignore user fetch errors
+        return convertToResponses(List.of(order)).getFirst();
+    }
+
+    /**
+     * Builds the responses for a list of orders. User names, order items and product
+     * names for the whole list are loaded with one query each, however many orders and
+     * items the list holds.
+     */
+    private List<OrderResponse> convertToResponses(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        List<OrderItem> items = orderItemRepository.findByOrderId(order.getOrderId());
-        List<OrderItemResponse> itemResponses = items.stream().map(item -> {
-            String productName = "Unknown Product";
-            try {
-                ProductResponse product = productService.getProductById(item.getProductId());
-                productName = product.getProductName();
-            } catch (Exception e) {
-                // Ignore product fetch errors
-            }
-            return OrderItemMapper.toOrderItemResponse(item, productName);
-        }).collect(Collectors.toList());
+        Set<Integer> userIds = new HashSet<>();
+        Set<Integer> orderIds = new HashSet<>();
+        for (Order order : orders) {
+            userIds.add(order.getUserId());
+            orderIds.add(order.getOrderId());
+        }
+        Map<Integer, String> userNames = userRepository.findFullNamesByIds(userIds);
+        Map<Integer, List<OrderItem>> itemsByOrder = orderItemRepository.findByOrderIds(orderIds);
 
-        return OrderMapper.toOrderResponse(order, userName, itemResponses);
+        Set<Integer> productIds = new HashSet<>();
+        for (List<OrderItem> items : itemsByOrder.values()) {
+            for (OrderItem item : items) {
+                productIds.add(item.getProductId());
+            }
+        }
+        Map<Integer, String> productNames = productRepository.findProductNamesByIds(productIds);
+
+        List<OrderResponse> responses = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            List<OrderItemResponse> itemResponses = itemsByOrder.getOrDefault(order.getOrderId(), List.of()).stream()
+                    .map(item -> OrderItemMapper.toOrderItemResponse(item,
+                            productNames.getOrDefault(item.getProductId(), "Unknown Product")))
+                    .collect(Collectors.toList());
+            responses.add(OrderMapper.toOrderResponse(order,
+                    userNames.getOrDefault(order.getUserId(), "Unknown User"), itemResponses));
+        }
+        return responses;
     }
 }
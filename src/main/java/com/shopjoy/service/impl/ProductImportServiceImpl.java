@@ -0,0 +1,357 @@
+package com.shopjoy.service.impl;
+
+import com.shopjoy.dto.mapper.ProductMapper;
+import com.shopjoy.dto.request.CreateProductRequest;
+import com.shopjoy.dto.request.ProductImportFormat;
+import com.shopjoy.dto.response.ProductImportError;
+import com.shopjoy.dto.response.ProductImportResponse;
+import com.shopjoy.exception.ValidationException;
+import com.shopjoy.repository.ProductImportOutcome;
+import com.shopjoy.repository.ProductImportRow;
+import com.shopjoy.repository.ProductRepository;
+import com.shopjoy.service.ProductImportService;
+import com.shopjoy.util.CsvRecordReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The type Product import service.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final Set<String> REQUIRED_CSV_COLUMNS = Set.of("productname", "categoryid", "price", "sku");
+
+    private final ProductRepository productRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Instantiates a new Product import service.
+     *
+     * @param productRepository the product repository
+     * @param validator         the bean validator applied to each row
+     * @param objectMapper      the object mapper for NDJSON rows
+     */
+    public ProductImportServiceImpl(ProductRepository productRepository,
+            Validator validator,
+            ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional()
+    public ProductImportResponse importProducts(InputStream input, ProductImportFormat format) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        RequestSource source = format == ProductImportFormat.CSV ? new CsvSource(reader) : new NdjsonSource(reader);
+        ImportErrors errors = new ImportErrors();
+        ValidatedRows rows = new ValidatedRows(source, errors);
+
+        ProductImportOutcome outcome = productRepository.importProducts(rows, errors::rejectRow);
+
+        List<ProductImportError> reported = new ArrayList<>(errors.reported);
+        reported.sort(Comparator.comparingInt(ProductImportError::getRow));
+        return ProductImportResponse.builder()
+                .totalRows(rows.totalRows)
+                .inserted(outcome.insertedIds().length)
+                .updated(outcome.updatedIds().length)
+                .rejected(errors.rejectedRows)
+                .errors(reported)
+                .errorsTruncated(errors.truncated)
+                .build();
+    }
+
+    /**
+     * Rejection reasons of one import. Every rejected row is counted, but only the first
+     * MAX_REPORTED_ERRORS reasons are kept for the response.
+     */
+    private static final class ImportErrors {
+
+        private final List<ProductImportError> reported = new ArrayList<>();
+        private int rejectedRows;
+        private boolean truncated;
+
+        private void rejectRow(ProductImportError error) {
+            rejectRow(List.of(error));
+        }
+
+        private void rejectRow(List<ProductImportError> rowErrors) {
+            rejectedRows++;
+            for (ProductImportError error : rowErrors) {
+                if (reported.size() < MAX_REPORTED_ERRORS) {
+                    reported.add(error);
+                } else {
+                    truncated = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * A row that could not be read into a request.
+     */
+    private static final class RowFormatException extends RuntimeException {
+
+        private final String field;
+
+        private RowFormatException(String field, String message) {
+            super(message);
+            this.field = field;
+        }
+    }
+
+    /**
+     * Reads the feed one row at a time.
+     */
+    private interface RequestSource {
+
+        /**
+         * Advances to the next non-blank row.
+         *
+         * @return false at the end of the feed
+         */
+        boolean advance() throws IOException;
+
+        /**
+         * The 1-based position of the current row.
+         */
+        int row();
+
+        /**
+         * Reads the current row into a request.
+         *
+         * @throws RowFormatException if the row cannot be read
+         */
+        CreateProductRequest request();
+    }
+
+    private final class NdjsonSource implements RequestSource {
+
+        private final BufferedReader reader;
+        private String line;
+        private int row;
+
+        private NdjsonSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean advance() throws IOException {
+            while ((line = reader.readLine()) != null) {
+                row++;
+                if (!line.isBlank()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int row() {
+            return row;
+        }
+
+        @Override
+        public CreateProductRequest request() {
+            try {
+                return objectMapper.readValue(line, CreateProductRequest.class);
+            } catch (JacksonException e) {
+                throw new RowFormatException(null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private static final class CsvSource implements RequestSource {
+
+        private final CsvRecordReader reader;
+        private List<String> columns;
+        private List<String> record;
+        private int row;
+
+        private CsvSource(BufferedReader reader) {
+            this.reader = new CsvRecordReader(reader);
+        }
+
+        @Override
+        public boolean advance() throws IOException {
+            try {
+                if (columns == null) {
+                    readHeader();
+                }
+                while ((record = reader.next()) != null) {
+                    row++;
+                    if (record.size() > 1 || !record.getFirst().isBlank()) {
+                        return true;
+                    }
+                }
+                return false;
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("Malformed CSV after row " + row + ": " + e.getMessage());
+            }
+        }
+
+        private void readHeader() throws IOException {
+            List<String> header = reader.next();
+            if (header == null) {
+                columns = List.of();
+                return;
+            }
+            columns = header.stream()
+                    .map(name -> name.trim().replace("_", "").toLowerCase(Locale.ROOT))
+                    .toList();
+            if (!columns.containsAll(REQUIRED_CSV_COLUMNS)) {
+                throw new ValidationException("CSV header must name the productName, categoryId, price and sku columns");
+            }
+        }
+
+        @Override
+        public int row() {
+            return row;
+        }
+
+        @Override
+        public CreateProductRequest request() {
+            if (record.size() != columns.size()) {
+                throw new RowFormatException(null,
+                        "Expected " + columns.size() + " columns but found " + record.size());
+            }
+            CreateProductRequest request = new CreateProductRequest();
+            for (int i = 0; i < columns.size(); i++) {
+                String value = record.get(i).isEmpty() ? null : record.get(i);
+                switch (columns.get(i)) {
+                    case "productname" -> request.setProductName(value);
+                    case "description" -> request.setDescription(value);
+                    case "categoryid" -> request.setCategoryId(parseInteger(value, "categoryId"));
+                    case "price" -> request.setPrice(parseDouble(value, "price"));
+                    case "costprice" -> request.setCostPrice(parseDouble(value, "costPrice"));
+                    case "sku" -> request.setSku(value);
+                    case "brand" -> request.setBrand(value);
+                    case "imageurl" -> request.setImageUrl(value);
+                    case "isactive", "active" -> request.setIsActive(parseBoolean(value, "isActive"));
+                    case "initialstock", "stock" -> request.setInitialStock(parseInteger(value, "initialStock"));
+                    default -> {
+                        // Columns the import does not know about are ignored.
+                    }
+                }
+            }
+            return request;
+        }
+
+        private static Integer parseInteger(String value, String field) {
+            try {
+                return value == null ? null : Integer.valueOf(value.trim());
+            } catch (NumberFormatException e) {
+                throw new RowFormatException(field, "Must be a whole number");
+            }
+        }
+
+        private static Double parseDouble(String value, String field) {
+            try {
+                return value == null ? null : Double.valueOf(value.trim());
+            } catch (NumberFormatException e) {
+                throw new RowFormatException(field, "Must be a number");
+            }
+        }
+
+        private static Boolean parseBoolean(String value, String field) {
+            if (value == null) {
+                return null;
+            }
+            return switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "true", "t", "yes", "y", "1" -> true;
+                case "false", "f", "no", "n", "0" -> false;
+                default -> throw new RowFormatException(field, "Must be true or false");
+            };
+        }
+    }
+
+    /**
+     * Iterates over the valid rows of the feed, recording every invalid one as it is
+     * skipped. Rows are read lazily, so the feed is consumed while the COPY runs.
+     */
+    private final class ValidatedRows implements Iterator<ProductImportRow> {
+
+        private final RequestSource source;
+        private final ImportErrors errors;
+        private ProductImportRow next;
+        private int totalRows;
+
+        private ValidatedRows(RequestSource source, ImportErrors errors) {
+            this.source = source;
+            this.errors = errors;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null && source.advance()) {
+                    totalRows++;
+                    next = validate(source.row());
+                }
+                return next != null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public ProductImportRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ProductImportRow row = next;
+            next = null;
+            return row;
+        }
+
+        private ProductImportRow validate(int row) {
+            CreateProductRequest request;
+            try {
+                request = source.request();
+            } catch (RowFormatException e) {
+                errors.rejectRow(new ProductImportError(row, null, e.field, e.getMessage()));
+                return null;
+            }
+
+            List<ProductImportError> rowErrors = new ArrayList<>();
+            for (ConstraintViolation<CreateProductRequest> violation : validator.validate(request)) {
+                rowErrors.add(new ProductImportError(row, request.getSku(),
+                        violation.getPropertyPath().toString(), violation.getMessage()));
+            }
+            if (request.getInitialStock() != null && request.getInitialStock() < 0) {
+                rowErrors.add(new ProductImportError(row, request.getSku(), "initialStock",
+                        "Initial stock cannot be negative"));
+            }
+            if (!rowErrors.isEmpty()) {
+                rowErrors.sort(Comparator.comparing(ProductImportError::getField));
+                errors.rejectRow(rowErrors);
+                return null;
+            }
+
+            int initialStock = request.getInitialStock() != null ? request.getInitialStock() : 0;
+            return new ProductImportRow(row, ProductMapper.toProduct(request), initialStock);
+        }
+    }
+}
@@ -2,14 +2,22 @@ package com.shopjoy.service.impl;
 
 import com.shopjoy.aspect.Auditable;
 import com.shopjoy.dto.filter.ProductFilter;
+import com.shopjoy.dto.filter.SearchMode;
 import com.shopjoy.dto.mapper.ProductMapper;
+import com.shopjoy.dto.request.BulkActivationRequest;
+import com.shopjoy.dto.request.BulkPriceUpdateRequest;
 import com.shopjoy.dto.request.CreateProductRequest;
+import com.shopjoy.dto.request.ProductPriceChangeRequest;
 import com.shopjoy.dto.request.UpdateProductRequest;
+import com.shopjoy.dto.response.BulkProductUpdateResponse;
 import com.shopjoy.dto.response.ProductResponse;
 import com.shopjoy.entity.Product;
 import com.shopjoy.exception.ResourceNotFoundException;
 import com.shopjoy.exception.ValidationException;
 import com.shopjoy.repository.ProductRepository;
+import com.shopjoy.repository.ProductSearchHit;
+import com.shopjoy.repository.RatingSummary;
+import com.shopjoy.repository.ReviewRepository;
 import com.shopjoy.service.ProductService;
 import com.shopjoy.util.*;
 
@@ -18,8 +26,17 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -29,28 +46,149 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class ProductServiceImpl implements ProductService {
 
+    /**
+     * Number of streamed products whose category names and stock levels are loaded together.
+     */
+    private static final int STREAM_BATCH_SIZE = 500;
 
+    /**
+     * Largest number of products one bulk price or activation update may name.
+     */
+    private static final int MAX_BULK_UPDATE_SIZE = 10_000;
 
     private final ProductRepository productRepository;
     private final com.shopjoy.repository.InventoryRepository inventoryRepository;
     private final com.shopjoy.repository.CategoryRepository categoryRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final OffHeapProductCatalog offHeapProductCatalog;
+    private final ReviewRepository reviewRepository;
+    private final CategoryTree categoryTree;
 
     public ProductServiceImpl(ProductRepository productRepository,
             com.shopjoy.repository.InventoryRepository inventoryRepository,
-            com.shopjoy.repository.CategoryRepository categoryRepository) {
+            com.shopjoy.repository.CategoryRepository categoryRepository,
+            ProductSearchIndex productSearchIndex,
+            OffHeapProductCatalog offHeapProductCatalog,
+            ReviewRepository reviewRepository,
+            CategoryTree categoryTree) {
         this.productRepository = productRepository;
         this.inventoryRepository = inventoryRepository;
         this.categoryRepository = categoryRepository;
+        this.productSearchIndex = productSearchIndex;
+        this.offHeapProductCatalog = offHeapProductCatalog;
+        this.reviewRepository = reviewRepository;
+        this.categoryTree = categoryTree;
     }
 
     private ProductResponse convertToResponse(Product product) {
-        String categoryName = categoryRepository.findById(product.getCategoryId())
-                .map(com.shopjoy.entity.Category::getCategoryName)
-                .orElse("Unknown");
+        String categoryName = categoryNames(Set.of(product.getCategoryId()))
+                .getOrDefault(product.getCategoryId(), "Unknown");
         int stock = inventoryRepository.findByProductId(product.getProductId())
                 .map(com.shopjoy.entity.Inventory::getQuantityInStock)
                 .orElse(0);
-        return ProductMapper.toProductResponse(product, categoryName, stock);
+        ProductResponse response = ProductMapper.toProductResponse(product, categoryName, stock);
+        applyRatingSummary(response, reviewRepository.findRatingSummaries(List.of(product.getProductId()))
+                .getOrDefault(product.getProductId(), RatingSummary.EMPTY));
+        return response;
+    }
+
+    /**
+     * Batched variant of {@link #convertToResponse(Product)} for list endpoints.
+     * Category names and stock levels for the whole list are loaded with one
+     * query each instead of two queries per product.
+     */
+    private List<ProductResponse> convertToResponses(List<Product> products) {
+        if (products.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Integer> categoryIds = new HashSet<>();
+        Set<Integer> productIds = new HashSet<>();
+        for (Product product : products) {
+            categoryIds.add(product.getCategoryId());
+            productIds.add(product.getProductId());
+        }
+
+        Map<Integer, String> categoryNames = categoryNames(categoryIds);
+        Map<Integer, Integer> stockLevels = inventoryRepository.findStockByProductIds(productIds);
+        Map<Integer, RatingSummary> ratings = reviewRepository.findRatingSummaries(productIds);
+
+        List<ProductResponse> responses = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ProductResponse response = ProductMapper.toProductResponse(product,
+                    categoryNames.getOrDefault(product.getCategoryId(), "Unknown"),
+                    stockLevels.getOrDefault(product.getProductId(), 0));
+            applyRatingSummary(response,
+                    ratings.getOrDefault(product.getProductId(), RatingSummary.EMPTY));
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    /**
+     * Category names by id, read from the in-memory category tree once it is loaded.
+     * Categories the tree does not know yet are looked up in the database.
+     */
+    private Map<Integer, String> categoryNames(Set<Integer> categoryIds) {
+        if (!categoryTree.isReady()) {
+            return categoryRepository.findCategoryNamesByIds(categoryIds);
+        }
+        CategoryTree.Snapshot tree = categoryTree.snapshot();
+        Map<Integer, String> names = new HashMap<>();
+        Set<Integer> missing = new HashSet<>();
+        for (Integer categoryId : categoryIds) {
+            com.shopjoy.entity.Category category = tree.get(categoryId);
+            if (category != null) {
+                names.put(categoryId, category.getCategoryName());
+            } else {
+                missing.add(categoryId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            names.putAll(categoryRepository.findCategoryNamesByIds(missing));
+        }
+        return names;
+    }
+
+    private static void applyRatingSummary(ProductResponse response, RatingSummary summary) {
+        response.setRatingCount(summary.count());
+        response.setAverageRating(summary.average());
+        response.setRatingHistogram(Arrays.stream(summary.histogram()).boxed().toList());
+    }
+
+    /**
+     * Loads the products behind search index hits, keeping the index order.
+     * Hits whose product no longer exists are dropped.
+     */
+    private List<ProductResponse> convertIndexHits(List<ProductSearchIndex.Hit> hits) {
+        List<Integer> ids = hits.stream().map(ProductSearchIndex.Hit::productId).toList();
+        Map<Integer, Product> productsById = productRepository.findAllByIds(ids).stream()
+                .collect(Collectors.toMap(Product::getProductId, product -> product));
+
+        List<Product> products = new ArrayList<>(hits.size());
+        List<Double> scores = new ArrayList<>(hits.size());
+        for (ProductSearchIndex.Hit hit : hits) {
+            Product product = productsById.get(hit.productId());
+            if (product != null) {
+                products.add(product);
+                scores.add(hit.score());
+            }
+        }
+
+        List<ProductResponse> responses = convertToResponses(products);
+        for (int i = 0; i < responses.size(); i++) {
+            responses.get(i).setSearchRank(scores.get(i));
+        }
+        return responses;
+    }
+
+    private List<ProductResponse> convertSearchHits(List<ProductSearchHit> hits) {
+        List<ProductResponse> responses = convertToResponses(hits.stream().map(ProductSearchHit::product).toList());
+        for (int i = 0; i < hits.size(); i++) {
+            responses.get(i).setSearchRank(hits.get(i).rank());
+            responses.get(i).setHighlight(hits.get(i).highlight());
+        }
+        return responses;
     }
 
     @Override
@@ -86,17 +224,27 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public List<ProductResponse> getAllProducts() {
-        return productRepository.findAll().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(productRepository.findAll());
     }
 
     @Override
     public List<ProductResponse> getActiveProducts() {
-        return productRepository.findAll().stream()
+        return convertToResponses(productRepository.findAll().stream()
                 .filter(Product::isActive)
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public void streamProducts(boolean activeOnly, Consumer<ProductResponse> consumer) {
+        List<Product> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+        productRepository.streamAll(activeOnly, product -> {
+            batch.add(product);
+            if (batch.size() == STREAM_BATCH_SIZE) {
+                convertToResponses(batch).forEach(consumer);
+                batch.clear();
+            }
+        });
+        convertToResponses(batch).forEach(consumer);
     }
 
     @Override
@@ -104,19 +252,107 @@ public class ProductServiceImpl implements ProductService {
         if (categoryId == null) {
             throw new ValidationException("Category ID cannot be null");
         }
-        return productRepository.findByCategoryId(categoryId).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(productRepository.findByCategoryId(categoryId));
+    }
+
+    @Override
+    public List<ProductResponse> getProductsByCategory(Integer categoryId, boolean includeDescendants) {
+        if (!includeDescendants) {
+            return getProductsByCategory(categoryId);
+        }
+        return convertToResponses(productRepository.findByCategoryIds(resolveCategoryIds(categoryId, true)));
+    }
+
+    @Override
+    public Page<ProductResponse> getProductsByCategory(Integer categoryId, boolean includeDescendants,
+            Pageable pageable) {
+        Page<Product> productPage = productRepository.findByCategoryIds(
+                resolveCategoryIds(categoryId, includeDescendants), pageable);
+        return new Page<>(
+                convertToResponses(productPage.getContent()),
+                productPage.getPageNumber(),
+                productPage.getPageSize(),
+                productPage.getTotalElements());
+    }
+
+    /**
+     * The category itself, or its whole subtree. The subtree comes from the in-memory
+     * category tree, or from a recursive query while the tree is loading or does not know
+     * the category yet.
+     */
+    private int[] resolveCategoryIds(Integer categoryId, boolean includeDescendants) {
+        if (categoryId == null) {
+            throw new ValidationException("Category ID cannot be null");
+        }
+        if (!includeDescendants) {
+            return new int[] { categoryId };
+        }
+        if (categoryTree.isReady()) {
+            int[] subtree = categoryTree.snapshot().subtreeIds(categoryId);
+            if (subtree.length > 0) {
+                return subtree;
+            }
+        }
+        return categoryRepository.findSubtreeIds(categoryId);
     }
 
     @Override
     public List<ProductResponse> searchProductsByName(String keyword) {
+        return searchProductsByName(keyword, SearchMode.INDEX);
+    }
+
+    @Override
+    public List<ProductResponse> searchProductsByName(String keyword, SearchMode mode) {
         if (keyword == null || keyword.trim().isEmpty()) {
             throw new ValidationException("Search keyword cannot be empty");
         }
-        return productRepository.findByNameContaining(keyword).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        if (mode == SearchMode.SUBSTRING) {
+            return convertToResponses(productRepository.findByNameContaining(keyword));
+        }
+        if (useSearchIndex(keyword, mode)) {
+            return convertIndexHits(productSearchIndex.search(keyword));
+        }
+        return convertSearchHits(productRepository.searchFullText(keyword));
+    }
+
+    /**
+     * Index searches need the index built and a query word of three or more characters;
+     * anything else runs as a full-text search in PostgreSQL.
+     */
+    private boolean useSearchIndex(String keyword, SearchMode mode) {
+        return mode == SearchMode.INDEX && productSearchIndex.isReady() && productSearchIndex.supports(keyword);
+    }
+
+    /**
+     * Drops hits whose product has been deleted since it was indexed, so that page totals
+     * only count products a page can show. Stale entries found this way are removed from
+     * the index. The off-heap catalog answers which ids exist once it is loaded.
+     */
+    private List<ProductSearchIndex.Hit> existingHits(List<ProductSearchIndex.Hit> hits) {
+        Set<Integer> existingIds;
+        if (offHeapProductCatalog.isReady()) {
+            existingIds = new HashSet<>();
+            for (ProductSearchIndex.Hit hit : hits) {
+                if (offHeapProductCatalog.contains(hit.productId())) {
+                    existingIds.add(hit.productId());
+                }
+            }
+        } else {
+            existingIds = productRepository.findExistingIds(
+                    hits.stream().map(ProductSearchIndex.Hit::productId).toList());
+        }
+        if (existingIds.size() == hits.size()) {
+            return hits;
+        }
+        List<ProductSearchIndex.Hit> existing = new ArrayList<>(existingIds.size());
+        for (ProductSearchIndex.Hit hit : hits) {
+            if (existingIds.contains(hit.productId())) {
+                existing.add(hit);
+            } else {
+                productSearchIndex.remove(hit.productId());
+            }
+        }
+        return existing;
     }
 
     @Override
@@ -127,9 +363,7 @@ public class ProductServiceImpl implements ProductService {
         if (maxPrice < minPrice) {
             throw new ValidationException("Maximum price must be greater than or equal to minimum price");
         }
-        return productRepository.findByPriceRange(minPrice, maxPrice).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(productRepository.findByPriceRange(minPrice, maxPrice));
     }
 
     @Override
@@ -188,6 +422,81 @@ public class ProductServiceImpl implements ProductService {
         return convertToResponse(productRepository.update(product));
     }
 
+    @Override
+    @Transactional()
+    public BulkProductUpdateResponse bulkUpdatePrices(BulkPriceUpdateRequest request) {
+        List<ProductPriceChangeRequest> changes = request.getChanges();
+        if (changes == null || changes.isEmpty()) {
+            throw new ValidationException("changes", "must not be empty");
+        }
+
+        Map<Integer, Double> pricesById = new LinkedHashMap<>();
+        for (ProductPriceChangeRequest change : changes) {
+            if (change.getProductId() == null || change.getPrice() == null) {
+                throw new ValidationException("changes", "every change needs a productId and a price");
+            }
+            if (change.getPrice() <= 0) {
+                throw new ValidationException("price", "must be positive");
+            }
+            pricesById.put(change.getProductId(), change.getPrice());
+        }
+        validateBulkSize(pricesById.size());
+
+        int[] productIds = new int[pricesById.size()];
+        double[] prices = new double[pricesById.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Double> entry : pricesById.entrySet()) {
+            productIds[i] = entry.getKey();
+            prices[i] = entry.getValue();
+            i++;
+        }
+
+        return toBulkUpdateResponse(productIds, productRepository.updatePrices(productIds, prices));
+    }
+
+    @Override
+    @Transactional()
+    public BulkProductUpdateResponse bulkUpdateActivation(BulkActivationRequest request) {
+        if (request.getProductIds() == null || request.getProductIds().isEmpty()) {
+            throw new ValidationException("productIds", "must not be empty");
+        }
+        if (request.getActive() == null) {
+            throw new ValidationException("active", "is required");
+        }
+        int[] productIds = request.getProductIds().stream()
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .distinct()
+                .toArray();
+        validateBulkSize(productIds.length);
+
+        return toBulkUpdateResponse(productIds,
+                productRepository.updateActiveStatus(productIds, request.getActive()));
+    }
+
+    private static void validateBulkSize(int size) {
+        if (size > MAX_BULK_UPDATE_SIZE) {
+            throw new ValidationException("At most " + MAX_BULK_UPDATE_SIZE + " products can be updated per request");
+        }
+    }
+
+    private static BulkProductUpdateResponse toBulkUpdateResponse(int[] requestedIds, List<Product> updated) {
+        Set<Integer> updatedIds = new HashSet<>();
+        for (Product product : updated) {
+            updatedIds.add(product.getProductId());
+        }
+        List<Integer> notFoundIds = Arrays.stream(requestedIds)
+                .filter(productId -> !updatedIds.contains(productId))
+                .sorted()
+                .boxed()
+                .toList();
+        return BulkProductUpdateResponse.builder()
+                .requested(requestedIds.length)
+                .updated(updated.size())
+                .notFoundIds(notFoundIds)
+                .build();
+    }
+
     @Override
     @Transactional()
     public void deleteProduct(Integer productId) {
@@ -215,9 +524,7 @@ public class ProductServiceImpl implements ProductService {
     public Page<ProductResponse> getProductsPaginated(Pageable pageable, String sortBy, String sortDirection) {
         Page<Product> productPage = productRepository.findAllPaginated(pageable, sortBy, sortDirection);
 
-        List<ProductResponse> responseList = productPage.getContent().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        List<ProductResponse> responseList = convertToResponses(productPage.getContent());
 
         return new Page<>(
                 responseList,
@@ -228,15 +535,34 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public Page<ProductResponse> searchProductsPaginated(String keyword, Pageable pageable) {
+        return searchProductsPaginated(keyword, pageable, SearchMode.INDEX);
+    }
+
+    @Override
+    public Page<ProductResponse> searchProductsPaginated(String keyword, Pageable pageable, SearchMode mode) {
         if (keyword == null || keyword.trim().isEmpty()) {
             throw new ValidationException("Search keyword cannot be empty");
         }
 
+        if (useSearchIndex(keyword, mode)) {
+            List<ProductSearchIndex.Hit> hits = existingHits(productSearchIndex.search(keyword));
+            int from = Math.min(pageable.getOffset(), hits.size());
+            int to = Math.min(from + pageable.getSize(), hits.size());
+            return new Page<>(convertIndexHits(hits.subList(from, to)), pageable, hits.size());
+        }
+
+        if (mode != SearchMode.SUBSTRING) {
+            Page<ProductSearchHit> hitPage = productRepository.searchFullTextPaginated(keyword, pageable);
+            return new Page<>(
+                    convertSearchHits(hitPage.getContent()),
+                    hitPage.getPageNumber(),
+                    hitPage.getPageSize(),
+                    hitPage.getTotalElements());
+        }
+
         Page<Product> productPage = productRepository.searchProductsPaginated(keyword, pageable);
 
-        List<ProductResponse> responseList = productPage.getContent().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        List<ProductResponse> responseList = convertToResponses(productPage.getContent());
 
         return new Page<>(
                 responseList,
@@ -248,38 +574,60 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public Page<ProductResponse> getProductsWithFilters(ProductFilter filter, Pageable pageable, String sortBy,
             String sortDirection, String algorithm) {
-        if (filter.getMinPrice() != null && filter.getMaxPrice() != null &&
-                filter.getMinPrice() > filter.getMaxPrice()) {
-            throw new ValidationException("minPrice", "must be less than or equal to maxPrice");
+        if (filter == null) {
+            filter = new ProductFilter();
+        }
+        validateFilter(filter);
+
+        if ("COLUMNAR".equalsIgnoreCase(algorithm)) {
+            Page<Product> productPage = productRepository.findProductsWithFiltersFromColumns(filter, pageable,
+                    sortBy, sortDirection);
+
+            return new Page<>(
+                    convertToResponses(productPage.getContent()),
+                    productPage.getPageNumber(),
+                    productPage.getPageSize(),
+                    productPage.getTotalElements());
         }
 
         if (algorithm != null && !algorithm.equalsIgnoreCase("DATABASE")) {
-            // Fetch all matching products without pagination
-            List<Product> allProducts = productRepository.findAllWithFilters(filter);
+            // Fetch all matching products without pagination; the off-heap catalog returns
+            // just the hot fields, and only the requested page is loaded in full below
+            boolean fromCatalog = offHeapProductCatalog.supports(filter);
+            List<Product> allProducts = fromCatalog
+                    ? offHeapProductCatalog.findMatching(filter)
+                    : productRepository.findAllWithFilters(filter);
 
             // Sort in memory using requested algorithm
             Comparator<Product> comparator = ProductComparators.getComparator(sortBy, sortDirection);
+            int start = pageable.getOffset();
+            List<Product> sortedProducts = allProducts;
             switch (algorithm.toUpperCase()) {
                 case "QUICKSORT" -> SortingAlgorithms.quickSort(allProducts, comparator);
                 case "MERGESORT" -> SortingAlgorithms.mergeSort(allProducts, comparator);
                 case "HEAPSORT" -> SortingAlgorithms.heapSort(allProducts, comparator);
+                case "PARALLEL_MERGESORT" -> SortingAlgorithms.parallelMergeSort(allProducts, comparator);
+                case "RADIX" -> radixSort(allProducts, sortBy, sortDirection);
+                // Only the rows up to the end of the requested page need to be ordered
+                case "TOPK" -> sortedProducts = SortingAlgorithms.topK(allProducts, start + pageable.getSize(), comparator);
                 default -> throw new ValidationException("Unknown sorting algorithm: " + algorithm);
             }
 
             // Manually paginate
-            int start = pageable.getOffset();
-            int end = Math.min((start + pageable.getSize()), allProducts.size());
+            int end = Math.min((start + pageable.getSize()), sortedProducts.size());
 
             List<Product> pagedContent;
-            if (start >= allProducts.size()) {
+            if (start >= sortedProducts.size()) {
                 pagedContent = new ArrayList<>();
             } else {
-                pagedContent = allProducts.subList(start, end);
+                pagedContent = sortedProducts.subList(start, end);
             }
 
-            List<ProductResponse> responseList = pagedContent.stream()
-                    .map(this::convertToResponse)
-                    .collect(Collectors.toList());
+            if (fromCatalog) {
+                pagedContent = loadInOrder(pagedContent);
+            }
+
+            List<ProductResponse> responseList = convertToResponses(pagedContent);
 
             return new Page<>(
                     responseList,
@@ -291,9 +639,7 @@ public class ProductServiceImpl implements ProductService {
         // Default database sorting/pagination
         Page<Product> productPage = productRepository.findProductsWithFilters(filter, pageable, sortBy, sortDirection);
 
-        List<ProductResponse> responseList = productPage.getContent().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        List<ProductResponse> responseList = convertToResponses(productPage.getContent());
 
         return new Page<>(
                 responseList,
@@ -302,6 +648,21 @@ public class ProductServiceImpl implements ProductService {
                 productPage.getTotalElements());
     }
 
+    @Override
+    public CursorPage<ProductResponse> getProductsByCursor(ProductFilter filter, String cursor, int size,
+            String sortBy, String sortDirection, boolean includeTotal) {
+        if (filter == null) {
+            filter = new ProductFilter();
+        }
+        validateFilter(filter);
+        int pageSize = Pageable.of(0, size).getSize();
+
+        CursorPage<Product> productPage = productRepository.findProductsWithFiltersByCursor(filter, cursor,
+                pageSize, sortBy, sortDirection, includeTotal);
+
+        return productPage.withContent(this::convertToResponses);
+    }
+
     @Override
     public List<ProductResponse> getProductsSortedWithQuickSort(String sortBy, boolean ascending) {
         List<Product> products = new ArrayList<>(productRepository.findAll());
@@ -311,9 +672,7 @@ public class ProductServiceImpl implements ProductService {
 
         SortingAlgorithms.quickSort(products, comparator);
 
-        return products.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(products);
     }
 
     @Override
@@ -325,9 +684,7 @@ public class ProductServiceImpl implements ProductService {
 
         SortingAlgorithms.mergeSort(products, comparator);
 
-        return products.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(products);
     }
 
     @Override
@@ -336,22 +693,11 @@ public class ProductServiceImpl implements ProductService {
             throw new ValidationException("productId", "must be a positive integer");
         }
 
-        List<Product> allProducts = new ArrayList<>(productRepository.findAll());
-
-        Comparator<Product> comparator = ProductComparators.BY_ID_ASC;
-        SortingAlgorithms.quickSort(allProducts, comparator);
-
-        Product searchTarget = new Product();
-        searchTarget.setProductId(productId);
-
-        int index = SearchAlgorithms.binarySearch(allProducts, searchTarget, comparator);
-
-        if (index == -1) {
+        Product product = lookupById(productId);
+        if (product == null) {
             throw new ResourceNotFoundException("Product", "id", productId);
         }
 
-        Product product = allProducts.get(index);
-
         return convertToResponse(product);
     }
 
@@ -367,34 +713,87 @@ public class ProductServiceImpl implements ProductService {
             case "HEAPSORT":
                 SortingAlgorithms.heapSort(products, comparator);
                 break;
+            case "PARALLEL_MERGESORT":
+                SortingAlgorithms.parallelMergeSort(products, comparator);
+                break;
+            case "RADIX":
+                radixSort(products, sortBy, sortDirection);
+                break;
             default:
                 SortingAlgorithms.quickSort(products, comparator);
         }
 
-        return products.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(products);
     }
 
     @Override
     public Product searchById(Integer id) {
-        List<Product> sortedProducts = new ArrayList<>(productRepository.findAll());
-        SortingAlgorithms.quickSort(sortedProducts, ProductComparators.BY_ID_ASC);
-
-        Product searchTarget = new Product();
-        searchTarget.setProductId(id);
+        if (id == null || id <= 0) {
+            return null;
+        }
+        return lookupById(id);
+    }
 
-        int index = SearchAlgorithms.binarySearch(sortedProducts, searchTarget, ProductComparators.BY_ID_ASC);
+    /**
+     * Looks a product up by id. Once the off-heap catalog is loaded, ids it does not hold
+     * are answered without a query; the rest load through the product cache, which hands
+     * out copies.
+     */
+    private Product lookupById(int productId) {
+        if (offHeapProductCatalog.isReady() && !offHeapProductCatalog.contains(productId)) {
+            return null;
+        }
+        return productRepository.findById(productId).orElse(null);
+    }
 
-        return index >= 0 ? sortedProducts.get(index) : null;
+    /**
+     * Loads the full rows behind products read from the off-heap catalog, keeping their
+     * order. Products deleted in the meantime are dropped.
+     */
+    private List<Product> loadInOrder(List<Product> hotProducts) {
+        Map<Integer, Product> productsById = productRepository.findAllByIds(
+                hotProducts.stream().map(Product::getProductId).toList()).stream()
+                .collect(Collectors.toMap(Product::getProductId, product -> product));
+
+        List<Product> products = new ArrayList<>(hotProducts.size());
+        for (Product hotProduct : hotProducts) {
+            Product product = productsById.get(hotProduct.getProductId());
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
     }
 
     @Override
     public List<ProductResponse> getRecentlyAddedProducts(int limit) {
 
-        return productRepository.findRecentlyAdded(limit).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(productRepository.findRecentlyAdded(limit));
+    }
+
+    private void radixSort(List<Product> products, String sortBy, String sortDirection) {
+        ToLongFunction<Product> key = ProductComparators.getRadixKey(sortBy, sortDirection);
+        if (key == null) {
+            throw new ValidationException("sortBy", "must be price, created_at or id for RADIX sorting");
+        }
+        SortingAlgorithms.radixSort(products, key, "DESC".equalsIgnoreCase(sortDirection));
+    }
+
+    private void validateFilter(ProductFilter filter) {
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null &&
+                filter.getMinPrice() > filter.getMaxPrice()) {
+            throw new ValidationException("minPrice", "must be less than or equal to maxPrice");
+        }
+        if (filter.getMinStock() != null && filter.getMinStock() < 0) {
+            throw new ValidationException("minStock", "cannot be negative");
+        }
+        if (filter.getMaxStock() != null && filter.getMaxStock() < 0) {
+            throw new ValidationException("maxStock", "cannot be negative");
+        }
+        if (filter.getMinStock() != null && filter.getMaxStock() != null &&
+                filter.getMinStock() > filter.getMaxStock()) {
+            throw new ValidationException("minStock", "must be less than or equal to maxStock");
+        }
     }
 
     private void validateProductData(Product product) {
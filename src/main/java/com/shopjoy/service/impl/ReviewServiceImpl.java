@@ -19,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -38,8 +39,10 @@ public class ReviewServiceImpl implements ReviewService {
     /**
      * Instantiates a new Review service.
      *
-     * @param reviewRepository the review repository
-     * @param orderRepository  the order repository
+     * @param reviewRepository   the review repository
+     * @param orderRepository    the order repository
+     * @param userRepository     the user repository
+     * @param productRepository  the product repository
      */
     public ReviewServiceImpl(ReviewRepository reviewRepository,
             OrderRepository orderRepository,
@@ -137,15 +140,15 @@ public class ReviewServiceImpl implements ReviewService {
         if (rating < 1 || rating > 5) {
             throw new ValidationException("rating", "must be between 1 and 5");
         }
-        return reviewRepository.findByProductId(productId).stream()
-                .filter(review -> review.getRating() == rating)
+        return reviewRepository.findByProductIdAndRating(productId, rating).stream()
                 .map(this::convertToResponse)
                 .toList();
     }
 
     @Override
     public double getAverageRating(Integer productId) {
-        return reviewRepository.getAverageRating(productId);
+        Double average = reviewRepository.getAverageRating(productId);
+        return average != null ? average : 0.0;
     }
 
     @Override
@@ -167,6 +170,11 @@ public class ReviewServiceImpl implements ReviewService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public void streamAllReviews(Consumer<ReviewResponse> consumer) {
+        reviewRepository.streamAll(review -> consumer.accept(convertToResponse(review)));
+    }
+
     private void validateReviewData(Review review) {
         if (review == null) {
             throw new ValidationException("Review data cannot be null");
@@ -0,0 +1,197 @@
+package com.shopjoy.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-process LRU cache with per-entry time-to-live and hit/miss/eviction statistics.
+ * <p>
+ * Entries are kept in access order; once the cache holds maxSize entries the least recently
+ * used one is evicted. Expired entries are dropped lazily when they are read.
+ * All operations are synchronized on the cache instance, which keeps invalidation
+ * strictly ordered with respect to concurrent loads.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class BoundedCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long invalidationGeneration;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Instantiates a new Bounded cache.
+     *
+     * @param name       the cache name used in statistics
+     * @param maxSize    the maximum number of entries (must be positive)
+     * @param ttlSeconds the time-to-live of an entry in seconds, 0 or less disables expiry
+     */
+    public BoundedCache(String name, int maxSize, long ttlSeconds) {
+        this(name, maxSize, ttlSeconds, System::nanoTime);
+    }
+
+    /**
+     * Instantiates a new Bounded cache that reads time from the given clock.
+     *
+     * @param name       the cache name used in statistics
+     * @param maxSize    the maximum number of entries (must be positive)
+     * @param ttlSeconds the time-to-live of an entry in seconds, 0 or less disables expiry
+     * @param nanoClock  the monotonic clock, in nanoseconds
+     */
+    BoundedCache(String name, int maxSize, long ttlSeconds, LongSupplier nanoClock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlSeconds > 0 ? ttlSeconds * 1_000_000_000L : 0L;
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value, loading and caching it on a miss.
+     * Empty results from the loader are not cached.
+     *
+     * @param key    the key
+     * @param loader the loader invoked on a miss
+     * @return the cached or loaded value
+     */
+    public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long generation = currentGeneration();
+        Optional<V> loaded = loader.apply(key);
+        loaded.ifPresent(value -> putIfNotInvalidated(key, value, generation));
+        return loaded;
+    }
+
+    /**
+     * Returns the cached value or null, recording a hit or a miss.
+     *
+     * @param key the key
+     * @return the value, or null when absent or expired
+     */
+    public synchronized V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (ttlNanos > 0 && nanoClock.getAsLong() - entry.loadedAt > ttlNanos) {
+            entries.remove(key);
+            expirations.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Stores a value, replacing any previous entry for the key.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, nanoClock.getAsLong()));
+    }
+
+    private synchronized long currentGeneration() {
+        return invalidationGeneration;
+    }
+
+    /**
+     * Caches a loaded value only if no invalidation happened while it was being loaded,
+     * so a load racing with a write can never re-insert the pre-write value.
+     */
+    private synchronized void putIfNotInvalidated(K key, V value, long generation) {
+        if (generation == invalidationGeneration) {
+            put(key, value);
+        }
+    }
+
+    /**
+     * Removes the entry for a key.
+     *
+     * @param key the key
+     */
+    public synchronized void invalidate(K key) {
+        invalidationGeneration++;
+        if (entries.remove(key) != null) {
+            invalidations.increment();
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public synchronized void invalidateAll() {
+        invalidationGeneration++;
+        invalidations.add(entries.size());
+        entries.clear();
+    }
+
+    /**
+     * Current number of entries, including expired entries not yet dropped.
+     *
+     * @return the size
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets statistics.
+     *
+     * @return the statistics
+     */
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("size", size());
+        stats.put("maxSize", maxSize);
+        stats.put("ttlSeconds", ttlNanos / 1_000_000_000L);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", requests == 0 ? 0.0 : (double) hitCount / requests);
+        stats.put("evictions", evictions.sum());
+        stats.put("expirations", expirations.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+}
@@ -0,0 +1,380 @@
+package com.shopjoy.util;
+
+import com.shopjoy.entity.Category;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * In-memory copy of the category hierarchy.
+ * <p>
+ * The categories table is small and rarely written, so it is held as an immutable
+ * {@link Snapshot} that is rebuilt from the database after every committed category write
+ * and swapped in with one volatile write. Readers always see a complete, consistent tree
+ * and never lock.
+ * <p>
+ * Rebuilds run one at a time. A rebuild started after a commit reads that commit, and the
+ * rebuild installed last started last, so the installed tree never goes back in time.
+ */
+public class CategoryTree implements Rebuildable<Category> {
+
+    private volatile Snapshot snapshot = Snapshot.build(List.of());
+    private volatile boolean ready;
+    private volatile long lastBuildMillis;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+
+    /**
+     * Reloads the hierarchy and replaces the current snapshot.
+     *
+     * @param loader supplies all categories, ordered by name
+     */
+    @Override
+    public synchronized void rebuild(Supplier<List<Category>> loader) {
+        long start = System.currentTimeMillis();
+        snapshot = Snapshot.build(loader.get());
+        ready = true;
+        rebuilds.increment();
+        lastBuildMillis = System.currentTimeMillis() - start;
+    }
+
+    /**
+     * Whether the tree has been loaded. Until then callers read from the database.
+     *
+     * @return true once loaded
+     */
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Gets the current snapshot. Hold on to the returned snapshot for the duration of one
+     * operation so that all of its reads see the same tree.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        lookups.increment();
+        return snapshot;
+    }
+
+    /**
+     * Gets statistics.
+     *
+     * @return the statistics
+     */
+    @Override
+    public Map<String, Object> getStatistics() {
+        Snapshot current = snapshot;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", "categoryTree");
+        stats.put("ready", ready);
+        stats.put("size", current.size());
+        stats.put("height", current.height);
+        stats.put("lookups", lookups.sum());
+        stats.put("rebuilds", rebuilds.sum());
+        stats.put("lastBuildMillis", lastBuildMillis);
+        return stats;
+    }
+
+    /**
+     * One immutable version of the hierarchy.
+     * <p>
+     * Categories are numbered by a depth-first walk from the roots, siblings in name order,
+     * so each subtree occupies one contiguous run of numbers: a category's own number up to
+     * its exit number. Whether one category lies under another is then two comparisons, and
+     * the categories of a subtree are a slice of the walk order.
+     * <p>
+     * The returned Category objects are shared by every reader and must not be modified.
+     */
+    public static final class Snapshot {
+
+        private static final int NONE = -1;
+
+        private final Map<Integer, Integer> positionById;
+        private final Category[] categories;
+        private final int[] parent;
+        private final int[] depth;
+        private final int[] exit;
+        private final int[][] children;
+        private final int[] roots;
+        private final int[] byName;
+        private final int height;
+
+        private Snapshot(Map<Integer, Integer> positionById, Category[] categories, int[] parent, int[] depth,
+                int[] exit, int[][] children, int[] roots, int[] byName, int height) {
+            this.positionById = positionById;
+            this.categories = categories;
+            this.parent = parent;
+            this.depth = depth;
+            this.exit = exit;
+            this.children = children;
+            this.roots = roots;
+            this.byName = byName;
+            this.height = height;
+        }
+
+        /**
+         * Builds a snapshot. Categories whose parent is missing, or that sit on a parent
+         * cycle, are treated as roots so that every category is reachable.
+         *
+         * @param loaded all categories, ordered by name
+         * @return the snapshot
+         */
+        static Snapshot build(List<Category> loaded) {
+            int n = loaded.size();
+            Map<Integer, Integer> loadIndex = new HashMap<>(n * 2);
+            for (int i = 0; i < n; i++) {
+                loadIndex.put(loaded.get(i).getCategoryId(), i);
+            }
+
+            // Children lists in name order, by load index
+            List<List<Integer>> childLists = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                childLists.add(new ArrayList<>());
+            }
+            List<Integer> rootList = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                Integer parentId = loaded.get(i).getParentCategoryId();
+                Integer parentIndex = parentId != null ? loadIndex.get(parentId) : null;
+                if (parentIndex != null && parentIndex != i) {
+                    childLists.get(parentIndex).add(i);
+                } else {
+                    rootList.add(i);
+                }
+            }
+
+            int[] order = new int[n];
+            int[] positionOf = new int[n];
+            Arrays.fill(positionOf, NONE);
+            int[] depthByLoad = new int[n];
+            int[] exitByLoad = new int[n];
+            int next = walk(rootList, childLists, order, positionOf, depthByLoad, exitByLoad, 0);
+            // Categories on a parent cycle are not reached from any root
+            for (int i = 0; i < n && next < n; i++) {
+                if (positionOf[i] == NONE) {
+                    rootList.add(i);
+                    next = walk(List.of(i), childLists, order, positionOf, depthByLoad, exitByLoad, next);
+                }
+            }
+
+            Map<Integer, Integer> positionById = new HashMap<>(n * 2);
+            Category[] categories = new Category[n];
+            int[] parent = new int[n];
+            int[] depth = new int[n];
+            int[] exit = new int[n];
+            int[][] children = new int[n][];
+            int height = 0;
+            for (int p = 0; p < n; p++) {
+                int i = order[p];
+                Category source = loaded.get(i);
+                categories[p] = new Category(source.getCategoryId(), source.getCategoryName(),
+                        source.getDescription(), source.getParentCategoryId(), source.getCreatedAt());
+                positionById.put(source.getCategoryId(), p);
+                Integer parentId = source.getParentCategoryId();
+                Integer parentIndex = parentId != null ? loadIndex.get(parentId) : null;
+                boolean isRoot = parentIndex == null || parentIndex == i || depthByLoad[i] == 0;
+                parent[p] = isRoot ? NONE : positionOf[parentIndex];
+                depth[p] = depthByLoad[i];
+                exit[p] = exitByLoad[i];
+                height = Math.max(height, depth[p] + 1);
+                List<Integer> childList = childLists.get(i);
+                children[p] = childList.stream().mapToInt(child -> positionOf[child]).toArray();
+            }
+            int[] roots = rootList.stream().mapToInt(root -> positionOf[root]).toArray();
+            int[] byName = new int[n];
+            for (int i = 0; i < n; i++) {
+                byName[i] = positionOf[i];
+            }
+            return new Snapshot(positionById, categories, parent, depth, exit, children, roots, byName, height);
+        }
+
+        /**
+         * Iterative depth-first walk numbering categories in preorder. Returns the next
+         * free number.
+         */
+        private static int walk(List<Integer> starts, List<List<Integer>> childLists, int[] order,
+                int[] positionOf, int[] depthOf, int[] exitOf, int next) {
+            Deque<int[]> stack = new ArrayDeque<>();
+            for (int s = starts.size() - 1; s >= 0; s--) {
+                stack.push(new int[] { starts.get(s), 0 });
+            }
+            while (!stack.isEmpty()) {
+                int[] frame = stack.pop();
+                int node = frame[0];
+                if (frame[1] < 0) {
+                    exitOf[node] = next - 1;
+                    continue;
+                }
+                if (positionOf[node] != NONE) {
+                    continue;
+                }
+                positionOf[node] = next;
+                order[next++] = node;
+                depthOf[node] = frame[1];
+                stack.push(new int[] { node, -1 });
+                List<Integer> childList = childLists.get(node);
+                for (int c = childList.size() - 1; c >= 0; c--) {
+                    stack.push(new int[] { childList.get(c), frame[1] + 1 });
+                }
+            }
+            return next;
+        }
+
+        /**
+         * Number of categories.
+         *
+         * @return the size
+         */
+        public int size() {
+            return categories.length;
+        }
+
+        /**
+         * Whether a category exists.
+         *
+         * @param categoryId the category id
+         * @return true if present
+         */
+        public boolean contains(int categoryId) {
+            return positionById.containsKey(categoryId);
+        }
+
+        /**
+         * Gets a category.
+         *
+         * @param categoryId the category id
+         * @return the category, or null if absent
+         */
+        public Category get(int categoryId) {
+            Integer position = positionById.get(categoryId);
+            return position != null ? categories[position] : null;
+        }
+
+        /**
+         * Distance from the category's root; roots have depth 0.
+         *
+         * @param categoryId the category id
+         * @return the depth, or -1 if absent
+         */
+        public int depth(int categoryId) {
+            Integer position = positionById.get(categoryId);
+            return position != null ? depth[position] : NONE;
+        }
+
+        /**
+         * Whether a category is the other category or lies anywhere beneath it.
+         *
+         * @param ancestorId the possible ancestor
+         * @param categoryId the category
+         * @return true if categoryId is in the subtree of ancestorId
+         */
+        public boolean isInSubtree(int ancestorId, int categoryId) {
+            Integer ancestor = positionById.get(ancestorId);
+            Integer category = positionById.get(categoryId);
+            return ancestor != null && category != null
+                    && ancestor <= category && category <= exit[ancestor];
+        }
+
+        /**
+         * The categories from the root down to the given category, inclusive.
+         *
+         * @param categoryId the category id
+         * @return the path, empty if absent
+         */
+        public List<Category> path(int categoryId) {
+            Integer position = positionById.get(categoryId);
+            if (position == null) {
+                return List.of();
+            }
+            Category[] path = new Category[depth[position] + 1];
+            for (int p = position, i = path.length - 1; p != NONE; p = parent[p], i--) {
+                path[i] = categories[p];
+            }
+            return List.of(path);
+        }
+
+        /**
+         * The ids of the category and all categories beneath it, in walk order.
+         *
+         * @param categoryId the category id
+         * @return the subtree ids, empty if absent
+         */
+        public int[] subtreeIds(int categoryId) {
+            Integer position = positionById.get(categoryId);
+            if (position == null) {
+                return new int[0];
+            }
+            int[] ids = new int[exit[position] - position + 1];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = categories[position + i].getCategoryId();
+            }
+            return ids;
+        }
+
+        /**
+         * The direct children of a category, in name order.
+         *
+         * @param categoryId the category id
+         * @return the children, empty if absent or a leaf
+         */
+        public List<Category> children(int categoryId) {
+            Integer position = positionById.get(categoryId);
+            return position != null ? categoriesAt(children[position]) : List.of();
+        }
+
+        /**
+         * Whether a category has children.
+         *
+         * @param categoryId the category id
+         * @return true if it has at least one child
+         */
+        public boolean hasChildren(int categoryId) {
+            Integer position = positionById.get(categoryId);
+            return position != null && children[position].length > 0;
+        }
+
+        /**
+         * The categories without a parent, in name order.
+         *
+         * @return the roots
+         */
+        public List<Category> roots() {
+            return Arrays.stream(roots)
+                    .mapToObj(root -> categories[root])
+                    .filter(category -> category.getParentCategoryId() == null)
+                    .toList();
+        }
+
+        /**
+         * All categories, in name order.
+         *
+         * @return the categories
+         */
+        public List<Category> all() {
+            return categoriesAt(byName);
+        }
+
+        private List<Category> categoriesAt(int[] positions) {
+            if (positions.length == 0) {
+                return Collections.emptyList();
+            }
+            Category[] result = new Category[positions.length];
+            for (int i = 0; i < positions.length; i++) {
+                result[i] = categories[positions[i]];
+            }
+            return List.of(result);
+        }
+    }
+}
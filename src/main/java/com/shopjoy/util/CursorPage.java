@@ -0,0 +1,63 @@
+package com.shopjoy.util;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Schema(description = "Keyset (cursor) paginated response containing page content and opaque navigation cursors")
+@Getter
+public class CursorPage<T> {
+
+    @Schema(description = "List of items in the current page")
+    private final List<T> content;
+
+    @Schema(description = "Requested number of items per page", example = "10")
+    private final int pageSize;
+
+    @Schema(description = "Opaque cursor for the next page, null on the last page")
+    private final String nextCursor;
+
+    @Schema(description = "Opaque cursor for the previous page, null on the first page")
+    private final String previousCursor;
+
+    @Schema(description = "Whether a next page exists", example = "true")
+    private final boolean hasNext;
+
+    @Schema(description = "Whether a previous page exists", example = "false")
+    private final boolean hasPrevious;
+
+    @Schema(description = "Total number of matching items, only present when requested", example = "100", nullable = true)
+    private final Long totalElements;
+
+    /**
+     * Instantiates a new Cursor page.
+     *
+     * @param content        the content
+     * @param pageSize       the page size
+     * @param nextCursor     the next cursor
+     * @param previousCursor the previous cursor
+     * @param totalElements  the total elements, or null when not counted
+     */
+    public CursorPage(List<T> content, int pageSize, String nextCursor, String previousCursor, Long totalElements) {
+        this.content = content;
+        this.pageSize = pageSize;
+        this.nextCursor = nextCursor;
+        this.previousCursor = previousCursor;
+        this.hasNext = nextCursor != null;
+        this.hasPrevious = previousCursor != null;
+        this.totalElements = totalElements;
+    }
+
+    /**
+     * Returns a page with the same cursors and a converted content list.
+     *
+     * @param converter the list converter
+     * @param <R>       the converted item type
+     * @return the converted page
+     */
+    public <R> CursorPage<R> withContent(Function<List<T>, List<R>> converter) {
+        return new CursorPage<>(converter.apply(content), pageSize, nextCursor, previousCursor, totalElements);
+    }
+}
@@ -0,0 +1,112 @@
+package com.shopjoy.util;
+
+import com.shopjoy.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Position in a keyset (seek) paginated listing.
+ * <p>
+ * A cursor records the sort it was issued for, the direction of travel and the
+ * (sort value, id) pair of the boundary row. It is handed to clients as an opaque
+ * URL-safe token; clients only pass it back to fetch the adjacent page.
+ *
+ * @param sortField the sort column the cursor was issued for
+ * @param direction the sort direction (ASC or DESC) the cursor was issued for
+ * @param backward  true when the cursor points to the page before the boundary row
+ * @param lastId    the id of the boundary row
+ * @param lastValue the sort value of the boundary row as a string, null for SQL NULL
+ */
+public record KeysetCursor(String sortField, String direction, boolean backward, int lastId, String lastValue) {
+
+    private static final String SEPARATOR = "\n";
+
+    /**
+     * Encodes this cursor as an opaque token.
+     *
+     * @return the token
+     */
+    public String encode() {
+        String raw = sortField + SEPARATOR + direction + SEPARATOR + (backward ? "B" : "F") + SEPARATOR
+                + lastId + SEPARATOR + (lastValue == null ? "" : "=" + lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the token
+     * @return the cursor
+     * @throws ValidationException if the token is malformed
+     */
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 5);
+            if (parts.length != 5 || !(parts[2].equals("F") || parts[2].equals("B"))) {
+                throw new ValidationException("cursor", "is malformed");
+            }
+            String value = parts[4].isEmpty() ? null : parts[4].substring(1);
+            return new KeysetCursor(parts[0], parts[1], parts[2].equals("B"), Integer.parseInt(parts[3]), value);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("cursor", "is malformed");
+        }
+    }
+
+    /**
+     * Appends the predicate selecting the rows strictly after the boundary row in scan
+     * order, (sort value, id) pairs compared as a row value. NULL sort values follow the
+     * PostgreSQL defaults: last when ascending, first when descending.
+     *
+     * @param sql       the query, already filtered, to append " AND ..." to
+     * @param params    the query parameters to add the boundary values to
+     * @param column    the sort column; when it is the id column the seek is on the id alone
+     * @param sqlType   the SQL type the string sort value is cast back to
+     * @param nullable  whether the sort column can hold NULL
+     * @param idColumn  the unique id column breaking ties
+     * @param ascending the scan direction of the query
+     */
+    public void appendSeekCondition(StringBuilder sql, List<Object> params, String column, String sqlType,
+            boolean nullable, String idColumn, boolean ascending) {
+        String operator = ascending ? ">" : "<";
+
+        if (column.equals(idColumn)) {
+            sql.append(String.format(" AND %s %s ?", idColumn, operator));
+            params.add(lastId);
+            return;
+        }
+
+        if (lastValue == null) {
+            if (ascending) {
+                sql.append(String.format(" AND (%s IS NULL AND %s > ?)", column, idColumn));
+            } else {
+                sql.append(String.format(" AND (%s IS NOT NULL OR %s < ?)", column, idColumn));
+            }
+            params.add(lastId);
+            return;
+        }
+
+        sql.append(String.format(" AND ((%s, %s) %s (CAST(? AS %s), ?)", column, idColumn, operator, sqlType));
+        if (ascending && nullable) {
+            sql.append(String.format(" OR %s IS NULL", column));
+        }
+        sql.append(")");
+        params.add(lastValue);
+        params.add(lastId);
+    }
+
+    /**
+     * Ensures the cursor was issued for the given sort.
+     *
+     * @param expectedField     the expected sort column
+     * @param expectedDirection the expected direction
+     * @throws ValidationException if the sort does not match
+     */
+    public void requireSort(String expectedField, String expectedDirection) {
+        if (!sortField.equals(expectedField) || !direction.equals(expectedDirection)) {
+            throw new ValidationException("cursor", "was issued for a different sort order");
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.shopjoy.util;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes values to a response stream as newline-delimited JSON, one document per line.
+ * <p>
+ * Each value is serialized and written as soon as it is produced, and the stream is
+ * flushed every {@value #FLUSH_INTERVAL} values, so clients receive rows while the
+ * database cursor is still being read and the server never holds the full result.
+ */
+public class NdjsonWriter {
+
+    private static final int FLUSH_INTERVAL = 256;
+
+    private final OutputStream out;
+    private final ObjectWriter writer;
+    private int unflushed;
+
+    /**
+     * Instantiates a new Ndjson writer.
+     *
+     * @param out          the response stream
+     * @param objectMapper the application object mapper
+     */
+    public NdjsonWriter(OutputStream out, ObjectMapper objectMapper) {
+        this.out = out;
+        this.writer = objectMapper.writer();
+    }
+
+    /**
+     * Builds a streaming response body that runs the producer and writes every value it
+     * emits as one line.
+     *
+     * @param objectMapper the application object mapper
+     * @param producer     emits the values to write
+     * @param <T>          the value type
+     * @return the response body
+     */
+    public static <T> StreamingResponseBody body(ObjectMapper objectMapper, Consumer<Consumer<T>> producer) {
+        return out -> {
+            NdjsonWriter writer = new NdjsonWriter(out, objectMapper);
+            producer.accept(writer::write);
+            writer.flush();
+        };
+    }
+
+    /**
+     * Writes one value as a line of JSON.
+     *
+     * @param value the value
+     * @throws UncheckedIOException if the client has gone away, which stops the producer
+     */
+    public void write(Object value) {
+        try {
+            out.write(writer.writeValueAsBytes(value));
+            out.write('\n');
+            if (++unflushed == FLUSH_INTERVAL) {
+                flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flushes the values written so far to the client.
+     *
+     * @throws UncheckedIOException if the client has gone away
+     */
+    public void flush() {
+        try {
+            out.flush();
+            unflushed = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
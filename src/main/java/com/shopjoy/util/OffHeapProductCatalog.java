@@ -0,0 +1,417 @@
+package com.shopjoy.util;
+
+import com.shopjoy.dto.filter.ProductFilter;
+import com.shopjoy.entity.Product;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.foreign.MemoryLayout.PathElement.groupElement;
+
+/**
+ * The hot product fields, held in memory segments outside the Java heap.
+ * <p>
+ * Each product is a fixed-width row of id, category id, price in cents, creation time in
+ * epoch microseconds, flags and the offset and length of its UTF-8 name in a separate name
+ * segment. Rows are packed densely by slot and a {@link ProductIdIndex} maps each product
+ * id to its slot, so a lookup is a few int probes and a read in place. The collector never
+ * traces or copies the segments, however large the catalog; the heap only holds the id
+ * index.
+ * <p>
+ * A rebuild writes a complete new set of segments in a fresh arena without holding the
+ * lock, then swaps it in under the write lock and closes the old arena. Single-product
+ * writes update rows in place; when a segment fills up, it is copied into a larger arena
+ * the same way, and the name segment is compacted as it goes. Readers hold the read lock
+ * for as long as they touch a segment, so no arena is closed under a reader.
+ * <p>
+ * Stock levels are not held here: they change with every checkout, restock and cancelled
+ * order, none of which go through the product writes that keep this catalog in step.
+ */
+public class OffHeapProductCatalog extends ProductSnapshot<OffHeapProductCatalog.Segments> {
+
+    private static final MemoryLayout ROW_LAYOUT = MemoryLayout.structLayout(
+            ValueLayout.JAVA_INT.withName("productId"),
+            ValueLayout.JAVA_INT.withName("categoryId"),
+            ValueLayout.JAVA_LONG.withName("priceCents"),
+            ValueLayout.JAVA_LONG.withName("createdAt"),
+            ValueLayout.JAVA_INT.withName("flags"),
+            ValueLayout.JAVA_INT.withName("nameLength"),
+            ValueLayout.JAVA_LONG.withName("nameOffset"));
+
+    private static final long ROW_BYTES = ROW_LAYOUT.byteSize();
+    private static final long PRODUCT_ID = ROW_LAYOUT.byteOffset(groupElement("productId"));
+    private static final long CATEGORY_ID = ROW_LAYOUT.byteOffset(groupElement("categoryId"));
+    private static final long PRICE_CENTS = ROW_LAYOUT.byteOffset(groupElement("priceCents"));
+    private static final long CREATED_AT = ROW_LAYOUT.byteOffset(groupElement("createdAt"));
+    private static final long FLAGS = ROW_LAYOUT.byteOffset(groupElement("flags"));
+    private static final long NAME_LENGTH = ROW_LAYOUT.byteOffset(groupElement("nameLength"));
+    private static final long NAME_OFFSET = ROW_LAYOUT.byteOffset(groupElement("nameOffset"));
+
+    private static final int ACTIVE_FLAG = 1;
+    private static final long NO_CREATED_AT = Long.MIN_VALUE;
+    private static final int MIN_ROWS = 1024;
+    private static final long MIN_NAME_BYTES = 64 * 1024;
+
+    private Segments segments;
+    private long arenaSwaps;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Checks whether the catalog holds a product.
+     *
+     * @param productId the product id
+     * @return true when the product is in the catalog
+     */
+    public boolean contains(int productId) {
+        lookups.increment();
+        lock.readLock().lock();
+        try {
+            if (segments == null || segments.index.get(productId) == ProductIdIndex.NO_SLOT) {
+                return false;
+            }
+            hits.increment();
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether a filter can be answered from the catalog. Search terms, brands and stock
+     * conditions need columns that are not held here.
+     *
+     * @param filter the filter
+     * @return true when {@link #findMatching} can serve it
+     */
+    public boolean supports(ProductFilter filter) {
+        return isReady()
+                && (filter.getSearchTerm() == null || filter.getSearchTerm().isBlank())
+                && filter.getBrand() == null
+                && filter.getInStock() == null
+                && filter.getMinStock() == null
+                && filter.getMaxStock() == null;
+    }
+
+    /**
+     * Scans the rows for products matching the filter. The returned products carry only the
+     * hot fields (id, name, category, price, active flag and creation time), enough to sort
+     * them; callers load the full rows of the ones they return.
+     *
+     * @param filter the filter (price range, category, active flag)
+     * @return the matching products, in a list the caller may reorder
+     */
+    public List<Product> findMatching(ProductFilter filter) {
+        long minCents = filter.getMinPrice() == null ? Long.MIN_VALUE
+                : (long) Math.ceil(filter.getMinPrice() * 100 - 1e-6);
+        long maxCents = filter.getMaxPrice() == null ? Long.MAX_VALUE
+                : (long) Math.floor(filter.getMaxPrice() * 100 + 1e-6);
+
+        lock.readLock().lock();
+        try {
+            List<Product> matches = new ArrayList<>();
+            if (segments == null) {
+                return matches;
+            }
+            MemorySegment rows = segments.rows;
+            for (int slot = 0; slot < segments.rowCount; slot++) {
+                long base = slot * ROW_BYTES;
+                long priceCents = rows.get(ValueLayout.JAVA_LONG, base + PRICE_CENTS);
+                if (priceCents < minCents || priceCents > maxCents) {
+                    continue;
+                }
+                if (filter.getCategoryId() != null
+                        && rows.get(ValueLayout.JAVA_INT, base + CATEGORY_ID) != filter.getCategoryId()) {
+                    continue;
+                }
+                if (filter.getIsActive() != null
+                        && ((rows.get(ValueLayout.JAVA_INT, base + FLAGS) & ACTIVE_FLAG) != 0) != filter.getIsActive()) {
+                    continue;
+                }
+                matches.add(segments.product(slot));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets statistics, including the off-heap bytes held by the segments.
+     *
+     * @return the statistics
+     */
+    @Override
+    public Map<String, Object> getStatistics() {
+        lock.readLock().lock();
+        try {
+            long rowSegmentBytes = segments == null ? 0L : segments.rows.byteSize();
+            long nameSegmentBytes = segments == null ? 0L : segments.names.byteSize();
+
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("name", "offHeapProductCatalog");
+            stats.put("ready", isReady());
+            stats.put("rows", segments == null ? 0 : segments.rowCount);
+            stats.put("rowCapacity", segments == null ? 0 : segments.rowCapacity());
+            stats.put("rowBytes", ROW_BYTES);
+            stats.put("rowSegmentBytes", rowSegmentBytes);
+            stats.put("nameSegmentBytes", nameSegmentBytes);
+            stats.put("liveNameBytes", segments == null ? 0L : segments.liveNameBytes);
+            stats.put("offHeapBytes", rowSegmentBytes + nameSegmentBytes);
+            stats.put("idIndexCapacity", segments == null ? 0 : segments.index.capacity());
+            stats.put("arenaSwaps", arenaSwaps);
+            stats.put("lookups", lookups.sum());
+            stats.put("hits", hits.sum());
+            stats.put("lastBuildMillis", lastBuildMillis());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected Segments build(List<Product> products) {
+        List<Product> sorted = new ArrayList<>(products);
+        sorted.sort(Comparator.comparingInt(Product::getProductId));
+
+        byte[][] encodedNames = new byte[sorted.size()][];
+        long nameBytes = 0;
+        for (int i = 0; i < sorted.size(); i++) {
+            encodedNames[i] = encode(sorted.get(i).getProductName());
+            nameBytes += encodedNames[i].length;
+        }
+
+        Segments built = Segments.allocate(Math.max(MIN_ROWS, sorted.size() + sorted.size() / 4),
+                Math.max(MIN_NAME_BYTES, nameBytes + nameBytes / 4), new ProductIdIndex(sorted.size()));
+        try {
+            for (int i = 0; i < sorted.size(); i++) {
+                Product product = sorted.get(i);
+                int slot = built.index.get(product.getProductId());
+                if (slot == ProductIdIndex.NO_SLOT) {
+                    slot = built.rowCount++;
+                    built.index.put(product.getProductId(), slot);
+                } else {
+                    built.liveNameBytes -= built.rows.get(ValueLayout.JAVA_INT, slot * ROW_BYTES + NAME_LENGTH);
+                }
+                built.writeRow(slot, product, encodedNames[i].length, built.appendName(encodedNames[i]));
+            }
+            return built;
+        } catch (RuntimeException e) {
+            built.arena.close();
+            throw e;
+        }
+    }
+
+    @Override
+    protected void install(Segments built) {
+        swap(built);
+    }
+
+    @Override
+    protected void upsertEntry(Product product) {
+        int productId = product.getProductId();
+        if (productId <= 0) {
+            return;
+        }
+        byte[] name = encode(product.getProductName());
+        if (segments == null) {
+            swap(Segments.allocate(MIN_ROWS, MIN_NAME_BYTES, new ProductIdIndex()));
+        }
+
+        int slot = segments.index.get(productId);
+        if (slot != ProductIdIndex.NO_SLOT) {
+            long base = slot * ROW_BYTES;
+            int oldLength = segments.rows.get(ValueLayout.JAVA_INT, base + NAME_LENGTH);
+            if (name.length <= oldLength) {
+                // The new name fits where the old one was
+                long nameOffset = segments.rows.get(ValueLayout.JAVA_LONG, base + NAME_OFFSET);
+                MemorySegment.copy(name, 0, segments.names, ValueLayout.JAVA_BYTE, nameOffset, name.length);
+                segments.liveNameBytes -= oldLength - name.length;
+                segments.writeRow(slot, product, name.length, nameOffset);
+                return;
+            }
+            ensureCapacity(0, name.length);
+            segments.liveNameBytes -= oldLength;
+        } else {
+            ensureCapacity(1, name.length);
+            slot = segments.rowCount++;
+            segments.index.put(productId, slot);
+        }
+        segments.writeRow(slot, product, name.length, segments.appendName(name));
+    }
+
+    /**
+     * Removes a row by moving the last row into its slot, so the rows stay dense.
+     */
+    @Override
+    protected void removeEntry(int productId) {
+        if (segments == null) {
+            return;
+        }
+        int slot = segments.index.get(productId);
+        if (slot == ProductIdIndex.NO_SLOT) {
+            return;
+        }
+        MemorySegment rows = segments.rows;
+        segments.liveNameBytes -= rows.get(ValueLayout.JAVA_INT, slot * ROW_BYTES + NAME_LENGTH);
+
+        int last = segments.rowCount - 1;
+        if (slot != last) {
+            MemorySegment.copy(rows, last * ROW_BYTES, rows, slot * ROW_BYTES, ROW_BYTES);
+            segments.index.put(rows.get(ValueLayout.JAVA_INT, slot * ROW_BYTES + PRODUCT_ID), slot);
+        }
+        segments.index.remove(productId);
+        segments.rowCount--;
+    }
+
+    /**
+     * Makes room for more rows and name bytes, copying the rows and the live names into a
+     * larger arena when either segment is full.
+     */
+    private void ensureCapacity(int extraRows, long extraNameBytes) {
+        boolean rowsFit = segments.rowCount + extraRows <= segments.rowCapacity();
+        boolean namesFit = segments.nameBytesUsed + extraNameBytes <= segments.names.byteSize();
+        if (rowsFit && namesFit) {
+            return;
+        }
+
+        int rowCapacity = rowsFit ? segments.rowCapacity() : segments.rowCapacity() * 2;
+        long nameCapacity = Math.max(MIN_NAME_BYTES, (segments.liveNameBytes + extraNameBytes) * 2);
+        Segments grown = Segments.allocate(rowCapacity, nameCapacity, segments.index);
+        MemorySegment.copy(segments.rows, 0, grown.rows, 0, segments.rowCount * ROW_BYTES);
+        grown.rowCount = segments.rowCount;
+        for (int slot = 0; slot < grown.rowCount; slot++) {
+            long base = slot * ROW_BYTES;
+            long offset = segments.rows.get(ValueLayout.JAVA_LONG, base + NAME_OFFSET);
+            int length = segments.rows.get(ValueLayout.JAVA_INT, base + NAME_LENGTH);
+            MemorySegment.copy(segments.names, offset, grown.names, grown.nameBytesUsed, length);
+            grown.rows.set(ValueLayout.JAVA_LONG, base + NAME_OFFSET, grown.nameBytesUsed);
+            grown.nameBytesUsed += length;
+        }
+        grown.liveNameBytes = grown.nameBytesUsed;
+        swap(grown);
+    }
+
+    /**
+     * Replaces the segments and frees the old arena. Runs under the write lock, so no
+     * reader can still be using the old segments.
+     */
+    private void swap(Segments next) {
+        Segments previous = segments;
+        segments = next;
+        arenaSwaps++;
+        if (previous != null) {
+            previous.arena.close();
+        }
+    }
+
+    private static byte[] encode(String name) {
+        return name == null ? new byte[0] : name.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Row and name segments in one arena, with the id-to-slot index over the rows.
+     */
+    static final class Segments {
+
+        private final Arena arena;
+        private final MemorySegment rows;
+        private final MemorySegment names;
+        private final ProductIdIndex index;
+        private int rowCount;
+        private long nameBytesUsed;
+        private long liveNameBytes;
+
+        private Segments(Arena arena, MemorySegment rows, MemorySegment names, ProductIdIndex index) {
+            this.arena = arena;
+            this.rows = rows;
+            this.names = names;
+            this.index = index;
+        }
+
+        private static Segments allocate(int rowCapacity, long nameCapacity, ProductIdIndex index) {
+            Arena arena = Arena.ofShared();
+            try {
+                return new Segments(arena,
+                        arena.allocate(rowCapacity * ROW_BYTES, ROW_LAYOUT.byteAlignment()),
+                        arena.allocate(nameCapacity),
+                        index);
+            } catch (RuntimeException | OutOfMemoryError e) {
+                arena.close();
+                throw e;
+            }
+        }
+
+        private int rowCapacity() {
+            return (int) (rows.byteSize() / ROW_BYTES);
+        }
+
+        /**
+         * Copies a name to the end of the name segment, which must have room for it.
+         */
+        private long appendName(byte[] name) {
+            long offset = nameBytesUsed;
+            MemorySegment.copy(name, 0, names, ValueLayout.JAVA_BYTE, offset, name.length);
+            nameBytesUsed += name.length;
+            liveNameBytes += name.length;
+            return offset;
+        }
+
+        private void writeRow(int slot, Product product, int nameLength, long nameOffset) {
+            long base = slot * ROW_BYTES;
+            rows.set(ValueLayout.JAVA_INT, base + PRODUCT_ID, product.getProductId());
+            rows.set(ValueLayout.JAVA_INT, base + CATEGORY_ID, product.getCategoryId());
+            rows.set(ValueLayout.JAVA_LONG, base + PRICE_CENTS, Math.round(product.getPrice() * 100));
+            rows.set(ValueLayout.JAVA_LONG, base + CREATED_AT, toMicros(product.getCreatedAt()));
+            rows.set(ValueLayout.JAVA_INT, base + FLAGS, product.isActive() ? ACTIVE_FLAG : 0);
+            rows.set(ValueLayout.JAVA_INT, base + NAME_LENGTH, nameLength);
+            rows.set(ValueLayout.JAVA_LONG, base + NAME_OFFSET, nameOffset);
+        }
+
+        /**
+         * Reads a row back as a product carrying only the hot fields.
+         */
+        private Product product(int slot) {
+            long base = slot * ROW_BYTES;
+            long nameOffset = rows.get(ValueLayout.JAVA_LONG, base + NAME_OFFSET);
+            int nameLength = rows.get(ValueLayout.JAVA_INT, base + NAME_LENGTH);
+            byte[] name = names.asSlice(nameOffset, nameLength).toArray(ValueLayout.JAVA_BYTE);
+
+            return Product.builder()
+                    .productId(rows.get(ValueLayout.JAVA_INT, base + PRODUCT_ID))
+                    .categoryId(rows.get(ValueLayout.JAVA_INT, base + CATEGORY_ID))
+                    .productName(new String(name, StandardCharsets.UTF_8))
+                    .price(rows.get(ValueLayout.JAVA_LONG, base + PRICE_CENTS) / 100.0)
+                    .active((rows.get(ValueLayout.JAVA_INT, base + FLAGS) & ACTIVE_FLAG) != 0)
+                    .createdAt(fromMicros(rows.get(ValueLayout.JAVA_LONG, base + CREATED_AT)))
+                    .build();
+        }
+
+        private static long toMicros(LocalDateTime dateTime) {
+            if (dateTime == null) {
+                return NO_CREATED_AT;
+            }
+            return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+        }
+
+        private static LocalDateTime fromMicros(long micros) {
+            if (micros == NO_CREATED_AT) {
+                return null;
+            }
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.shopjoy.util;
+
+import com.shopjoy.dto.filter.ProductFilter;
+import com.shopjoy.entity.Product;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Struct-of-arrays snapshot of the filterable and sortable product columns.
+ * <p>
+ * Rows are kept dense and ordered by product id, so a row is found by binary search on
+ * the id column and a stable sort of matching rows breaks ties by id. Prices are stored
+ * in cents, creation times in epoch microseconds, the active flag in a BitSet and the
+ * brand as a code into a dictionary of distinct brand names.
+ * <p>
+ * Filters are evaluated as branch-free passes over the primitive columns into a byte
+ * selection vector, which the JIT can unroll and vectorize, and queries return only the
+ * ids of the requested page so callers hydrate just those rows.
+ */
+public class ProductColumnStore extends ProductSnapshot<List<Product>> {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NO_BRAND = -1;
+
+    /**
+     * Sort columns (as returned by SortValidator) that have a primitive column here.
+     */
+    private static final Set<String> SORTABLE_COLUMNS = Set.of("product_id", "price", "created_at", "category_id");
+
+    private int size;
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int[] categoryIds = new int[INITIAL_CAPACITY];
+    private long[] priceCents = new long[INITIAL_CAPACITY];
+    private long[] createdAt = new long[INITIAL_CAPACITY];
+    private int[] brandCodes = new int[INITIAL_CAPACITY];
+    private BitSet active = new BitSet(INITIAL_CAPACITY);
+    private List<String> brandDictionary = new ArrayList<>();
+    private Map<String, Integer> brandCodesByName = new HashMap<>();
+
+    /**
+     * Ids of one page of matching rows, with the total number of matches.
+     *
+     * @param ids   the page ids in sort order
+     * @param total the total number of matching rows
+     */
+    public record IdPage(int[] ids, int total) {
+    }
+
+    @Override
+    protected List<Product> build(List<Product> products) {
+        List<Product> sorted = new ArrayList<>(products);
+        sorted.sort(Comparator.comparingInt(Product::getProductId));
+        return sorted;
+    }
+
+    @Override
+    protected void install(List<Product> products) {
+        int capacity = Math.max(INITIAL_CAPACITY, products.size());
+        size = 0;
+        ids = new int[capacity];
+        categoryIds = new int[capacity];
+        priceCents = new long[capacity];
+        createdAt = new long[capacity];
+        brandCodes = new int[capacity];
+        active = new BitSet(capacity);
+        brandDictionary = new ArrayList<>();
+        brandCodesByName = new HashMap<>();
+        for (Product product : products) {
+            writeRow(size++, product);
+        }
+    }
+
+    /**
+     * Whether a filter and sort can be answered from the snapshot. Search terms and stock
+     * conditions are not columns here, and neither are the name, cost price and update time
+     * sort orders.
+     *
+     * @param filter     the filter
+     * @param sortColumn the validated sort column
+     * @return true when {@link #query} can serve it
+     */
+    public boolean supports(ProductFilter filter, String sortColumn) {
+        return isReady()
+                && SORTABLE_COLUMNS.contains(sortColumn)
+                && (filter.getSearchTerm() == null || filter.getSearchTerm().isBlank())
+                && filter.getInStock() == null
+                && filter.getMinStock() == null
+                && filter.getMaxStock() == null;
+    }
+
+    /**
+     * Scans the columns for rows matching the filter and returns the ids of one page.
+     *
+     * @param filter     the filter (price range, category, active flag, brand)
+     * @param sortColumn the validated sort column, one of the columns accepted by {@link #supports}
+     * @param descending whether to sort descending
+     * @param offset     the page offset
+     * @param limit      the page size
+     * @return the page ids and total match count
+     */
+    public IdPage query(ProductFilter filter, String sortColumn, boolean descending, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            int n = size;
+            byte[] selected = new byte[n];
+            Arrays.fill(selected, (byte) 1);
+
+            if (filter.getMinPrice() != null) {
+                long min = (long) Math.ceil(filter.getMinPrice() * 100 - 1e-6);
+                for (int i = 0; i < n; i++) {
+                    selected[i] &= (byte) (priceCents[i] >= min ? 1 : 0);
+                }
+            }
+            if (filter.getMaxPrice() != null) {
+                long max = (long) Math.floor(filter.getMaxPrice() * 100 + 1e-6);
+                for (int i = 0; i < n; i++) {
+                    selected[i] &= (byte) (priceCents[i] <= max ? 1 : 0);
+                }
+            }
+            if (filter.getCategoryId() != null) {
+                int category = filter.getCategoryId();
+                for (int i = 0; i < n; i++) {
+                    selected[i] &= (byte) (categoryIds[i] == category ? 1 : 0);
+                }
+            }
+            if (filter.getBrand() != null) {
+                Integer code = brandCodesByName.get(filter.getBrand());
+                if (code == null) {
+                    return new IdPage(new int[0], 0);
+                }
+                int brandCode = code;
+                for (int i = 0; i < n; i++) {
+                    selected[i] &= (byte) (brandCodes[i] == brandCode ? 1 : 0);
+                }
+            }
+            if (filter.getIsActive() != null) {
+                boolean wanted = filter.getIsActive();
+                for (int i = 0; i < n; i++) {
+                    selected[i] &= (byte) (active.get(i) == wanted ? 1 : 0);
+                }
+            }
+
+            int matches = 0;
+            for (int i = 0; i < n; i++) {
+                matches += selected[i];
+            }
+            int[] rows = new int[matches];
+            for (int i = 0, r = 0; i < n; i++) {
+                if (selected[i] != 0) {
+                    rows[r++] = i;
+                }
+            }
+
+            int from = Math.min(offset, matches);
+            int to = Math.min(from + limit, matches);
+            int[] pageIds = new int[to - from];
+
+            if (sortColumn.equals("product_id")) {
+                // Rows are already in ascending id order
+                for (int i = from; i < to; i++) {
+                    pageIds[i - from] = ids[rows[descending ? matches - 1 - i : i]];
+                }
+                return new IdPage(pageIds, matches);
+            }
+
+            long[] keys = new long[matches];
+            long[] column = switch (sortColumn) {
+                case "price" -> priceCents;
+                case "created_at" -> createdAt;
+                default -> null;
+            };
+            for (int i = 0; i < matches; i++) {
+                keys[i] = column != null ? column[rows[i]] : categoryIds[rows[i]];
+            }
+            int[] order = SortingAlgorithms.radixSortOrder(keys, descending);
+            for (int i = from; i < to; i++) {
+                pageIds[i - from] = ids[rows[order[i]]];
+            }
+            return new IdPage(pageIds, matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets statistics, including the bytes held by the column arrays.
+     *
+     * @return the statistics
+     */
+    @Override
+    public Map<String, Object> getStatistics() {
+        lock.readLock().lock();
+        try {
+            long columnBytes = 4L * ids.length + 4L * categoryIds.length + 8L * priceCents.length
+                    + 8L * createdAt.length + 4L * brandCodes.length + active.size() / 8;
+            long dictionaryBytes = 0;
+            for (String brand : brandDictionary) {
+                dictionaryBytes += 40 + brand.length() + 36;
+            }
+
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("name", "productColumnStore");
+            stats.put("ready", isReady());
+            stats.put("rows", size);
+            stats.put("capacity", ids.length);
+            stats.put("distinctBrands", brandDictionary.size());
+            stats.put("columnBytes", columnBytes);
+            stats.put("dictionaryBytes", dictionaryBytes);
+            stats.put("lastBuildMillis", lastBuildMillis());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected void upsertEntry(Product product) {
+        int row = Arrays.binarySearch(ids, 0, size, product.getProductId());
+        if (row < 0) {
+            row = -row - 1;
+            ensureCapacity(size + 1);
+            shiftRows(row, size, 1);
+            size++;
+        }
+        writeRow(row, product);
+    }
+
+    @Override
+    protected void removeEntry(int productId) {
+        int row = Arrays.binarySearch(ids, 0, size, productId);
+        if (row < 0) {
+            return;
+        }
+        shiftRows(row + 1, size, -1);
+        size--;
+        active.clear(size);
+    }
+
+    private void writeRow(int row, Product product) {
+        ids[row] = product.getProductId();
+        categoryIds[row] = product.getCategoryId();
+        priceCents[row] = Math.round(product.getPrice() * 100);
+        createdAt[row] = toEpochMicros(product.getCreatedAt());
+        brandCodes[row] = encodeBrand(product.getBrand());
+        active.set(row, product.isActive());
+    }
+
+    /**
+     * Moves rows [from, to) by delta positions in every column.
+     */
+    private void shiftRows(int from, int to, int delta) {
+        int length = to - from;
+        System.arraycopy(ids, from, ids, from + delta, length);
+        System.arraycopy(categoryIds, from, categoryIds, from + delta, length);
+        System.arraycopy(priceCents, from, priceCents, from + delta, length);
+        System.arraycopy(createdAt, from, createdAt, from + delta, length);
+        System.arraycopy(brandCodes, from, brandCodes, from + delta, length);
+        if (delta > 0) {
+            for (int i = to - 1; i >= from; i--) {
+                active.set(i + delta, active.get(i));
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                active.set(i + delta, active.get(i));
+            }
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            int newCapacity = Math.max(capacity, ids.length * 2);
+            ids = Arrays.copyOf(ids, newCapacity);
+            categoryIds = Arrays.copyOf(categoryIds, newCapacity);
+            priceCents = Arrays.copyOf(priceCents, newCapacity);
+            createdAt = Arrays.copyOf(createdAt, newCapacity);
+            brandCodes = Arrays.copyOf(brandCodes, newCapacity);
+        }
+    }
+
+    private int encodeBrand(String brand) {
+        if (brand == null) {
+            return NO_BRAND;
+        }
+        return brandCodesByName.computeIfAbsent(brand, name -> {
+            brandDictionary.add(name);
+            return brandDictionary.size() - 1;
+        });
+    }
+
+    private static long toEpochMicros(LocalDateTime value) {
+        if (value == null) {
+            return Long.MAX_VALUE;
+        }
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+    }
+}
@@ -2,7 +2,10 @@ package com.shopjoy.util;
 
 import com.shopjoy.entity.Product;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Comparator;
+import java.util.function.ToLongFunction;
 
 public class ProductComparators {
 
@@ -40,4 +43,31 @@ public class ProductComparators {
             default -> isDesc ? BY_ID_DESC : BY_ID_ASC;
         };
     }
+
+    /**
+     * Primitive sort key for {@link SortingAlgorithms#radixSort}: price in cents, created_at
+     * in epoch microseconds, or the product id for any other non-name field. Missing
+     * creation dates sort last in both directions, as with the comparators.
+     *
+     * @param sortBy    the sort field
+     * @param direction the sort direction
+     * @return the key extractor, or null when the field has no numeric key (name)
+     */
+    public static ToLongFunction<Product> getRadixKey(String sortBy, String direction) {
+        boolean isDesc = "DESC".equalsIgnoreCase(direction);
+        long missing = isDesc ? Long.MIN_VALUE : Long.MAX_VALUE;
+
+        return switch (sortBy.toLowerCase()) {
+            case "price" -> product -> Math.round(product.getPrice() * 100);
+            case "name", "product_name" -> null;
+            case "createdat", "created_at" -> product -> {
+                LocalDateTime createdAt = product.getCreatedAt();
+                if (createdAt == null) {
+                    return missing;
+                }
+                return createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + createdAt.getNano() / 1_000;
+            };
+            default -> Product::getProductId;
+        };
+    }
 }
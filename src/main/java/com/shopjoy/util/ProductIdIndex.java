@@ -0,0 +1,178 @@
+package com.shopjoy.util;
+
+/**
+ * Primitive int-keyed map from product id to the slot holding that product's row in
+ * {@link OffHeapProductCatalog}.
+ * <p>
+ * Ids live in an open-addressing table of ints with linear probing, and the slot for an id
+ * sits in the parallel int array, so a lookup hashes the id, probes a few adjacent ints and
+ * returns the slot without boxing the key or allocating. The table stays at most half full,
+ * and removals shift later entries of the probe run back instead of leaving tombstones, so
+ * probe sequences stay short however many products are created and deleted.
+ * <p>
+ * Product ids are positive, which leaves 0 free to mark empty slots. The map is not
+ * thread-safe; its owner guards it with its own lock.
+ */
+public class ProductIdIndex {
+
+    /**
+     * Returned by {@link #get} for ids that are not in the map.
+     */
+    public static final int NO_SLOT = -1;
+
+    private static final int MIN_CAPACITY = 1024;
+    private static final int EMPTY = 0;
+
+    private int[] keys;
+    private int[] slots;
+    private int size;
+
+    /**
+     * Instantiates a new Product id index with the smallest table.
+     */
+    public ProductIdIndex() {
+        this(0);
+    }
+
+    /**
+     * Instantiates a new Product id index sized for a number of entries.
+     *
+     * @param expectedEntries the number of entries to hold without resizing
+     */
+    public ProductIdIndex(int expectedEntries) {
+        int capacity = capacityFor(expectedEntries);
+        keys = new int[capacity];
+        slots = new int[capacity];
+    }
+
+    /**
+     * Returns the slot stored for an id.
+     *
+     * @param productId the product id
+     * @return the slot, or {@link #NO_SLOT} when there is none
+     */
+    public int get(int productId) {
+        if (productId <= 0) {
+            return NO_SLOT;
+        }
+        int mask = keys.length - 1;
+        for (int i = hash(productId) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == productId) {
+                return slots[i];
+            }
+        }
+        return NO_SLOT;
+    }
+
+    /**
+     * Stores the slot for an id, replacing any previous one.
+     *
+     * @param productId the product id, ignored unless positive
+     * @param slot      the slot
+     */
+    public void put(int productId, int slot) {
+        if (productId <= 0) {
+            return;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+
+        int mask = keys.length - 1;
+        int i = hash(productId) & mask;
+        while (keys[i] != EMPTY && keys[i] != productId) {
+            i = (i + 1) & mask;
+        }
+        if (keys[i] == EMPTY) {
+            keys[i] = productId;
+            size++;
+        }
+        slots[i] = slot;
+    }
+
+    /**
+     * Removes an entry and shifts the rest of its probe run back, so every remaining key
+     * stays reachable from its home position without tombstones.
+     *
+     * @param productId the product id
+     */
+    public void remove(int productId) {
+        if (productId <= 0) {
+            return;
+        }
+        int mask = keys.length - 1;
+        int i = hash(productId) & mask;
+        while (keys[i] != productId) {
+            if (keys[i] == EMPTY) {
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+
+        int gap = i;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = hash(keys[next]) & mask;
+            // Move the entry into the gap unless its home position lies cyclically in (gap, next].
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                slots[gap] = slots[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        size--;
+
+        if (keys.length > MIN_CAPACITY && size * 8 < keys.length) {
+            resize(keys.length / 2);
+        }
+    }
+
+    /**
+     * Number of ids in the map.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Length of the key table.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new int[capacity];
+        slots = new int[capacity];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldSlots[i]);
+            }
+        }
+    }
+
+    private static int capacityFor(int entries) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < entries * 2L) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Fibonacci hashing; sequential ids spread over the whole table instead of forming one run.
+     */
+    private static int hash(int productId) {
+        int h = productId * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,459 @@
+package com.shopjoy.util;
+
+import com.shopjoy.entity.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * In-process inverted index over product name, brand and description.
+ * <p>
+ * Text is lower-cased and split into alphanumeric words; every word of three or more
+ * characters is indexed by its trigrams, shorter words as a whole. A query word matches a
+ * product when the word occurs as a substring of one of its fields: candidates come from
+ * intersecting the postings of the word's trigrams and are then verified against the
+ * stored text. Matches are ranked with BM25 over field-weighted term frequencies
+ * (name counts three times, brand twice, description once).
+ * <p>
+ * A query needs at least one word of three or more characters: only such words have
+ * trigram postings to draw candidates from, and a query made of shorter words alone would
+ * have to check every document. {@link #supports(String)} tells callers whether to send
+ * a query here or to another search path.
+ * <p>
+ * Reads share a read lock; single-product updates and the swap at the end of a rebuild
+ * take the write lock. Updates arriving while a rebuild is loading are replayed onto the
+ * rebuilt index, so they are never lost.
+ */
+public class ProductSearchIndex extends ProductSnapshot<ProductSearchIndex.Segment> {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_WEIGHT = 3;
+    private static final int BRAND_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int GRAM_SIZE = 3;
+    private static final int BUILD_CHUNK_SIZE = 1024;
+
+    // Rough 64-bit JVM sizes with compressed oops and compact (Latin-1) strings.
+    private static final int MAP_ENTRY_BYTES = 36;
+    private static final int BOXED_INTEGER_BYTES = 16;
+
+    private Map<String, Postings> postings = new HashMap<>();
+    private Map<Integer, Document> documents = new HashMap<>();
+    private long totalLength;
+
+    /**
+     * A ranked match.
+     *
+     * @param productId the product id
+     * @param score     the BM25 score
+     */
+    public record Hit(int productId, double score) {
+    }
+
+    /**
+     * Tokenizes the given products in parallel into a new segment.
+     */
+    @Override
+    protected Segment build(List<Product> products) {
+        return buildSegment(products);
+    }
+
+    @Override
+    protected void install(Segment segment) {
+        postings = segment.postings;
+        documents = segment.documents;
+        totalLength = segment.totalLength;
+    }
+
+    @Override
+    protected void upsertEntry(Product product) {
+        removeDocument(product.getProductId());
+        addDocument(product);
+    }
+
+    @Override
+    protected void removeEntry(int productId) {
+        removeDocument(productId);
+    }
+
+    /**
+     * Whether the index can answer a query without scanning every document, which is the
+     * case when at least one of its words has three or more characters.
+     *
+     * @param query the query
+     * @return true when {@link #search(String)} accepts the query
+     */
+    public boolean supports(String query) {
+        for (String word : words(query)) {
+            if (word.length() >= GRAM_SIZE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the products matching every word of the query, best match first.
+     *
+     * @param query the query, one {@link #supports(String)} accepts
+     * @return the hits ordered by descending score, then product id
+     * @throws IllegalArgumentException if no word of the query has three or more characters
+     */
+    public List<Hit> search(String query) {
+        if (!supports(query)) {
+            throw new IllegalArgumentException("Index searches need a word of at least " + GRAM_SIZE + " characters");
+        }
+        String[] words = words(query);
+
+        Set<String> terms = new HashSet<>();
+        Set<String> gramTerms = new HashSet<>();
+        for (String word : words) {
+            if (word.length() < GRAM_SIZE) {
+                terms.add(word);
+            } else {
+                for (int i = 0; i + GRAM_SIZE <= word.length(); i++) {
+                    gramTerms.add(word.substring(i, i + GRAM_SIZE));
+                }
+            }
+        }
+        terms.addAll(gramTerms);
+
+        lock.readLock().lock();
+        try {
+            List<Postings> required = new ArrayList<>(gramTerms.size());
+            for (String term : gramTerms) {
+                Postings termPostings = postings.get(term);
+                if (termPostings == null) {
+                    return List.of();
+                }
+                required.add(termPostings);
+            }
+
+            int[] candidates = intersect(required);
+            double averageLength = documents.isEmpty() ? 0 : (double) totalLength / documents.size();
+
+            List<Hit> hits = new ArrayList<>();
+            for (int productId : candidates) {
+                Document document = documents.get(productId);
+                if (document == null || !document.containsAll(words)) {
+                    continue;
+                }
+                double score = 0;
+                for (String term : terms) {
+                    Postings termPostings = postings.get(term);
+                    if (termPostings != null) {
+                        score += bm25(termPostings, productId, document.length, averageLength);
+                    }
+                }
+                hits.add(new Hit(productId, score));
+            }
+
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparingInt(Hit::productId));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets statistics, including an estimate of the heap retained by the index.
+     *
+     * @return the statistics
+     */
+    @Override
+    public Map<String, Object> getStatistics() {
+        lock.readLock().lock();
+        try {
+            long postingEntries = 0;
+            long bytes = 0;
+            for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                postingEntries += entry.getValue().size;
+                bytes += estimateStringBytes(entry.getKey()) + entry.getValue().estimateBytes() + MAP_ENTRY_BYTES;
+            }
+            for (Document document : documents.values()) {
+                bytes += document.estimateBytes() + MAP_ENTRY_BYTES + BOXED_INTEGER_BYTES;
+            }
+
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("name", "productSearchIndex");
+            stats.put("ready", isReady());
+            stats.put("documents", documents.size());
+            stats.put("terms", postings.size());
+            stats.put("postings", postingEntries);
+            stats.put("averageDocumentLength", documents.isEmpty() ? 0.0 : (double) totalLength / documents.size());
+            stats.put("estimatedBytes", bytes);
+            stats.put("lastBuildMillis", lastBuildMillis());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double bm25(Postings termPostings, int productId, int documentLength, double averageLength) {
+        int frequency = termPostings.frequency(productId);
+        if (frequency == 0) {
+            return 0;
+        }
+        int documentCount = documents.size();
+        double idf = Math.log(1 + (documentCount - termPostings.size + 0.5) / (termPostings.size + 0.5));
+        double norm = K1 * (1 - B + B * documentLength / averageLength);
+        return idf * frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    private static int[] intersect(List<Postings> required) {
+        required.sort(Comparator.comparingInt(p -> p.size));
+        Postings smallest = required.getFirst();
+        int[] result = Arrays.copyOf(smallest.productIds, smallest.size);
+        int length = result.length;
+        for (int i = 1; i < required.size() && length > 0; i++) {
+            Postings other = required.get(i);
+            int kept = 0;
+            for (int j = 0; j < length; j++) {
+                if (other.indexOf(result[j]) >= 0) {
+                    result[kept++] = result[j];
+                }
+            }
+            length = kept;
+        }
+        return Arrays.copyOf(result, length);
+    }
+
+    private void addDocument(Product product) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        Document document = Document.of(product, frequencies);
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), _ -> new Postings()).add(product.getProductId(), entry.getValue());
+        }
+        documents.put(product.getProductId(), document);
+        totalLength += document.length;
+    }
+
+    private void removeDocument(int productId) {
+        Document document = documents.remove(productId);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.termFrequencies().keySet()) {
+            Postings termPostings = postings.get(term);
+            if (termPostings != null && termPostings.remove(productId) && termPostings.size == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= document.length;
+    }
+
+    /**
+     * Builds a segment from id-ordered chunks in parallel. Each chunk produces postings
+     * already sorted by product id; appending the chunks in order keeps them sorted.
+     */
+    private static Segment buildSegment(List<Product> products) {
+        List<Product> sorted = new ArrayList<>(products);
+        sorted.sort(Comparator.comparingInt(Product::getProductId));
+
+        int chunks = (sorted.size() + BUILD_CHUNK_SIZE - 1) / BUILD_CHUNK_SIZE;
+        List<Segment> partials = IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> {
+                    Segment partial = new Segment();
+                    int end = Math.min(sorted.size(), (chunk + 1) * BUILD_CHUNK_SIZE);
+                    for (Product product : sorted.subList(chunk * BUILD_CHUNK_SIZE, end)) {
+                        Map<String, Integer> frequencies = new HashMap<>();
+                        Document document = Document.of(product, frequencies);
+                        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                            partial.postings.computeIfAbsent(entry.getKey(), _ -> new Postings())
+                                    .append(product.getProductId(), entry.getValue());
+                        }
+                        partial.documents.put(product.getProductId(), document);
+                        partial.totalLength += document.length;
+                    }
+                    return partial;
+                })
+                .toList();
+
+        Segment merged = new Segment();
+        for (Segment partial : partials) {
+            for (Map.Entry<String, Postings> entry : partial.postings.entrySet()) {
+                Postings target = merged.postings.get(entry.getKey());
+                if (target == null) {
+                    merged.postings.put(entry.getKey(), entry.getValue());
+                } else {
+                    target.appendAll(entry.getValue());
+                }
+            }
+            merged.documents.putAll(partial.documents);
+            merged.totalLength += partial.totalLength;
+        }
+        return merged;
+    }
+
+    private static String[] words(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        String normalized = normalize(text).trim();
+        return normalized.isEmpty() ? new String[0] : normalized.split(" +");
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        text.toLowerCase(Locale.ROOT).codePoints().forEach(cp ->
+                normalized.appendCodePoint(Character.isLetterOrDigit(cp) ? cp : ' '));
+        return normalized.toString();
+    }
+
+    private static void countTerms(String normalizedField, int weight, Map<String, Integer> frequencies) {
+        for (String word : normalizedField.trim().split(" +")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (word.length() < GRAM_SIZE) {
+                frequencies.merge(word, weight, Integer::sum);
+            } else {
+                for (int i = 0; i + GRAM_SIZE <= word.length(); i++) {
+                    frequencies.merge(word.substring(i, i + GRAM_SIZE), weight, Integer::sum);
+                }
+            }
+        }
+    }
+
+    private static long estimateStringBytes(String value) {
+        return value == null ? 0 : 24 + 16 + value.length();
+    }
+
+    /**
+     * Normalized searchable text of one product. Term frequencies are recomputed from it
+     * on removal instead of being kept per document.
+     */
+    private record Document(String name, String brand, String description, int length) {
+
+        /**
+         * Normalizes a product and collects its weighted term frequencies into the given map.
+         */
+        static Document of(Product product, Map<String, Integer> frequencies) {
+            String name = normalize(product.getProductName());
+            String brand = normalize(product.getBrand());
+            String description = normalize(product.getDescription());
+            countTerms(name, NAME_WEIGHT, frequencies);
+            countTerms(brand, BRAND_WEIGHT, frequencies);
+            countTerms(description, DESCRIPTION_WEIGHT, frequencies);
+            int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+            return new Document(name, brand, description, length);
+        }
+
+        Map<String, Integer> termFrequencies() {
+            Map<String, Integer> frequencies = new HashMap<>();
+            countTerms(name, NAME_WEIGHT, frequencies);
+            countTerms(brand, BRAND_WEIGHT, frequencies);
+            countTerms(description, DESCRIPTION_WEIGHT, frequencies);
+            return frequencies;
+        }
+
+        boolean containsAll(String[] words) {
+            for (String word : words) {
+                if (!name.contains(word) && !brand.contains(word) && !description.contains(word)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long estimateBytes() {
+            return 24 + estimateStringBytes(name) + estimateStringBytes(brand) + estimateStringBytes(description);
+        }
+    }
+
+    /**
+     * Postings list of one term: product ids in ascending order with parallel frequencies.
+     */
+    private static final class Postings {
+        private int[] productIds = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        int indexOf(int productId) {
+            return Arrays.binarySearch(productIds, 0, size, productId);
+        }
+
+        int frequency(int productId) {
+            int index = indexOf(productId);
+            return index >= 0 ? frequencies[index] : 0;
+        }
+
+        void append(int productId, int frequency) {
+            ensureCapacity(size + 1);
+            productIds[size] = productId;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void appendAll(Postings other) {
+            ensureCapacity(size + other.size);
+            System.arraycopy(other.productIds, 0, productIds, size, other.size);
+            System.arraycopy(other.frequencies, 0, frequencies, size, other.size);
+            size += other.size;
+        }
+
+        void add(int productId, int frequency) {
+            if (size == 0 || productIds[size - 1] < productId) {
+                append(productId, frequency);
+                return;
+            }
+            int index = indexOf(productId);
+            if (index >= 0) {
+                frequencies[index] = frequency;
+                return;
+            }
+            int insertAt = -index - 1;
+            ensureCapacity(size + 1);
+            System.arraycopy(productIds, insertAt, productIds, insertAt + 1, size - insertAt);
+            System.arraycopy(frequencies, insertAt, frequencies, insertAt + 1, size - insertAt);
+            productIds[insertAt] = productId;
+            frequencies[insertAt] = frequency;
+            size++;
+        }
+
+        boolean remove(int productId) {
+            int index = indexOf(productId);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(productIds, index + 1, productIds, index, size - index - 1);
+            System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        long estimateBytes() {
+            return 24 + 2L * (16 + 4L * productIds.length);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > productIds.length) {
+                int newCapacity = Math.max(capacity, productIds.length * 2);
+                productIds = Arrays.copyOf(productIds, newCapacity);
+                frequencies = Arrays.copyOf(frequencies, newCapacity);
+            }
+        }
+    }
+
+    /**
+     * Index contents built by one rebuild.
+     */
+    static final class Segment {
+        private final Map<String, Postings> postings = new HashMap<>();
+        private final Map<Integer, Document> documents = new HashMap<>();
+        private long totalLength;
+    }
+}
@@ -0,0 +1,151 @@
+package com.shopjoy.util;
+
+import com.shopjoy.entity.Product;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Base class of the in-memory product structures that are loaded in full and then kept in
+ * step with single-product writes.
+ * <p>
+ * Reads share the read lock and writes take the write lock. A rebuild starts tracking
+ * writes before it calls the loader, builds the new contents outside the lock, then
+ * installs them and replays the tracked writes under the write lock, so a write committed
+ * while the loader was reading is never lost.
+ *
+ * @param <B> the contents built from a full load
+ */
+public abstract class ProductSnapshot<B> implements Rebuildable<Product> {
+
+    protected final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private boolean rebuilding;
+    private final Map<Integer, Product> pendingUpdates = new LinkedHashMap<>();
+    private volatile boolean ready;
+    private volatile long lastBuildMillis;
+
+    @Override
+    public void rebuild(Supplier<List<Product>> loader) {
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            pendingUpdates.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        B built;
+        try {
+            built = build(loader.get());
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                pendingUpdates.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            install(built);
+            for (Map.Entry<Integer, Product> pending : pendingUpdates.entrySet()) {
+                if (pending.getValue() != null) {
+                    upsertEntry(pending.getValue());
+                } else {
+                    removeEntry(pending.getKey());
+                }
+            }
+            pendingUpdates.clear();
+            rebuilding = false;
+            ready = true;
+            lastBuildMillis = System.currentTimeMillis() - start;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts or replaces a product.
+     *
+     * @param product the product
+     */
+    public void upsert(Product product) {
+        lock.writeLock().lock();
+        try {
+            upsertEntry(product);
+            if (rebuilding) {
+                pendingUpdates.put(product.getProductId(), product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a product.
+     *
+     * @param productId the product id
+     */
+    public void remove(int productId) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(productId);
+            if (rebuilding) {
+                pendingUpdates.put(productId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * How long the last completed rebuild took.
+     *
+     * @return the duration in milliseconds
+     */
+    protected long lastBuildMillis() {
+        return lastBuildMillis;
+    }
+
+    /**
+     * Builds new contents from a full load. Runs without holding the lock.
+     *
+     * @param products all products
+     * @return the built contents
+     */
+    protected abstract B build(List<Product> products);
+
+    /**
+     * Replaces the current contents. Runs under the write lock.
+     *
+     * @param built the contents returned by {@link #build}
+     */
+    protected abstract void install(B built);
+
+    /**
+     * Inserts or replaces one product in the current contents. Runs under the write lock.
+     *
+     * @param product the product
+     */
+    protected abstract void upsertEntry(Product product);
+
+    /**
+     * Removes one product from the current contents. Runs under the write lock.
+     *
+     * @param productId the product id
+     */
+    protected abstract void removeEntry(int productId);
+}
@@ -0,0 +1,66 @@
+package com.shopjoy.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * An in-memory structure that is loaded in full from the database and answers reads in
+ * its place once ready. Until then, callers read from the database.
+ *
+ * @param <T> the type of the loaded rows
+ */
+public interface Rebuildable<T> {
+
+    /**
+     * Replaces the contents with the rows supplied by the loader.
+     *
+     * @param loader supplies all rows
+     */
+    void rebuild(Supplier<List<T>> loader);
+
+    /**
+     * Whether the first build has completed.
+     *
+     * @return true once reads can be served
+     */
+    boolean isReady();
+
+    /**
+     * Gets statistics. The "name" entry identifies the structure.
+     *
+     * @return the statistics
+     */
+    Map<String, Object> getStatistics();
+
+    /**
+     * Rebuilds several structures from one call to the loader. Every structure starts its
+     * rebuild before the loader runs, so each one tracks the writes committed while the
+     * rows are read, exactly as if it had been rebuilt on its own.
+     *
+     * @param structures the structures to rebuild
+     * @param loader     supplies all rows
+     * @param <T>        the type of the loaded rows
+     */
+    static <T> void rebuildAll(List<? extends Rebuildable<T>> structures, Supplier<List<T>> loader) {
+        if (structures.isEmpty()) {
+            return;
+        }
+        Rebuildable<T> first = structures.getFirst();
+        List<? extends Rebuildable<T>> rest = structures.subList(1, structures.size());
+        if (rest.isEmpty()) {
+            first.rebuild(loader);
+            return;
+        }
+        first.rebuild(() -> {
+            List<List<T>> loaded = new ArrayList<>(1);
+            rebuildAll(rest, () -> {
+                List<T> rows = loader.get();
+                loaded.add(rows);
+                return rows;
+            });
+            return loaded.getFirst();
+        });
+    }
+}
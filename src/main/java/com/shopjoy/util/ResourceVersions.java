@@ -0,0 +1,136 @@
+package com.shopjoy.util;
+
+import com.shopjoy.repository.ResourceVersionRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Answers conditional GETs from change markers stored in the database, without running the
+ * read behind the endpoint.
+ * <p>
+ * A list endpoint names the tables its response is built from; its weak ETag is their
+ * versions, which triggers bump in the same transaction as every write. A single product's
+ * ETag is built from the updated_at of its own product, inventory and rating rows, so a
+ * checkout only invalidates the products it bought. Because the markers are committed with
+ * the data, every instance hands out the same tag for the same state, and writes made
+ * outside this application invalidate tags too.
+ * <p>
+ * The markers are read before the response is built, so a response is never labelled with
+ * a version newer than the data in it. No Last-Modified is sent: timestamps taken inside
+ * transactions can commit out of order, so only the ETag is a safe validator.
+ */
+public class ResourceVersions {
+
+    /**
+     * Tables whose writes invalidate cached responses.
+     */
+    public enum Table {
+        PRODUCTS, INVENTORY, CATEGORIES, REVIEWS, USERS
+    }
+
+    private final ResourceVersionRepository repository;
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder served = new LongAdder();
+
+    /**
+     * Instantiates a new Resource versions.
+     *
+     * @param repository reads the change markers
+     */
+    public ResourceVersions(ResourceVersionRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Builds the weak entity tag for a response built from the given tables.
+     *
+     * @param tables the tables the response reads
+     * @return the weak ETag, quoted
+     */
+    public String etag(Table... tables) {
+        long[] versions = repository.findTableVersions(tables);
+        StringBuilder tag = new StringBuilder("W/\"t");
+        for (long version : versions) {
+            tag.append('.').append(Long.toString(version, 36));
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Builds the weak entity tag for a single product response.
+     *
+     * @param productId the product id
+     * @return the weak ETag, quoted, or empty when the product does not exist
+     */
+    public Optional<String> productEtag(int productId) {
+        return repository.findProductVersion(productId).map(markers -> {
+            StringBuilder tag = new StringBuilder("W/\"p").append(productId);
+            for (long marker : markers) {
+                tag.append('.').append(Long.toString(marker, 36));
+            }
+            return tag.append('"').toString();
+        });
+    }
+
+    /**
+     * Answers a conditional GET for a response built from the given tables. Returns 304 when
+     * the request's If-None-Match still matches; otherwise builds the body and returns it
+     * with the ETag attached.
+     *
+     * @param request the current request
+     * @param body    builds the response body, only called when the client copy is stale
+     * @param tables  the tables the response reads
+     * @param <T>     the body type
+     * @return the response entity
+     */
+    public <T> ResponseEntity<T> conditional(WebRequest request, Supplier<T> body, Table... tables) {
+        return conditional(request, etag(tables), body);
+    }
+
+    /**
+     * Answers a conditional GET for a single product response. A product that does not exist
+     * has no tag, so the body is built and reports it.
+     *
+     * @param request   the current request
+     * @param productId the product id
+     * @param body      builds the response body, only called when the client copy is stale
+     * @param <T>       the body type
+     * @return the response entity
+     */
+    public <T> ResponseEntity<T> conditionalProduct(WebRequest request, int productId, Supplier<T> body) {
+        Optional<String> etag = productEtag(productId);
+        if (etag.isEmpty()) {
+            return ResponseEntity.ok(body.get());
+        }
+        return conditional(request, etag.get(), body);
+    }
+
+    /**
+     * Gets statistics.
+     *
+     * @return the statistics
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", "resourceVersions");
+        stats.put("notModified", notModified.sum());
+        stats.put("served", served.sum());
+        return stats;
+    }
+
+    private <T> ResponseEntity<T> conditional(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            notModified.increment();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        served.increment();
+        return ResponseEntity.ok().eTag(etag).body(body.get());
+    }
+}
@@ -1,39 +1,139 @@
 package com.shopjoy.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToLongFunction;
 
 public class SortingAlgorithms {
     
+    private static final int PARALLEL_CUTOFF = 8192;
+    private static final int INSERTION_SORT_CUTOFF = 24;
+    private static final int NINTHER_THRESHOLD = 128;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX_BUCKETS = 1 << RADIX_BITS;
+    
+    /**
+     * Introsort: quicksort with a median-of-three (ninther for large ranges) pivot and
+     * three-way partitioning, insertion sort for short ranges, and a heapsort fallback once
+     * recursion gets deeper than 2 * log2(n). Worst case O(n log n) and O(log n) stack,
+     * including sorted, reverse-sorted and all-equal input. Not stable.
+     */
     public static <T> void quickSort(List<T> list, Comparator<T> comparator) {
         if (list == null || list.size() <= 1) {
             return;
         }
-        quickSortHelper(list, 0, list.size() - 1, comparator);
+        
+        @SuppressWarnings("unchecked")
+        T[] items = (T[]) list.toArray();
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(items.length));
+        introSort(items, 0, items.length, depthLimit, comparator);
+        
+        ListIterator<T> iterator = list.listIterator();
+        for (T item : items) {
+            iterator.next();
+            iterator.set(item);
+        }
     }
     
-    private static <T> void quickSortHelper(List<T> list, int low, int high, Comparator<T> comparator) {
-        if (low < high) {
-            int pivotIndex = partition(list, low, high, comparator);
-            quickSortHelper(list, low, pivotIndex - 1, comparator);
-            quickSortHelper(list, pivotIndex + 1, high, comparator);
+    private static <T> void introSort(T[] items, int from, int to, int depthLimit, Comparator<T> comparator) {
+        while (to - from > INSERTION_SORT_CUTOFF) {
+            if (depthLimit-- == 0) {
+                heapSortRange(items, from, to, comparator);
+                return;
+            }
+            
+            T pivot = items[choosePivot(items, from, to, comparator)];
+            
+            // Three-way partition: [from, lt) < pivot, [lt, gt] == pivot, (gt, to) > pivot
+            int lt = from, i = from, gt = to - 1;
+            while (i <= gt) {
+                int cmp = comparator.compare(items[i], pivot);
+                if (cmp < 0) {
+                    swap(items, lt++, i++);
+                } else if (cmp > 0) {
+                    swap(items, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            
+            // Recurse into the smaller side and loop on the larger one to bound the stack
+            if (lt - from < to - gt - 1) {
+                introSort(items, from, lt, depthLimit, comparator);
+                from = gt + 1;
+            } else {
+                introSort(items, gt + 1, to, depthLimit, comparator);
+                to = lt;
+            }
         }
+        insertionSort(items, from, to, comparator);
     }
     
-    private static <T> int partition(List<T> list, int low, int high, Comparator<T> comparator) {
-        T pivot = list.get(high);
-        int i = low - 1;
-        
-        for (int j = low; j < high; j++) {
-            if (comparator.compare(list.get(j), pivot) <= 0) {
-                i++;
-                swap(list, i, j);
+    private static <T> int choosePivot(T[] items, int from, int to, Comparator<T> comparator) {
+        int last = to - 1;
+        int mid = (from + last) >>> 1;
+        if (to - from > NINTHER_THRESHOLD) {
+            int step = (to - from) / 8;
+            int a = medianOfThree(items, from, from + step, from + 2 * step, comparator);
+            int b = medianOfThree(items, mid - step, mid, mid + step, comparator);
+            int c = medianOfThree(items, last - 2 * step, last - step, last, comparator);
+            return medianOfThree(items, a, b, c, comparator);
+        }
+        return medianOfThree(items, from, mid, last, comparator);
+    }
+    
+    private static <T> int medianOfThree(T[] items, int a, int b, int c, Comparator<T> comparator) {
+        if (comparator.compare(items[a], items[b]) < 0) {
+            if (comparator.compare(items[b], items[c]) < 0) {
+                return b;
             }
+            return comparator.compare(items[a], items[c]) < 0 ? c : a;
         }
-        
-        swap(list, i + 1, high);
-        return i + 1;
+        if (comparator.compare(items[a], items[c]) < 0) {
+            return a;
+        }
+        return comparator.compare(items[b], items[c]) < 0 ? c : b;
+    }
+    
+    private static <T> void heapSortRange(T[] items, int from, int to, Comparator<T> comparator) {
+        int n = to - from;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDownRange(items, from, i, n, comparator);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(items, from, from + end);
+            siftDownRange(items, from, 0, end, comparator);
+        }
+    }
+    
+    private static <T> void siftDownRange(T[] items, int offset, int i, int n, Comparator<T> comparator) {
+        while (true) {
+            int largest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < n && comparator.compare(items[offset + left], items[offset + largest]) > 0) {
+                largest = left;
+            }
+            if (right < n && comparator.compare(items[offset + right], items[offset + largest]) > 0) {
+                largest = right;
+            }
+            if (largest == i) {
+                return;
+            }
+            swap(items, offset + i, offset + largest);
+            i = largest;
+        }
+    }
+    
+    private static <T> void swap(T[] items, int i, int j) {
+        T temp = items[i];
+        items[i] = items[j];
+        items[j] = temp;
     }
     
     public static <T> void mergeSort(List<T> list, Comparator<T> comparator) {
@@ -87,6 +187,186 @@ public class SortingAlgorithms {
         }
     }
     
+    /**
+     * Stable merge sort that splits work across the common ForkJoinPool.
+     * The list is copied once into an array and sorted there with a single scratch buffer
+     * of the same length; ranges below PARALLEL_CUTOFF are sorted sequentially and short
+     * runs with insertion sort.
+     */
+    public static <T> void parallelMergeSort(List<T> list, Comparator<T> comparator) {
+        if (list == null || list.size() <= 1) {
+            return;
+        }
+        
+        @SuppressWarnings("unchecked")
+        T[] items = (T[]) list.toArray();
+        @SuppressWarnings("unchecked")
+        T[] scratch = (T[]) new Object[items.length];
+        
+        if (items.length < PARALLEL_CUTOFF) {
+            mergeSortRange(items, scratch, 0, items.length, comparator);
+        } else {
+            ForkJoinPool.commonPool().invoke(new MergeSortTask<>(items, scratch, 0, items.length, comparator));
+        }
+        
+        ListIterator<T> iterator = list.listIterator();
+        for (T item : items) {
+            iterator.next();
+            iterator.set(item);
+        }
+    }
+    
+    private static final class MergeSortTask<T> extends RecursiveAction {
+        private final T[] items;
+        private final T[] scratch;
+        private final int from;
+        private final int to;
+        private final Comparator<T> comparator;
+        
+        MergeSortTask(T[] items, T[] scratch, int from, int to, Comparator<T> comparator) {
+            this.items = items;
+            this.scratch = scratch;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from < PARALLEL_CUTOFF) {
+                mergeSortRange(items, scratch, from, to, comparator);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new MergeSortTask<>(items, scratch, from, mid, comparator),
+                    new MergeSortTask<>(items, scratch, mid, to, comparator));
+            mergeRuns(items, scratch, from, mid, to, comparator);
+        }
+    }
+    
+    private static <T> void mergeSortRange(T[] items, T[] scratch, int from, int to, Comparator<T> comparator) {
+        if (to - from <= INSERTION_SORT_CUTOFF) {
+            insertionSort(items, from, to, comparator);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSortRange(items, scratch, from, mid, comparator);
+        mergeSortRange(items, scratch, mid, to, comparator);
+        mergeRuns(items, scratch, from, mid, to, comparator);
+    }
+    
+    /**
+     * Merges the sorted runs [from, mid) and [mid, to). Only the left run is copied
+     * into the scratch buffer; already ordered runs are left untouched.
+     */
+    private static <T> void mergeRuns(T[] items, T[] scratch, int from, int mid, int to, Comparator<T> comparator) {
+        if (comparator.compare(items[mid - 1], items[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(items, from, scratch, from, mid - from);
+        int i = from, j = mid, k = from;
+        while (i < mid && j < to) {
+            if (comparator.compare(scratch[i], items[j]) <= 0) {
+                items[k++] = scratch[i++];
+            } else {
+                items[k++] = items[j++];
+            }
+        }
+        while (i < mid) {
+            items[k++] = scratch[i++];
+        }
+    }
+    
+    private static <T> void insertionSort(T[] items, int from, int to, Comparator<T> comparator) {
+        for (int i = from + 1; i < to; i++) {
+            T current = items[i];
+            int j = i - 1;
+            while (j >= from && comparator.compare(items[j], current) > 0) {
+                items[j + 1] = items[j];
+                j--;
+            }
+            items[j + 1] = current;
+        }
+    }
+    
+    /**
+     * Stable LSD radix sort on a primitive long key. Keys are extracted once into a long[]
+     * and sorted with {@link #radixSortOrder}; the resulting permutation is applied to the
+     * list at the end. No comparator is called and no key is boxed.
+     */
+    public static <T> void radixSort(List<T> list, ToLongFunction<T> key, boolean descending) {
+        if (list == null || list.size() <= 1) {
+            return;
+        }
+        
+        @SuppressWarnings("unchecked")
+        T[] items = (T[]) list.toArray();
+        long[] keys = new long[items.length];
+        for (int i = 0; i < items.length; i++) {
+            keys[i] = key.applyAsLong(items[i]);
+        }
+        
+        int[] order = radixSortOrder(keys, descending);
+        
+        ListIterator<T> iterator = list.listIterator();
+        for (int index : order) {
+            iterator.next();
+            iterator.set(items[index]);
+        }
+    }
+    
+    /**
+     * Returns the stable sorted order of the given keys as a permutation of their indices.
+     * Keys are sorted one byte per pass next to an int[] permutation; passes where every
+     * key has the same byte are skipped. The keys array is not modified.
+     */
+    public static int[] radixSortOrder(long[] keys, boolean descending) {
+        int n = keys.length;
+        long[] sortKeys = new long[n];
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            // Flipping the sign bit makes unsigned byte order match signed order;
+            // inverting all bits reverses it for descending sorts.
+            long flipped = keys[i] ^ Long.MIN_VALUE;
+            sortKeys[i] = descending ? ~flipped : flipped;
+            order[i] = i;
+        }
+        if (n <= 1) {
+            return order;
+        }
+        
+        long[] keyBuffer = new long[n];
+        int[] orderBuffer = new int[n];
+        int[] counts = new int[RADIX_BUCKETS];
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+            for (long k : sortKeys) {
+                counts[(int) (k >>> shift) & (RADIX_BUCKETS - 1)]++;
+            }
+            if (counts[(int) (sortKeys[0] >>> shift) & (RADIX_BUCKETS - 1)] == n) {
+                continue;
+            }
+            for (int b = 0, total = 0; b < RADIX_BUCKETS; b++) {
+                int count = counts[b];
+                counts[b] = total;
+                total += count;
+            }
+            for (int i = 0; i < n; i++) {
+                int bucket = (int) (sortKeys[i] >>> shift) & (RADIX_BUCKETS - 1);
+                int target = counts[bucket]++;
+                keyBuffer[target] = sortKeys[i];
+                orderBuffer[target] = order[i];
+            }
+            long[] swappedKeys = sortKeys;
+            sortKeys = keyBuffer;
+            keyBuffer = swappedKeys;
+            int[] swappedOrder = order;
+            order = orderBuffer;
+            orderBuffer = swappedOrder;
+        }
+        return order;
+    }
+    
     public static <T> void heapSort(List<T> list, Comparator<T> comparator) {
         if (list == null || list.size() <= 1) {
             return;
@@ -128,4 +408,93 @@ public class SortingAlgorithms {
         list.set(i, list.get(j));
         list.set(j, temp);
     }
+    
+    /**
+     * Returns the k smallest elements in sorted order without sorting the whole list.
+     * A bounded max-heap holds the best k candidates seen so far, so the cost is
+     * O(n log k) time and O(k) extra space. Ties keep their original order, which makes
+     * consecutive pages taken from the same input consistent. The input is not modified.
+     */
+    public static <T> List<T> topK(List<T> list, int k, Comparator<T> comparator) {
+        if (list == null || k <= 0 || list.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int capacity = Math.min(k, list.size());
+        
+        @SuppressWarnings("unchecked")
+        T[] heap = (T[]) new Object[capacity];
+        int[] positions = new int[capacity];
+        int size = 0;
+        
+        int index = 0;
+        for (T element : list) {
+            if (size < capacity) {
+                heap[size] = element;
+                positions[size] = index;
+                siftUp(heap, positions, size, comparator);
+                size++;
+            } else if (precedes(element, index, heap[0], positions[0], comparator)) {
+                heap[0] = element;
+                positions[0] = index;
+                siftDown(heap, positions, 0, size, comparator);
+            }
+            index++;
+        }
+        
+        List<T> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(null);
+        }
+        for (int last = size - 1; last >= 0; last--) {
+            result.set(last, heap[0]);
+            heap[0] = heap[last];
+            positions[0] = positions[last];
+            siftDown(heap, positions, 0, last, comparator);
+        }
+        return result;
+    }
+    
+    private static <T> boolean precedes(T a, int positionA, T b, int positionB, Comparator<T> comparator) {
+        int cmp = comparator.compare(a, b);
+        return cmp < 0 || (cmp == 0 && positionA < positionB);
+    }
+    
+    private static <T> void siftUp(T[] heap, int[] positions, int i, Comparator<T> comparator) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (!precedes(heap[parent], positions[parent], heap[i], positions[i], comparator)) {
+                return;
+            }
+            swapHeap(heap, positions, i, parent);
+            i = parent;
+        }
+    }
+    
+    private static <T> void siftDown(T[] heap, int[] positions, int i, int size, Comparator<T> comparator) {
+        while (true) {
+            int largest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && precedes(heap[largest], positions[largest], heap[left], positions[left], comparator)) {
+                largest = left;
+            }
+            if (right < size && precedes(heap[largest], positions[largest], heap[right], positions[right], comparator)) {
+                largest = right;
+            }
+            if (largest == i) {
+                return;
+            }
+            swapHeap(heap, positions, i, largest);
+            i = largest;
+        }
+    }
+    
+    private static <T> void swapHeap(T[] heap, int[] positions, int i, int j) {
+        T element = heap[i];
+        heap[i] = heap[j];
+        heap[j] = element;
+        int position = positions[i];
+        positions[i] = positions[j];
+        positions[j] = position;
+    }
 }
@@ -0,0 +1,29 @@
+package com.shopjoy.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for deferring work to transaction boundaries.
+ */
+public class TransactionCallbacks {
+
+    /**
+     * Runs an action once the surrounding transaction commits, or immediately when there is
+     * no transaction, so in-memory structures never see writes that are rolled back.
+     *
+     * @param action the action
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.shopjoy.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LRU eviction, TTL expiry and invalidation ordering of BoundedCache.
+ */
+class BoundedCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("test", 2, 0, clock::get);
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.getIfPresent(1);
+        cache.put(3, "three");
+
+        assertEquals("one", cache.getIfPresent(1));
+        assertNull(cache.getIfPresent(2));
+        assertEquals("three", cache.getIfPresent(3));
+        assertEquals(1L, cache.getStatistics().get("evictions"));
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("test", 10, 5, clock::get);
+        cache.put(1, "one");
+
+        clock.set(TimeUnit.SECONDS.toNanos(5));
+        assertEquals("one", cache.getIfPresent(1));
+
+        clock.set(TimeUnit.SECONDS.toNanos(5) + 1);
+        assertNull(cache.getIfPresent(1));
+        assertEquals(0, cache.size());
+        assertEquals(1L, cache.getStatistics().get("expirations"));
+    }
+
+    @Test
+    void zeroTtlNeverExpires() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("test", 10, 0, clock::get);
+        cache.put(1, "one");
+        clock.set(TimeUnit.DAYS.toNanos(365));
+
+        assertEquals("one", cache.getIfPresent(1));
+    }
+
+    @Test
+    void loadsOnMissAndDoesNotCacheEmptyResults() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("test", 10, 0, clock::get);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(Optional.of("v1"), cache.get(1, key -> {
+            loads.incrementAndGet();
+            return Optional.of("v" + key);
+        }));
+        assertEquals(Optional.of("v1"), cache.get(1, _ -> {
+            loads.incrementAndGet();
+            return Optional.of("other");
+        }));
+        assertEquals(Optional.empty(), cache.get(2, _ -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        }));
+        assertEquals(Optional.empty(), cache.get(2, _ -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        }));
+
+        assertEquals(3, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void loadRacingWithInvalidationIsNotCached() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("test", 10, 0, clock::get);
+
+        Optional<String> loaded = cache.get(1, key -> {
+            // A write invalidates the key while the stale row is being read
+            cache.invalidate(key);
+            return Optional.of("stale");
+        });
+
+        assertEquals(Optional.of("stale"), loaded);
+        assertNull(cache.getIfPresent(1));
+    }
+
+    @Test
+    void invalidateAllClearsEntries() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("test", 10, 0, clock::get);
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.invalidateAll();
+
+        assertEquals(0, cache.size());
+        assertEquals(2L, cache.getStatistics().get("invalidations"));
+    }
+
+    @Test
+    void reportsHitRate() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("test", 10, 0, clock::get);
+        cache.put(1, "one");
+        cache.getIfPresent(1);
+        cache.getIfPresent(2);
+
+        assertEquals(0.5, (double) cache.getStatistics().get("hitRate"));
+        assertTrue(cache.getStatistics().containsKey("maxSize"));
+    }
+
+    @Test
+    void rejectsNonPositiveMaxSize() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<Integer, String>("test", 0, 0));
+    }
+}
@@ -0,0 +1,173 @@
+package com.shopjoy.util;
+
+import com.shopjoy.entity.Category;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Subtree intervals, paths and the handling of missing parents and parent cycles in
+ * CategoryTree.
+ */
+class CategoryTreeTest {
+
+    private static final int ELECTRONICS = 1;
+    private static final int BOOKS = 2;
+    private static final int LAPTOPS = 3;
+    private static final int PHONES = 4;
+    private static final int GAMING = 5;
+    private static final int ORPHAN = 6;
+    private static final int CYCLE_A = 7;
+    private static final int CYCLE_B = 8;
+    private static final int SELF = 9;
+    private static final int MISSING = 42;
+
+    @Test
+    void subtreesAreContiguousRunsInWalkOrder() {
+        CategoryTree.Snapshot tree = catalog();
+
+        assertArrayEquals(new int[] { ELECTRONICS, LAPTOPS, GAMING, PHONES }, tree.subtreeIds(ELECTRONICS));
+        assertArrayEquals(new int[] { LAPTOPS, GAMING }, tree.subtreeIds(LAPTOPS));
+        assertArrayEquals(new int[] { GAMING }, tree.subtreeIds(GAMING));
+        assertArrayEquals(new int[0], tree.subtreeIds(MISSING));
+    }
+
+    @Test
+    void isInSubtreeFollowsTheHierarchy() {
+        CategoryTree.Snapshot tree = catalog();
+
+        assertTrue(tree.isInSubtree(ELECTRONICS, GAMING));
+        assertTrue(tree.isInSubtree(ELECTRONICS, ELECTRONICS));
+        assertTrue(tree.isInSubtree(LAPTOPS, GAMING));
+        assertFalse(tree.isInSubtree(LAPTOPS, PHONES));
+        assertFalse(tree.isInSubtree(GAMING, LAPTOPS));
+        assertFalse(tree.isInSubtree(BOOKS, GAMING));
+        assertFalse(tree.isInSubtree(ELECTRONICS, MISSING));
+        assertFalse(tree.isInSubtree(MISSING, ELECTRONICS));
+    }
+
+    @Test
+    void pathRunsFromTheRootDown() {
+        CategoryTree.Snapshot tree = catalog();
+
+        assertEquals(List.of("Electronics", "Laptops", "Gaming"), names(tree.path(GAMING)));
+        assertEquals(List.of("Books"), names(tree.path(BOOKS)));
+        assertEquals(List.of(), tree.path(MISSING));
+        assertEquals(2, tree.depth(GAMING));
+        assertEquals(0, tree.depth(ELECTRONICS));
+        assertEquals(-1, tree.depth(MISSING));
+    }
+
+    @Test
+    void childrenAndCategoriesAreInNameOrder() {
+        CategoryTree.Snapshot tree = catalog();
+
+        assertEquals(List.of("Laptops", "Phones"), names(tree.children(ELECTRONICS)));
+        assertTrue(tree.hasChildren(LAPTOPS));
+        assertFalse(tree.hasChildren(GAMING));
+        assertFalse(tree.hasChildren(MISSING));
+        assertEquals(List.of(), tree.children(GAMING));
+        assertEquals(List.of("Books", "Cycle A", "Cycle B", "Electronics", "Gaming", "Laptops", "Orphan",
+                "Phones", "Self"), names(tree.all()));
+        assertEquals(9, tree.size());
+    }
+
+    @Test
+    void categoryWithMissingParentIsReachableButNotListedAsRoot() {
+        CategoryTree.Snapshot tree = catalog();
+
+        assertTrue(tree.contains(ORPHAN));
+        assertEquals(0, tree.depth(ORPHAN));
+        assertEquals(List.of("Orphan"), names(tree.path(ORPHAN)));
+        assertArrayEquals(new int[] { ORPHAN }, tree.subtreeIds(ORPHAN));
+        assertEquals(List.of("Books", "Electronics"), names(tree.roots()));
+    }
+
+    @Test
+    void parentCyclesAreBrokenSoEveryCategoryIsReachable() {
+        CategoryTree.Snapshot tree = catalog();
+
+        // The first cycle member in name order becomes the top of its cycle
+        assertEquals(0, tree.depth(CYCLE_A));
+        assertEquals(1, tree.depth(CYCLE_B));
+        assertEquals(List.of("Cycle A", "Cycle B"), names(tree.path(CYCLE_B)));
+        assertTrue(tree.isInSubtree(CYCLE_A, CYCLE_B));
+        assertFalse(tree.isInSubtree(CYCLE_B, CYCLE_A));
+        assertArrayEquals(new int[] { CYCLE_A, CYCLE_B }, tree.subtreeIds(CYCLE_A));
+
+        assertEquals(0, tree.depth(SELF));
+        assertEquals(List.of("Self"), names(tree.path(SELF)));
+        assertFalse(tree.hasChildren(SELF));
+    }
+
+    @Test
+    void snapshotDoesNotShareTheLoadedCategories() {
+        List<Category> loaded = new ArrayList<>(List.of(category(BOOKS, "Books", null)));
+        CategoryTree.Snapshot tree = CategoryTree.Snapshot.build(loaded);
+
+        loaded.getFirst().setCategoryName("Comics");
+
+        assertEquals("Books", tree.get(BOOKS).getCategoryName());
+        assertNull(tree.get(MISSING));
+    }
+
+    @Test
+    void rebuildSwapsInANewSnapshot() {
+        CategoryTree categoryTree = new CategoryTree();
+        assertFalse(categoryTree.isReady());
+
+        categoryTree.rebuild(() -> sortedByName(category(BOOKS, "Books", null)));
+        CategoryTree.Snapshot before = categoryTree.snapshot();
+        categoryTree.rebuild(CategoryTreeTest::catalogRows);
+        CategoryTree.Snapshot after = categoryTree.snapshot();
+
+        assertTrue(categoryTree.isReady());
+        assertNotSame(before, after);
+        assertEquals(1, before.size());
+        assertFalse(before.contains(ELECTRONICS));
+        assertSame(after, categoryTree.snapshot());
+        assertEquals(9, categoryTree.getStatistics().get("size"));
+        assertEquals(3, categoryTree.getStatistics().get("height"));
+    }
+
+    private static CategoryTree.Snapshot catalog() {
+        return CategoryTree.Snapshot.build(catalogRows());
+    }
+
+    private static List<Category> catalogRows() {
+        return sortedByName(
+                category(ELECTRONICS, "Electronics", null),
+                category(BOOKS, "Books", null),
+                category(LAPTOPS, "Laptops", ELECTRONICS),
+                category(PHONES, "Phones", ELECTRONICS),
+                category(GAMING, "Gaming", LAPTOPS),
+                category(ORPHAN, "Orphan", MISSING),
+                category(CYCLE_A, "Cycle A", CYCLE_B),
+                category(CYCLE_B, "Cycle B", CYCLE_A),
+                category(SELF, "Self", SELF));
+    }
+
+    private static List<Category> sortedByName(Category... categories) {
+        List<Category> sorted = new ArrayList<>(List.of(categories));
+        sorted.sort(Comparator.comparing(Category::getCategoryName));
+        return sorted;
+    }
+
+    private static List<String> names(List<Category> categories) {
+        return categories.stream().map(Category::getCategoryName).toList();
+    }
+
+    private static Category category(int id, String name, Integer parentId) {
+        return Category.builder().categoryId(id).categoryName(name).parentCategoryId(parentId).build();
+    }
+}
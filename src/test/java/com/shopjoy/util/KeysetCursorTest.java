@@ -0,0 +1,190 @@
+package com.shopjoy.util;
+
+import com.shopjoy.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Token round trips and the NULL-aware seek predicates of KeysetCursor, for product
+ * sorts and the newest-first order listing.
+ */
+class KeysetCursorTest {
+
+    @Test
+    void roundTripsValues() {
+        KeysetCursor cursor = new KeysetCursor("price", "DESC", true, 42, "19.99");
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertTrue(decoded.backward());
+    }
+
+    @Test
+    void distinguishesNullFromEmptyValue() {
+        KeysetCursor nullValue = KeysetCursor.decode(new KeysetCursor("updated_at", "ASC", false, 7, null).encode());
+        KeysetCursor emptyValue = KeysetCursor.decode(new KeysetCursor("product_name", "ASC", false, 7, "").encode());
+
+        assertNull(nullValue.lastValue());
+        assertEquals("", emptyValue.lastValue());
+    }
+
+    @Test
+    void keepsSeparatorsInsideTheValue() {
+        String value = "line one\nline two";
+        KeysetCursor decoded = KeysetCursor.decode(new KeysetCursor("product_name", "ASC", false, 3, value).encode());
+
+        assertEquals(value, decoded.lastValue());
+        assertEquals(3, decoded.lastId());
+    }
+
+    @Test
+    void tokensAreUrlSafe() {
+        String token = new KeysetCursor("product_name", "ASC", false, 1, "???>>>").encode();
+
+        assertFalse(token.contains("+") || token.contains("/") || token.contains("="));
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThrows(ValidationException.class, () -> KeysetCursor.decode("not base64 !"));
+        assertThrows(ValidationException.class, () -> KeysetCursor.decode(encodeRaw("price\nASC\nF\n1")));
+        assertThrows(ValidationException.class, () -> KeysetCursor.decode(encodeRaw("price\nASC\nX\n1\n=1")));
+        assertThrows(ValidationException.class, () -> KeysetCursor.decode(encodeRaw("price\nASC\nF\nabc\n=1")));
+    }
+
+    @Test
+    void requiresTheSortItWasIssuedFor() {
+        KeysetCursor cursor = new KeysetCursor("price", "ASC", false, 1, "10");
+
+        assertDoesNotThrow(() -> cursor.requireSort("price", "ASC"));
+        assertThrows(ValidationException.class, () -> cursor.requireSort("price", "DESC"));
+        assertThrows(ValidationException.class, () -> cursor.requireSort("created_at", "ASC"));
+    }
+
+    @Test
+    void seeksOnIdAloneWhenSortingById() {
+        Seek ascending = seek(new KeysetCursor("product_id", "ASC", false, 10, "10"), "product_id", false, true);
+        Seek descending = seek(new KeysetCursor("product_id", "DESC", false, 10, "10"), "product_id", false, false);
+
+        assertEquals(" AND product_id > ?", ascending.sql());
+        assertEquals(List.of(10), ascending.params());
+        assertEquals(" AND product_id < ?", descending.sql());
+    }
+
+    @Test
+    void seeksPastNonNullValueAscendingIncludesTrailingNulls() {
+        Seek seek = seek(new KeysetCursor("created_at", "ASC", false, 5, "2024-01-01 10:00:00"), "created_at", true, true);
+
+        assertEquals(" AND ((created_at, product_id) > (CAST(? AS timestamp), ?) OR created_at IS NULL)", seek.sql());
+        assertEquals(List.of("2024-01-01 10:00:00", 5), seek.params());
+    }
+
+    @Test
+    void seeksPastNonNullValueDescendingExcludesLeadingNulls() {
+        Seek seek = seek(new KeysetCursor("created_at", "DESC", false, 5, "2024-01-01 10:00:00"), "created_at", true, false);
+
+        assertEquals(" AND ((created_at, product_id) < (CAST(? AS timestamp), ?))", seek.sql());
+        assertEquals(List.of("2024-01-01 10:00:00", 5), seek.params());
+    }
+
+    @Test
+    void notNullColumnAscendingHasNoNullBranch() {
+        Seek seek = seek(new KeysetCursor("price", "ASC", false, 5, "9.50"), "price", false, true);
+
+        assertEquals(" AND ((price, product_id) > (CAST(? AS numeric), ?))", seek.sql());
+    }
+
+    @Test
+    void seeksWithinTrailingNullsAscending() {
+        Seek seek = seek(new KeysetCursor("updated_at", "ASC", false, 8, null), "updated_at", true, true);
+
+        assertEquals(" AND (updated_at IS NULL AND product_id > ?)", seek.sql());
+        assertEquals(List.of(8), seek.params());
+    }
+
+    @Test
+    void leavesLeadingNullsDescending() {
+        Seek seek = seek(new KeysetCursor("updated_at", "DESC", false, 8, null), "updated_at", true, false);
+
+        assertEquals(" AND (updated_at IS NOT NULL OR product_id < ?)", seek.sql());
+        assertEquals(List.of(8), seek.params());
+    }
+
+    @Test
+    void orderSeekForwardReadsOlderOrders() {
+        Seek seek = orderSeek(new KeysetCursor("order_date", "DESC", false, 31, "2024-03-05 09:15:00"));
+
+        assertEquals(" AND ((order_date, order_id) < (CAST(? AS timestamp), ?))", seek.sql());
+        assertEquals(List.of("2024-03-05 09:15:00", 31), seek.params());
+    }
+
+    @Test
+    void orderSeekBackwardReadsNewerOrdersAndTrailingNulls() {
+        Seek seek = orderSeek(new KeysetCursor("order_date", "DESC", true, 31, "2024-03-05 09:15:00"));
+
+        assertEquals(" AND ((order_date, order_id) > (CAST(? AS timestamp), ?) OR order_date IS NULL)", seek.sql());
+        assertEquals(List.of("2024-03-05 09:15:00", 31), seek.params());
+    }
+
+    @Test
+    void orderSeekFromUndatedOrder() {
+        Seek forward = orderSeek(new KeysetCursor("order_date", "DESC", false, 12, null));
+        Seek backward = orderSeek(new KeysetCursor("order_date", "DESC", true, 12, null));
+
+        assertEquals(" AND (order_date IS NOT NULL OR order_id < ?)", forward.sql());
+        assertEquals(List.of(12), forward.params());
+        assertEquals(" AND (order_date IS NULL AND order_id > ?)", backward.sql());
+        assertEquals(List.of(12), backward.params());
+    }
+
+    @Test
+    void orderCursorRoundTripsAndRejectsOtherSorts() {
+        KeysetCursor cursor = new KeysetCursor("order_date", "DESC", true, 31, "2024-03-05 09:15:00.123456");
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertDoesNotThrow(() -> decoded.requireSort("order_date", "DESC"));
+        assertThrows(ValidationException.class,
+                () -> new KeysetCursor("price", "DESC", false, 31, "10").requireSort("order_date", "DESC"));
+    }
+
+    private static Seek orderSeek(KeysetCursor cursor) {
+        StringBuilder sql = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+        // Orders list newest first, so a backward cursor scans ascending
+        cursor.appendSeekCondition(sql, params, "order_date", "timestamp", true, "order_id", cursor.backward());
+        return new Seek(sql.toString(), params);
+    }
+
+    private static Seek seek(KeysetCursor cursor, String column, boolean nullable, boolean ascending) {
+        String sqlType = switch (column) {
+            case "price" -> "numeric";
+            case "product_id" -> "integer";
+            default -> "timestamp";
+        };
+        StringBuilder sql = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+        cursor.appendSeekCondition(sql, params, column, sqlType, nullable, "product_id", ascending);
+        return new Seek(sql.toString(), params);
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record Seek(String sql, List<Object> params) {
+    }
+}
@@ -0,0 +1,219 @@
+package com.shopjoy.util;
+
+import com.shopjoy.dto.filter.ProductFilter;
+import com.shopjoy.entity.Product;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Off-heap rows, slot reuse, arena growth and rebuild swaps of OffHeapProductCatalog.
+ */
+class OffHeapProductCatalogTest {
+
+    @Test
+    void readsHotFieldsBackFromTheSegments() {
+        LocalDateTime created = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000);
+        OffHeapProductCatalog catalog = catalogOf(
+                Product.builder().productId(1).productName("Crème brûlée torch").categoryId(4).price(19.99)
+                        .active(true).createdAt(created).description("not held").build(),
+                Product.builder().productId(2).productName(null).categoryId(5).price(0.5).build());
+
+        Product torch = byId(catalog).get(1);
+        assertEquals("Crème brûlée torch", torch.getProductName());
+        assertEquals(4, torch.getCategoryId());
+        assertEquals(19.99, torch.getPrice(), 1e-9);
+        assertTrue(torch.isActive());
+        assertEquals(created, torch.getCreatedAt());
+        assertNull(torch.getDescription());
+
+        Product unnamed = byId(catalog).get(2);
+        assertEquals("", unnamed.getProductName());
+        assertFalse(unnamed.isActive());
+        assertNull(unnamed.getCreatedAt());
+
+        assertTrue(catalog.contains(1));
+        assertFalse(catalog.contains(3));
+        assertFalse(catalog.contains(0));
+    }
+
+    @Test
+    void filtersOnPriceCategoryAndActiveFlag() {
+        OffHeapProductCatalog catalog = catalogOf(
+                product(1, "Kettle", 3, 25.00, true),
+                product(2, "Toaster", 3, 40.00, false),
+                product(3, "Blender", 4, 40.00, true),
+                product(4, "Whisk", 3, 40.01, true));
+
+        ProductFilter filter = new ProductFilter();
+        filter.setCategoryId(3);
+        filter.setMinPrice(25.0);
+        filter.setMaxPrice(40.0);
+        assertEquals(List.of(1, 2), ids(catalog.findMatching(filter)));
+
+        filter.setIsActive(true);
+        assertEquals(List.of(1), ids(catalog.findMatching(filter)));
+    }
+
+    @Test
+    void supportsOnlyFiltersOnHeldColumns() {
+        OffHeapProductCatalog catalog = new OffHeapProductCatalog();
+        assertFalse(catalog.supports(new ProductFilter()));
+
+        catalog.rebuild(List::of);
+        assertTrue(catalog.supports(new ProductFilter()));
+
+        ProductFilter brand = new ProductFilter();
+        brand.setBrand("Acme");
+        assertFalse(catalog.supports(brand));
+
+        ProductFilter search = new ProductFilter();
+        search.setSearchTerm("kettle");
+        assertFalse(catalog.supports(search));
+    }
+
+    @Test
+    void upsertReplacesNamesInPlaceOrAppendsLongerOnes() {
+        OffHeapProductCatalog catalog = catalogOf(product(1, "Kettle", 1, 10, true), product(2, "Toaster", 1, 20, true));
+
+        catalog.upsert(product(1, "Pot", 2, 12, false));
+        catalog.upsert(product(2, "Four-slice toaster", 1, 30, true));
+
+        Map<Integer, Product> products = byId(catalog);
+        assertEquals("Pot", products.get(1).getProductName());
+        assertEquals(2, products.get(1).getCategoryId());
+        assertFalse(products.get(1).isActive());
+        assertEquals("Four-slice toaster", products.get(2).getProductName());
+        assertEquals(30.0, products.get(2).getPrice(), 1e-9);
+        assertEquals((long) ("Pot".length() + "Four-slice toaster".length()),
+                catalog.getStatistics().get("liveNameBytes"));
+    }
+
+    @Test
+    void removalMovesTheLastRowIntoTheGap() {
+        OffHeapProductCatalog catalog = catalogOf(
+                product(1, "Kettle", 1, 10, true),
+                product(2, "Toaster", 1, 20, true),
+                product(3, "Blender", 1, 30, true));
+
+        catalog.remove(1);
+        catalog.remove(9);
+
+        assertFalse(catalog.contains(1));
+        assertEquals(2, catalog.getStatistics().get("rows"));
+        Map<Integer, Product> products = byId(catalog);
+        assertEquals("Toaster", products.get(2).getProductName());
+        assertEquals("Blender", products.get(3).getProductName());
+
+        catalog.upsert(product(3, "Stand mixer", 1, 35, true));
+        assertEquals("Stand mixer", byId(catalog).get(3).getProductName());
+    }
+
+    @Test
+    void growsIntoLargerArenasAndCompactsNames() {
+        Random random = new Random(11);
+        OffHeapProductCatalog catalog = catalogOf();
+        Map<Integer, String> expected = new HashMap<>();
+
+        for (int round = 0; round < 30_000; round++) {
+            int productId = 1 + random.nextInt(3000);
+            if (random.nextInt(4) == 0) {
+                catalog.remove(productId);
+                expected.remove(productId);
+            } else {
+                String name = "product " + productId + " ".repeat(random.nextInt(40)) + round;
+                catalog.upsert(product(productId, name, 1, productId, true));
+                expected.put(productId, name);
+            }
+        }
+
+        Map<Integer, String> names = new HashMap<>();
+        byId(catalog).forEach((productId, product) -> names.put(productId, product.getProductName()));
+        assertEquals(expected, names);
+
+        Map<String, Object> stats = catalog.getStatistics();
+        assertEquals(expected.size(), stats.get("rows"));
+        assertTrue((long) stats.get("arenaSwaps") > 2);
+        assertTrue((int) stats.get("rowCapacity") >= expected.size());
+        assertEquals(expected.values().stream().mapToLong(name -> name.length()).sum(), stats.get("liveNameBytes"));
+        assertEquals((long) stats.get("rowSegmentBytes") + (long) stats.get("nameSegmentBytes"),
+                stats.get("offHeapBytes"));
+    }
+
+    @Test
+    void rebuildSwapsInNewSegmentsAndReplaysWritesMadeWhileLoading() {
+        OffHeapProductCatalog catalog = catalogOf(product(1, "Kettle", 1, 10, true), product(2, "Toaster", 1, 20, true));
+        long swaps = (long) catalog.getStatistics().get("arenaSwaps");
+
+        catalog.rebuild(() -> {
+            // Committed while the loader was reading: the loaded rows predate these writes
+            catalog.upsert(product(3, "Blender", 1, 30, true));
+            catalog.upsert(product(2, "Grill", 1, 20, true));
+            catalog.remove(1);
+            return List.of(product(1, "Kettle", 1, 10, true), product(2, "Toaster", 1, 20, true),
+                    product(4, "Whisk", 1, 5, true));
+        });
+
+        Map<Integer, Product> products = byId(catalog);
+        assertEquals(List.of(2, 3, 4), List.copyOf(products.keySet()));
+        assertEquals("Grill", products.get(2).getProductName());
+        assertEquals("Blender", products.get(3).getProductName());
+        assertTrue((long) catalog.getStatistics().get("arenaSwaps") > swaps);
+    }
+
+    @Test
+    void failedRebuildKeepsPreviousContents() {
+        OffHeapProductCatalog catalog = catalogOf(product(1, "Kettle", 1, 10, true));
+
+        assertThrows(IllegalStateException.class, () -> catalog.rebuild(() -> {
+            throw new IllegalStateException("database unavailable");
+        }));
+
+        assertEquals("Kettle", byId(catalog).get(1).getProductName());
+        assertTrue(catalog.isReady());
+    }
+
+    @Test
+    void isEmptyBeforeFirstBuild() {
+        OffHeapProductCatalog catalog = new OffHeapProductCatalog();
+
+        assertFalse(catalog.isReady());
+        assertFalse(catalog.contains(1));
+        assertEquals(List.of(), catalog.findMatching(new ProductFilter()));
+        assertEquals(0L, catalog.getStatistics().get("offHeapBytes"));
+    }
+
+    private static OffHeapProductCatalog catalogOf(Product... products) {
+        OffHeapProductCatalog catalog = new OffHeapProductCatalog();
+        catalog.rebuild(() -> List.of(products));
+        return catalog;
+    }
+
+    private static Map<Integer, Product> byId(OffHeapProductCatalog catalog) {
+        Map<Integer, Product> products = new TreeMap<>();
+        for (Product product : catalog.findMatching(new ProductFilter())) {
+            products.put(product.getProductId(), product);
+        }
+        return products;
+    }
+
+    private static List<Integer> ids(List<Product> products) {
+        return products.stream().map(Product::getProductId).sorted().toList();
+    }
+
+    private static Product product(int id, String name, int categoryId, double price, boolean active) {
+        return Product.builder().productId(id).productName(name).categoryId(categoryId).price(price)
+                .active(active).build();
+    }
+}
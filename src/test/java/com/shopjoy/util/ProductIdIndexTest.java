@@ -0,0 +1,130 @@
+package com.shopjoy.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Open-addressing lookups, backward-shift deletion and resizing of ProductIdIndex.
+ */
+class ProductIdIndexTest {
+
+    @Test
+    void findsStoredSlots() {
+        ProductIdIndex index = new ProductIdIndex();
+        index.put(1, 0);
+        index.put(2, 1);
+
+        assertEquals(0, index.get(1));
+        assertEquals(1, index.get(2));
+        assertEquals(ProductIdIndex.NO_SLOT, index.get(3));
+        assertEquals(ProductIdIndex.NO_SLOT, index.get(0));
+        assertEquals(ProductIdIndex.NO_SLOT, index.get(-1));
+    }
+
+    @Test
+    void putReplacesExistingEntry() {
+        ProductIdIndex index = new ProductIdIndex();
+        index.put(1, 0);
+
+        index.put(1, 7);
+
+        assertEquals(7, index.get(1));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void ignoresIdsThatAreNotPositive() {
+        ProductIdIndex index = new ProductIdIndex();
+
+        index.put(0, 3);
+        index.put(-4, 3);
+
+        assertEquals(0, index.size());
+        assertEquals(ProductIdIndex.NO_SLOT, index.get(0));
+    }
+
+    @Test
+    void removalsKeepEveryOtherKeyReachable() {
+        // Near the maximum load factor of the smallest table, so probe runs are long and
+        // wrap around the end of the key array; every removal has to shift its run back.
+        Random random = new Random(7);
+        ProductIdIndex index = new ProductIdIndex();
+        Map<Integer, Integer> expected = new HashMap<>();
+
+        for (int round = 0; round < 20_000; round++) {
+            int productId = 1 + random.nextInt(600);
+            if (expected.size() < 500 && random.nextBoolean()) {
+                index.put(productId, round);
+                expected.put(productId, round);
+            } else {
+                index.remove(productId);
+                expected.remove(productId);
+            }
+
+            if (round % 500 == 0) {
+                assertMatches(expected, index, 600);
+            }
+        }
+        assertMatches(expected, index, 600);
+        assertEquals(1024, index.capacity());
+    }
+
+    @Test
+    void growsAndShrinksWithTheCatalog() {
+        ProductIdIndex index = new ProductIdIndex();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int productId = 1; productId <= 5000; productId++) {
+            index.put(productId, productId - 1);
+            expected.put(productId, productId - 1);
+        }
+
+        assertEquals(16384, index.capacity());
+        assertMatches(expected, index, 5000);
+
+        for (int productId = 1; productId <= 4900; productId++) {
+            index.remove(productId);
+            expected.remove(productId);
+        }
+
+        assertTrue(index.capacity() < 16384);
+        assertTrue(index.size() * 2 <= index.capacity());
+        assertMatches(expected, index, 5000);
+    }
+
+    @Test
+    void presizesForExpectedEntries() {
+        assertEquals(1024, new ProductIdIndex().capacity());
+        assertEquals(16384, new ProductIdIndex(5000).capacity());
+    }
+
+    @Test
+    void removingUnknownIdIsANoOp() {
+        ProductIdIndex index = new ProductIdIndex();
+        index.put(1, 0);
+
+        index.remove(2);
+        index.remove(0);
+
+        assertEquals(1, index.size());
+        assertEquals(0, index.get(1));
+    }
+
+    private static void assertMatches(Map<Integer, Integer> expected, ProductIdIndex index, int maxId) {
+        List<Integer> wrong = new ArrayList<>();
+        for (int productId = 1; productId <= maxId; productId++) {
+            if (index.get(productId) != expected.getOrDefault(productId, ProductIdIndex.NO_SLOT)) {
+                wrong.add(productId);
+            }
+        }
+        assertEquals(List.of(), wrong);
+        assertEquals(expected.size(), index.size());
+    }
+}
@@ -0,0 +1,159 @@
+package com.shopjoy.util;
+
+import com.shopjoy.entity.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Trigram candidate selection, substring verification, BM25 ordering and update replay
+ * of ProductSearchIndex.
+ */
+class ProductSearchIndexTest {
+
+    @Test
+    void matchesSubstringsOfAnyField() {
+        ProductSearchIndex index = indexOf(
+                product(1, "Laptop Pro 15", "Acme", "Aluminium body"),
+                product(2, "Desk Lamp", "Lumen", "Warm light for laptops"),
+                product(3, "Office Chair", "Acme", "Mesh back"));
+
+        assertEquals(List.of(1, 2), sortedIds(index.search("aptop")));
+        assertEquals(List.of(1, 3), sortedIds(index.search("ACME")));
+        assertEquals(List.of(), ids(index.search("keyboard")));
+    }
+
+    @Test
+    void requiresEveryWord() {
+        ProductSearchIndex index = indexOf(
+                product(1, "Blue Laptop Sleeve", null, null),
+                product(2, "Red Laptop Sleeve", null, null),
+                product(3, "Blue Notebook", null, null));
+
+        assertEquals(List.of(1), ids(index.search("blue laptop")));
+    }
+
+    @Test
+    void verifiesCandidatesThatOnlyShareTrigrams() {
+        // "abcd" has the trigrams abc and bcd; product 2 has both but not the word itself
+        ProductSearchIndex index = indexOf(
+                product(1, "abcd", null, null),
+                product(2, "abcx bcdy", null, null));
+
+        assertEquals(List.of(1), ids(index.search("abcd")));
+    }
+
+    @Test
+    void shortWordsMatchAlongsideALongerWord() {
+        ProductSearchIndex index = indexOf(
+                product(1, "TV Stand Oak", null, null),
+                product(2, "Speaker Stand", null, null));
+
+        assertEquals(List.of(1), ids(index.search("tv stand")));
+    }
+
+    @Test
+    void rejectsQueriesWithOnlyShortWords() {
+        ProductSearchIndex index = indexOf(product(1, "TV", null, null));
+
+        assertFalse(index.supports("tv"));
+        assertFalse(index.supports("a b"));
+        assertFalse(index.supports("  "));
+        assertTrue(index.supports("tv set"));
+        assertThrows(IllegalArgumentException.class, () -> index.search("tv"));
+    }
+
+    @Test
+    void ranksNameMatchesAboveDescriptionMatches() {
+        ProductSearchIndex index = indexOf(
+                product(1, "Garden Hose", null, "Works with any sprinkler"),
+                product(2, "Sprinkler", null, "Lawn sprinkler head"),
+                product(3, "Rake", "Sprinkler Co", null));
+
+        List<ProductSearchIndex.Hit> hits = index.search("sprinkler");
+
+        assertEquals(List.of(2, 3, 1), ids(hits));
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+        assertTrue(hits.get(1).score() > hits.get(2).score());
+    }
+
+    @Test
+    void breaksScoreTiesByProductId() {
+        ProductSearchIndex index = indexOf(
+                product(9, "Mug", null, null),
+                product(4, "Mug", null, null),
+                product(6, "Mug", null, null));
+
+        assertEquals(List.of(4, 6, 9), ids(index.search("mug")));
+    }
+
+    @Test
+    void appliesUpdatesAndRemovals() {
+        ProductSearchIndex index = indexOf(
+                product(1, "Kettle", null, null),
+                product(2, "Toaster", null, null));
+
+        index.upsert(product(1, "Teapot", null, null));
+        index.remove(2);
+
+        assertEquals(List.of(), ids(index.search("kettle")));
+        assertEquals(List.of(1), ids(index.search("teapot")));
+        assertEquals(List.of(), ids(index.search("toaster")));
+        assertEquals(1, index.getStatistics().get("documents"));
+    }
+
+    @Test
+    void replaysWritesMadeWhileRebuilding() {
+        ProductSearchIndex index = indexOf(product(1, "Kettle", null, null));
+
+        index.rebuild(() -> {
+            // Committed while the loader was reading: the loaded rows predate these writes
+            index.upsert(product(2, "Blender", null, null));
+            index.remove(1);
+            return List.of(product(1, "Kettle", null, null), product(3, "Whisk", null, null));
+        });
+
+        assertEquals(List.of(), ids(index.search("kettle")));
+        assertEquals(List.of(2), ids(index.search("blender")));
+        assertEquals(List.of(3), ids(index.search("whisk")));
+    }
+
+    @Test
+    void buildsLargeCatalogsInParallelChunks() {
+        Product[] products = new Product[5000];
+        for (int i = 0; i < products.length; i++) {
+            products[i] = product(products.length - i, "Item " + (products.length - i), null,
+                    i % 2 == 0 ? "even batch" : "odd batch");
+        }
+        ProductSearchIndex index = indexOf(products);
+
+        List<Integer> even = ids(index.search("even"));
+        assertEquals(2500, even.size());
+        for (int i = 1; i < even.size(); i++) {
+            assertTrue(even.get(i - 1) < even.get(i), "equal scores must come back in id order");
+        }
+    }
+
+    private static ProductSearchIndex indexOf(Product... products) {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.rebuild(() -> List.of(products));
+        return index;
+    }
+
+    private static Product product(int id, String name, String brand, String description) {
+        return Product.builder().productId(id).productName(name).brand(brand).description(description).build();
+    }
+
+    private static List<Integer> ids(List<ProductSearchIndex.Hit> hits) {
+        return hits.stream().map(ProductSearchIndex.Hit::productId).toList();
+    }
+
+    private static List<Integer> sortedIds(List<ProductSearchIndex.Hit> hits) {
+        return hits.stream().map(ProductSearchIndex.Hit::productId).sorted().toList();
+    }
+}
@@ -0,0 +1,83 @@
+package com.shopjoy.util;
+
+import com.shopjoy.dto.filter.ProductFilter;
+import com.shopjoy.entity.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Shared rebuilds of several structures from one load.
+ */
+class RebuildableTest {
+
+    @Test
+    void loadsOnceForEveryStructure() {
+        OffHeapProductCatalog catalog = new OffHeapProductCatalog();
+        ProductSearchIndex searchIndex = new ProductSearchIndex();
+        AtomicInteger loads = new AtomicInteger();
+
+        Rebuildable.rebuildAll(List.of(catalog, searchIndex), () -> {
+            loads.incrementAndGet();
+            return List.of(product(1, "Kettle"), product(2, "Toaster"));
+        });
+
+        assertEquals(1, loads.get());
+        assertTrue(catalog.isReady());
+        assertTrue(searchIndex.isReady());
+        assertEquals("Toaster", names(catalog).get(2));
+        assertEquals(1, searchIndex.search("kettle").size());
+    }
+
+    @Test
+    void everyStructureReplaysWritesMadeDuringTheLoad() {
+        OffHeapProductCatalog first = new OffHeapProductCatalog();
+        OffHeapProductCatalog second = new OffHeapProductCatalog();
+        OffHeapProductCatalog third = new OffHeapProductCatalog();
+        List<OffHeapProductCatalog> structures = List.of(first, second, third);
+
+        Rebuildable.rebuildAll(structures, () -> {
+            // Committed while the rows were read: every structure must still apply them
+            structures.forEach(catalog -> catalog.upsert(product(3, "Blender")));
+            structures.forEach(catalog -> catalog.remove(1));
+            return List.of(product(1, "Kettle"), product(2, "Toaster"));
+        });
+
+        for (OffHeapProductCatalog catalog : structures) {
+            assertEquals(Map.of(2, "Toaster", 3, "Blender"), names(catalog));
+        }
+    }
+
+    @Test
+    void failedLoadLeavesStructuresUnbuilt() {
+        OffHeapProductCatalog first = new OffHeapProductCatalog();
+        OffHeapProductCatalog second = new OffHeapProductCatalog();
+
+        assertThrows(IllegalStateException.class, () -> Rebuildable.rebuildAll(List.of(first, second), () -> {
+            throw new IllegalStateException("database unavailable");
+        }));
+
+        assertFalse(first.isReady());
+        assertFalse(second.isReady());
+    }
+
+    private static Map<Integer, String> names(OffHeapProductCatalog catalog) {
+        Map<Integer, String> names = new HashMap<>();
+        for (Product product : catalog.findMatching(new ProductFilter())) {
+            names.put(product.getProductId(), product.getProductName());
+        }
+        return names;
+    }
+
+    private static Product product(int id, String name) {
+        return Product.builder().productId(id).productName(name).build();
+    }
+}
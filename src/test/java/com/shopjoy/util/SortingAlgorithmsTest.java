@@ -0,0 +1,178 @@
+package com.shopjoy.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SortingAlgorithms checked against Collections.sort on random, sorted, reversed and
+ * duplicate-heavy input.
+ */
+class SortingAlgorithmsTest {
+
+    private static final Comparator<Item> BY_KEY = Comparator.comparingInt(Item::key);
+
+    @Test
+    void topKMatchesPrefixOfStableSort() {
+        for (List<Item> input : inputs(2000)) {
+            List<Item> expected = sortedCopy(input);
+            for (int k : new int[]{1, 10, 500, 2000, 5000}) {
+                assertEquals(expected.subList(0, Math.min(k, expected.size())),
+                        SortingAlgorithms.topK(input, k, BY_KEY));
+            }
+        }
+    }
+
+    @Test
+    void topKKeepsInputOrderForTies() {
+        List<Item> input = List.of(new Item(1, 0), new Item(0, 1), new Item(1, 2), new Item(0, 3), new Item(1, 4));
+
+        assertEquals(List.of(new Item(0, 1), new Item(0, 3), new Item(1, 0)),
+                SortingAlgorithms.topK(input, 3, BY_KEY));
+    }
+
+    @Test
+    void topKLeavesInputUntouchedAndHandlesEdgeCases() {
+        List<Item> input = randomItems(100, 10, new Random(1));
+        List<Item> copy = new ArrayList<>(input);
+
+        SortingAlgorithms.topK(input, 10, BY_KEY);
+
+        assertEquals(copy, input);
+        assertTrue(SortingAlgorithms.topK(input, 0, BY_KEY).isEmpty());
+        assertTrue(SortingAlgorithms.topK(List.of(), 5, BY_KEY).isEmpty());
+        assertTrue(SortingAlgorithms.topK(null, 5, BY_KEY).isEmpty());
+    }
+
+    @Test
+    void parallelMergeSortIsStableOnBothPaths() {
+        // 2000 stays below PARALLEL_CUTOFF; 50000 is split across the fork/join pool
+        for (int size : new int[]{2000, 50_000}) {
+            for (List<Item> input : inputs(size)) {
+                List<Item> actual = new ArrayList<>(input);
+                SortingAlgorithms.parallelMergeSort(actual, BY_KEY);
+
+                assertEquals(sortedCopy(input), actual);
+            }
+        }
+    }
+
+    @Test
+    void quickSortOrdersLikeCollectionsSort() {
+        for (int size : new int[]{0, 1, 2, 23, 24, 25, 200, 20_000}) {
+            for (List<Item> input : inputs(size)) {
+                List<Item> actual = new ArrayList<>(input);
+                SortingAlgorithms.quickSort(actual, BY_KEY);
+
+                // quickSort is not stable, so only the key sequence has to match
+                assertEquals(keys(sortedCopy(input)), keys(actual));
+            }
+        }
+    }
+
+    @Test
+    void quickSortStaysLinearithmicOnAdversarialInput() {
+        int n = 1 << 16;
+        List<List<Item>> inputs = new ArrayList<>(inputs(n));
+        List<Item> organPipe = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            organPipe.add(new Item(i < n / 2 ? i : n - i, i));
+        }
+        inputs.add(organPipe);
+
+        long bound = 4L * n * (31 - Integer.numberOfLeadingZeros(n));
+        for (List<Item> input : inputs) {
+            long[] comparisons = new long[1];
+            List<Item> actual = new ArrayList<>(input);
+            SortingAlgorithms.quickSort(actual, (a, b) -> {
+                comparisons[0]++;
+                return Integer.compare(a.key(), b.key());
+            });
+
+            assertEquals(keys(sortedCopy(input)), keys(actual));
+            assertTrue(comparisons[0] < bound, "comparisons: " + comparisons[0]);
+        }
+    }
+
+    @Test
+    void radixSortIsStableInBothDirections() {
+        for (List<Item> input : inputs(20_000)) {
+            List<Item> ascending = new ArrayList<>(input);
+            List<Item> descending = new ArrayList<>(input);
+            SortingAlgorithms.radixSort(ascending, Item::key, false);
+            SortingAlgorithms.radixSort(descending, Item::key, true);
+
+            List<Item> expectedDescending = new ArrayList<>(input);
+            Collections.sort(expectedDescending, BY_KEY.reversed());
+            assertEquals(sortedCopy(input), ascending);
+            assertEquals(expectedDescending, descending);
+        }
+    }
+
+    @Test
+    void radixSortOrderHandlesSignedAndExtremeKeys() {
+        long[] keys = {5, -1, Long.MAX_VALUE, 0, Long.MIN_VALUE, -1, 1L << 40, -(1L << 40)};
+        long[] copy = keys.clone();
+
+        int[] ascending = SortingAlgorithms.radixSortOrder(keys, false);
+        int[] descending = SortingAlgorithms.radixSortOrder(keys, true);
+
+        assertArrayEquals(new int[]{4, 7, 1, 5, 3, 0, 6, 2}, ascending);
+        assertArrayEquals(new int[]{2, 6, 0, 3, 1, 5, 7, 4}, descending);
+        assertArrayEquals(copy, keys);
+        assertArrayEquals(new int[0], SortingAlgorithms.radixSortOrder(new long[0], false));
+    }
+
+    private static List<Integer> keys(List<Item> items) {
+        return items.stream().map(Item::key).toList();
+    }
+
+    private static List<Item> sortedCopy(List<Item> input) {
+        List<Item> expected = new ArrayList<>(input);
+        Collections.sort(expected, BY_KEY);
+        return expected;
+    }
+
+    private static List<List<Item>> inputs(int size) {
+        Random random = new Random(42);
+        List<List<Item>> inputs = new ArrayList<>();
+        inputs.add(randomItems(size, Integer.MAX_VALUE, random));
+        inputs.add(randomItems(size, 5, random));
+        inputs.add(sortedCopy(randomItems(size, 1000, random)));
+        List<Item> reversed = sortedCopy(randomItems(size, 1000, random));
+        Collections.reverse(reversed);
+        inputs.add(reindex(reversed));
+        inputs.add(randomItems(size, 1, random));
+        return inputs;
+    }
+
+    private static List<Item> randomItems(int size, int bound, Random random) {
+        List<Item> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new Item(random.nextInt(bound), i));
+        }
+        return items;
+    }
+
+    private static List<Item> reindex(List<Item> items) {
+        List<Item> reindexed = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            reindexed.add(new Item(items.get(i).key(), i));
+        }
+        return reindexed;
+    }
+
+    /**
+     * A sort key plus its original position, so stability shows up in equality checks.
+     */
+    private record Item(int key, int position) {
+    }
+}